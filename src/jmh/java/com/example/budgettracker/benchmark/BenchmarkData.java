@@ -0,0 +1,239 @@
+package com.example.budgettracker.benchmark;
+
+import com.example.budgettracker.dto.BillSummary;
+import com.example.budgettracker.dto.IncomeSummary;
+import com.example.budgettracker.dto.MonthlyRollupRow;
+import com.example.budgettracker.dto.SubscriptionSummary;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Bill;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Income;
+import com.example.budgettracker.model.MonthlyRollup;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.MonthlyRollupRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.service.MonthlyRollupService;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Synthetic, seeded data sets for the benchmarks. Every run sees the same mix of periods, amounts
+ * and dates so results stay comparable between commits.
+ */
+final class BenchmarkData {
+
+  private static final Period[] PERIODS = Period.values();
+  private static final int CATEGORIES = 12;
+  private static final int MAX_AGE_DAYS = 5 * 365;
+
+  private final Random random;
+  private final LocalDate today = LocalDate.now();
+
+  final AppUser user;
+  final List<Category> categories = new ArrayList<>();
+
+  BenchmarkData(long seed) {
+    this.random = new Random(seed);
+    this.user = new AppUser("benchmark-sub", "Benchmark User", "bench@example.com", null);
+    user.setId(1L);
+    for (int i = 0; i < CATEGORIES; i++) {
+      Category category = new Category("Category " + i, user);
+      category.setId((long) i + 1);
+      categories.add(category);
+    }
+  }
+
+  List<Subscription> subscriptions(int count) {
+    List<Subscription> subscriptions = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Subscription subscription = new Subscription();
+      subscription.setId((long) i + 1);
+      subscription.setName("Subscription " + i);
+      subscription.setPrice(amount());
+      subscription.setPeriod(period());
+      LocalDate date = date();
+      subscription.setNextBillingDate(date);
+      subscription.setFirstBillingDate(date);
+      subscription.setActive(true);
+      subscription.setAppUser(user);
+      subscription.setCategory(category());
+      subscriptions.add(subscription);
+    }
+    return subscriptions;
+  }
+
+  List<Bill> bills(int count) {
+    List<Bill> bills = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Bill bill = new Bill();
+      bill.setId((long) i + 1);
+      bill.setName("Bill " + i);
+      bill.setAmount(amount());
+      bill.setPeriod(period());
+      LocalDate date = date();
+      bill.setDueDate(date);
+      bill.setFirstDueDate(date);
+      bill.setActive(true);
+      bill.setAppUser(user);
+      bill.setCategory(category());
+      bills.add(bill);
+    }
+    return bills;
+  }
+
+  List<Income> incomes(int count) {
+    List<Income> incomes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Income income = new Income();
+      income.setId((long) i + 1);
+      income.setName("Income " + i);
+      income.setAmount(amount());
+      income.setPeriod(period());
+      income.setIncomeDate(date());
+      income.setAppUser(user);
+      income.setCategory(category());
+      incomes.add(income);
+    }
+    return incomes;
+  }
+
+  Period period() {
+    return PERIODS[random.nextInt(PERIODS.length)];
+  }
+
+  /** A date between {@code MAX_AGE_DAYS} in the past and one year ahead. */
+  LocalDate date() {
+    return today.minusDays(random.nextInt(MAX_AGE_DAYS + 365) - 365L);
+  }
+
+  private BigDecimal amount() {
+    return BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+  }
+
+  private Category category() {
+    return categories.get(random.nextInt(categories.size()));
+  }
+
+  /**
+   * The monthly rollup rows a user with these items has, computed by {@link
+   * MonthlyRollupService#reconcileUser} itself against in-memory repositories, so the rows carry
+   * the same monthly amounts, first months and categories the write path produces.
+   */
+  List<MonthlyRollupRow> rollupRows(
+      List<Subscription> subscriptions, List<Bill> bills, List<Income> incomes) {
+    List<MonthlyRollup> saved = new ArrayList<>();
+    MonthlyRollupService rollupService =
+        new MonthlyRollupService(
+            repository(
+                MonthlyRollupRepository.class,
+                Map.of(
+                    "findByIdAppUserId", args -> List.of(),
+                    "save", args -> add(saved, (MonthlyRollup) args[0]))),
+            repository(
+                AppUserRepository.class,
+                Map.of("lockById", args -> user.getId(), "getReferenceById", args -> user)),
+            repository(
+                SubscriptionRepository.class,
+                Map.of(
+                    "streamSummariesByAppUser",
+                    args -> subscriptions.stream().map(BenchmarkData::summary))),
+            repository(
+                BillRepository.class,
+                Map.of(
+                    "streamSummariesByAppUser",
+                    args -> bills.stream().map(BenchmarkData::summary))),
+            repository(
+                IncomeRepository.class,
+                Map.of(
+                    "streamSummariesByAppUser",
+                    args -> incomes.stream().map(BenchmarkData::summary))),
+            event -> {});
+    rollupService.reconcileUser(user.getId());
+
+    Map<Long, String> categoryNames = new HashMap<>();
+    categories.forEach(category -> categoryNames.put(category.getId(), category.getName()));
+    return saved.stream()
+        .map(
+            row ->
+                new MonthlyRollupRow(
+                    row.getId().getMonth(),
+                    row.getId().getKind(),
+                    categoryNames.get(row.getId().getCategoryId()),
+                    row.getAmount(),
+                    row.getItemCount()))
+        .toList();
+  }
+
+  private static MonthlyRollup add(List<MonthlyRollup> rows, MonthlyRollup row) {
+    rows.add(row);
+    return row;
+  }
+
+  private static SubscriptionSummary summary(Subscription s) {
+    return new SubscriptionSummary(
+        s.getId(),
+        s.getName(),
+        s.getPrice(),
+        s.getPeriod(),
+        s.getNextBillingDate(),
+        s.getFirstBillingDate(),
+        s.isActive(),
+        s.getCategory().getId(),
+        s.getCategory().getName());
+  }
+
+  private static BillSummary summary(Bill b) {
+    return new BillSummary(
+        b.getId(),
+        b.getName(),
+        b.getAmount(),
+        b.getPeriod(),
+        b.getDueDate(),
+        b.getFirstDueDate(),
+        b.isActive(),
+        b.getCategory().getId(),
+        b.getCategory().getName());
+  }
+
+  private static IncomeSummary summary(Income i) {
+    return new IncomeSummary(
+        i.getId(),
+        i.getName(),
+        i.getAmount(),
+        i.getIncomeDate(),
+        i.getPeriod(),
+        i.getDescription(),
+        i.getCategory().getId(),
+        i.getCategory().getName());
+  }
+
+  /**
+   * Minimal repository stand-in that answers the named methods from their arguments; any other call
+   * fails. A JDK proxy keeps the per-call overhead far below what a mocking framework would add.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+    return (T)
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+              Function<Object[], Object> answer = answers.get(method.getName());
+              if (answer != null) {
+                return answer.apply(args);
+              }
+              throw new UnsupportedOperationException(method.getName());
+            });
+  }
+}
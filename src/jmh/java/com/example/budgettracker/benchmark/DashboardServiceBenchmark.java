@@ -0,0 +1,101 @@
+package com.example.budgettracker.benchmark;
+
+import com.example.budgettracker.dto.CategoryBreakdownResponse;
+import com.example.budgettracker.dto.DashboardOverviewResponse;
+import com.example.budgettracker.dto.FinancialTimeSeriesResponse;
+import com.example.budgettracker.dto.MonthlyRollupRow;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Bill;
+import com.example.budgettracker.model.Income;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.MonthlyRollupRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.service.DashboardServiceImpl;
+import com.example.budgettracker.service.MonthlyRollupService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Dashboard views for a synthetic user with {@code items} subscriptions, bills and incomes each.
+ * The views are computed from the user's monthly rollup rows, which the rollup repository returns
+ * from memory, so the numbers cover only the aggregation. {@code items} therefore only sets the
+ * number of rows, one per month, kind and category with an item: about 30, 2,000 and 4,400 for the
+ * three settings, the last being every combination of the 73 months, 5 kinds and 12 categories the
+ * generated items span.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DashboardServiceBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  private int items;
+
+  private DashboardServiceImpl dashboardService;
+  private AppUser user;
+
+  @Setup
+  public void setUp() {
+    BenchmarkData data = new BenchmarkData(42L);
+    user = data.user;
+    List<Subscription> subscriptions = data.subscriptions(items);
+    List<Bill> bills = data.bills(items);
+    List<Income> incomes = data.incomes(items);
+
+    List<MonthlyRollupRow> rows = data.rollupRows(subscriptions, bills, incomes);
+
+    // Only the row lookup is answered; any other repository call or event fails the run
+    dashboardService =
+        new DashboardServiceImpl(
+            new MonthlyRollupService(
+                BenchmarkData.repository(
+                    MonthlyRollupRepository.class, Map.of("findRowsByUserId", args -> rows)),
+                BenchmarkData.repository(AppUserRepository.class, Map.of()),
+                BenchmarkData.repository(SubscriptionRepository.class, Map.of()),
+                BenchmarkData.repository(BillRepository.class, Map.of()),
+                BenchmarkData.repository(IncomeRepository.class, Map.of()),
+                event -> {
+                  throw new UnsupportedOperationException("publishEvent");
+                }));
+    ReflectionTestUtils.setField(dashboardService, "maxTimeSeriesMonths", 60);
+  }
+
+  @Benchmark
+  public DashboardOverviewResponse overview() {
+    return dashboardService.getFinancialOverview(user);
+  }
+
+  @Benchmark
+  public FinancialTimeSeriesResponse timeSeries12Months() {
+    return dashboardService.getFinancialTimeSeries(user, 12);
+  }
+
+  @Benchmark
+  public FinancialTimeSeriesResponse timeSeries60Months() {
+    return dashboardService.getFinancialTimeSeries(user, 60);
+  }
+
+  @Benchmark
+  public CategoryBreakdownResponse categoryBreakdown() {
+    return dashboardService.getCategoryBreakdown(user);
+  }
+}
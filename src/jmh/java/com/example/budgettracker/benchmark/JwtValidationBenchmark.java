@@ -0,0 +1,101 @@
+package com.example.budgettracker.benchmark;
+
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.security.VerifiedJwtCache;
+import com.example.budgettracker.service.JwtService;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Access-token validation as done on every authenticated request, with a 2048-bit RSA key like the
+ * one {@code JwtKeyConfig} generates. {@code cached} repeats a token already in the {@link
+ * VerifiedJwtCache}; {@code uncached} goes through a cache that never keeps anything, so each call
+ * pays the full signature check and claim decoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+  private JwtService cachingJwtService;
+  private JwtService verifyingJwtService;
+  private String token;
+
+  @Setup
+  public void setUp() throws NoSuchAlgorithmException {
+    KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(2048);
+    KeyPair keyPair = keyPairGenerator.generateKeyPair();
+    RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+    RSAKey rsaKey =
+        new RSAKey.Builder(publicKey)
+            .privateKey((RSAPrivateKey) keyPair.getPrivate())
+            .keyID(UUID.randomUUID().toString())
+            .build();
+
+    NimbusJwtEncoder encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(rsaKey)));
+    JwtDecoder decoder = NimbusJwtDecoder.withPublicKey(publicKey).build();
+
+    cachingJwtService =
+        new JwtService(encoder, decoder, new VerifiedJwtCache(10_000), new SimpleMeterRegistry());
+    verifyingJwtService =
+        new JwtService(encoder, decoder, new PassThroughCache(), new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(cachingJwtService, "accessTokenExpirationMinutes", 30);
+
+    AppUser user = new BenchmarkData(42L).user;
+    ReflectionTestUtils.setField(user, "id", 1L);
+    token = cachingJwtService.generateToken(user);
+    cachingJwtService.validateToken(token);
+  }
+
+  @Benchmark
+  public Jwt cached() {
+    return cachingJwtService.validateToken(token);
+  }
+
+  @Benchmark
+  public Jwt uncached() {
+    return verifyingJwtService.validateToken(token);
+  }
+
+  /** Verifies every token, as the service did before verified tokens were cached. */
+  private static final class PassThroughCache extends VerifiedJwtCache {
+
+    PassThroughCache() {
+      super(0);
+    }
+
+    @Override
+    public Jwt get(String token, Function<String, Jwt> verifier) {
+      return verifier.apply(token);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.example.budgettracker.benchmark;
+
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.service.PeriodCalculationService;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Occurrence calculations for every {@link Period} and for items of increasing age, since the cost
+ * of walking from the original date used to grow with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PeriodCalculationBenchmark {
+
+  @Param({"DAILY", "WEEKLY", "MONTHLY", "QUARTERLY", "YEARLY", "ONE_TIME"})
+  private Period period;
+
+  @Param({"30", "365", "3650"})
+  private int ageDays;
+
+  private final PeriodCalculationService periodCalculationService = new PeriodCalculationService();
+  private final int[] buffer = new int[400];
+
+  private LocalDate originalDate;
+  private LocalDate rangeStart;
+  private LocalDate rangeEnd;
+
+  @Setup
+  public void setUp() {
+    LocalDate today = LocalDate.now();
+    // Day 31 exercises end-of-month clamping for the month-based periods
+    originalDate = today.minusDays(ageDays).withDayOfMonth(1).plusDays(30);
+    rangeStart = today.withDayOfMonth(1);
+    rangeEnd = rangeStart.plusYears(1).minusDays(1);
+  }
+
+  @Benchmark
+  public LocalDate nextOccurrence() {
+    return periodCalculationService.getNextOccurrence(originalDate, period);
+  }
+
+  @Benchmark
+  public LocalDate[] occurrencesInRange() {
+    return periodCalculationService.getOccurrencesInRange(
+        originalDate, period, rangeStart, rangeEnd);
+  }
+
+  @Benchmark
+  public int occurrencesInRangeBuffer() {
+    return periodCalculationService.getOccurrencesInRange(
+        originalDate, period, rangeStart, rangeEnd, buffer);
+  }
+}
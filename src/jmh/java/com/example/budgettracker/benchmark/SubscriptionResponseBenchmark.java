@@ -0,0 +1,49 @@
+package com.example.budgettracker.benchmark;
+
+import com.example.budgettracker.dto.SubscriptionResponse;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.service.PeriodCalculationService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Entity-to-DTO mapping of a subscription list, as done for every list response. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubscriptionResponseBenchmark {
+
+  @Param({"10", "1000"})
+  private int items;
+
+  private final PeriodCalculationService periodCalculationService = new PeriodCalculationService();
+  private List<Subscription> subscriptions;
+
+  @Setup
+  public void setUp() {
+    subscriptions = new BenchmarkData(42L).subscriptions(items);
+  }
+
+  @Benchmark
+  public List<SubscriptionResponse> fromEntity() {
+    List<SubscriptionResponse> responses = new ArrayList<>(subscriptions.size());
+    for (Subscription subscription : subscriptions) {
+      responses.add(SubscriptionResponse.fromEntity(subscription, periodCalculationService));
+    }
+    return responses;
+  }
+}
@@ -1,8 +1,21 @@
 package com.example.budgettracker.config;
 
+import com.example.budgettracker.metrics.QueryCountingStatementInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @Configuration
 @EnableJpaAuditing
-public class JpaConfig {}
+public class JpaConfig {
+
+  // Counts statements per request for the query budget; see QueryBudgetInterceptor
+  @Bean
+  public HibernatePropertiesCustomizer queryCountingCustomizer() {
+    return properties ->
+        properties.put(
+            AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+  }
+}
@@ -7,13 +7,20 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -31,6 +38,48 @@ public class SecurityConfig {
   @Value("${app.cors.allowed-origins}")
   private String allowedOrigins;
 
+  @Value("${app.management.username:metrics}")
+  private String managementUsername;
+
+  @Value("${app.management.password:}")
+  private String managementPassword;
+
+  /**
+   * Actuator endpoints get their own chain with HTTP Basic for the scraper, independent of the
+   * browser/JWT chain for {@code /api/**}. Health stays public for load balancers; everything else
+   * is denied until a management password is configured.
+   */
+  @Bean
+  @Order(1)
+  public SecurityFilterChain managementFilterChain(HttpSecurity http) throws Exception {
+    boolean credentialsConfigured = !managementPassword.isBlank();
+    http.securityMatcher(EndpointRequest.toAnyEndpoint())
+        .csrf(csrf -> csrf.disable())
+        .authorizeHttpRequests(
+            auth -> {
+              auth.requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll();
+              if (credentialsConfigured) {
+                auth.anyRequest().hasRole("METRICS");
+              } else {
+                auth.anyRequest().denyAll();
+              }
+            })
+        .httpBasic(Customizer.withDefaults())
+        .sessionManagement(
+            session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+    if (credentialsConfigured) {
+      http.userDetailsService(
+          new InMemoryUserDetailsManager(
+              User.withUsername(managementUsername)
+                  .password(
+                      PasswordEncoderFactories.createDelegatingPasswordEncoder()
+                          .encode(managementPassword))
+                  .roles("METRICS")
+                  .build()));
+    }
+    return http.build();
+  }
+
   @Bean
   public SecurityFilterChain filterChain(
       HttpSecurity http,
@@ -1,11 +1,13 @@
 package com.example.budgettracker.config;
 
+import com.example.budgettracker.metrics.QueryBudgetInterceptor;
 import com.example.budgettracker.resolver.UserArgumentResolver;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -13,9 +15,15 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
   private final UserArgumentResolver userArgumentResolver;
+  private final QueryBudgetInterceptor queryBudgetInterceptor;
 
   @Override
   public void addArgumentResolvers(@NonNull List<HandlerMethodArgumentResolver> resolvers) {
     resolvers.add(userArgumentResolver);
   }
+
+  @Override
+  public void addInterceptors(@NonNull InterceptorRegistry registry) {
+    registry.addInterceptor(queryBudgetInterceptor).addPathPatterns("/api/**");
+  }
 }
@@ -6,8 +6,6 @@ import com.example.budgettracker.dto.LogoutResponse;
 import com.example.budgettracker.dto.TokenPair;
 import com.example.budgettracker.dto.TokenRefreshResponse;
 import com.example.budgettracker.model.AppUser;
-import com.example.budgettracker.service.AppUserService;
-import com.example.budgettracker.service.JwtService;
 import com.example.budgettracker.service.RefreshTokenService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,8 +28,6 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AuthController {
 
-  private final JwtService jwtService;
-  private final AppUserService appUserService;
   private final RefreshTokenService refreshTokenService;
 
   private static final String ANONYMOUS_USER = "anonymousUser";
@@ -102,12 +98,8 @@ public class AuthController {
       // Set new refresh token in HttpOnly cookie
       setRefreshTokenCookie(response, tokenPair.getRefreshToken());
 
-      // Get user info for response
-      String googleSub = jwtService.extractGoogleSub(tokenPair.getAccessToken());
-      AppUser user =
-          appUserService
-              .findByGoogleSub(googleSub)
-              .orElseThrow(() -> new RuntimeException("User not found"));
+      // The refresh already loaded the user; no need to decode the new token or query again
+      AppUser user = tokenPair.getUser();
 
       TokenRefreshResponse.UserInfo userInfo =
           new TokenRefreshResponse.UserInfo(user.getId(), user.getEmail(), user.getFullName());
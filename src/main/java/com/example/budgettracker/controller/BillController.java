@@ -1,11 +1,16 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BatchResponse;
 import com.example.budgettracker.dto.BillRequest;
 import com.example.budgettracker.dto.BillResponse;
+import com.example.budgettracker.dto.CursorPage;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Bill;
 import com.example.budgettracker.service.BillService;
 import com.example.budgettracker.service.PeriodCalculationService;
+import com.example.budgettracker.util.KeysetCursor;
+import com.example.budgettracker.util.SortRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -16,6 +21,9 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +33,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -35,6 +44,11 @@ public class BillController {
   private final BillService billService;
   private final PeriodCalculationService periodCalculationService;
 
+  // Keyset scrolling needs non-null sort columns, so only name is scrollable
+  private static final SortRegistry<Bill> SORTS =
+      SortRegistry.<Bill>of(Sort.Order.asc("name"), "name", "amount", "dueDate")
+          .withKeyset("name", value -> value, Bill::getName);
+
   @PostMapping
   @Operation(
       summary = "Create a new bill",
@@ -93,6 +107,32 @@ public class BillController {
     return ResponseEntity.noContent().build();
   }
 
+  @PostMapping("/batch")
+  @Operation(
+      summary = "Apply a batch of bill changes",
+      description =
+          "Creates, updates and deletes up to 500 bills each in one transaction. If any item is"
+              + " invalid, missing or not owned by the user, nothing is applied")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Batch applied successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid request data"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @ApiResponse(responseCode = "404", description = "Bill or category not found")
+      })
+  public ResponseEntity<BatchResponse<BillResponse>> applyBillBatch(
+      @RequestBody(description = "Bills to create, update and delete", required = true)
+          @Valid
+          @org.springframework.web.bind.annotation.RequestBody
+          BatchRequest<BillRequest> batchRequest,
+      @Parameter(hidden = true) AppUser appUser) {
+    BatchResponse<BillResponse> response =
+        billService
+            .applyBillBatch(batchRequest, appUser)
+            .map(bill -> BillResponse.fromEntity(bill, periodCalculationService));
+    return ResponseEntity.ok(response);
+  }
+
   @GetMapping
   @Operation(
       summary = "List bills",
@@ -100,16 +140,63 @@ public class BillController {
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "Bills retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Unsupported sort property"),
         @ApiResponse(responseCode = "401", description = "User not authenticated")
       })
   public ResponseEntity<Page<BillResponse>> listBills(
       @Parameter(hidden = true) AppUser appUser,
-      @Parameter(description = "Pagination parameters") @PageableDefault(size = 20, sort = "name")
+      @Parameter(description = "Pagination parameters; sort by name, amount or dueDate")
+          @PageableDefault(size = 20, sort = "name")
           Pageable pageable) {
     Page<BillResponse> response =
         billService
-            .getBillsForUser(appUser, pageable)
-            .map(bill -> BillResponse.fromEntity(bill, periodCalculationService));
+            .getBillSummariesForUser(appUser, SORTS.resolve(pageable))
+            .map(summary -> BillResponse.fromSummary(summary, periodCalculationService));
     return ResponseEntity.ok(response);
   }
+
+  @GetMapping("/scroll")
+  @Operation(
+      summary = "Scroll bills",
+      description =
+          "Retrieves bills for the authenticated user using keyset pagination. Pass the"
+              + " returned nextCursor to fetch the following slice; totals are only computed when"
+              + " includeTotal is set")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Bills retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or sort parameters"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated")
+      })
+  public ResponseEntity<CursorPage<BillResponse>> scrollBills(
+      @Parameter(hidden = true) AppUser appUser,
+      @Parameter(description = "Cursor returned by the previous slice")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Slice size, at most 100") @RequestParam(defaultValue = "20")
+          int size,
+      @Parameter(description = "Sort property: name") @RequestParam(defaultValue = "name")
+          String sort,
+      @Parameter(description = "Sort direction: asc or desc") @RequestParam(defaultValue = "asc")
+          String direction,
+      @Parameter(description = "Also return the total number of bills")
+          @RequestParam(defaultValue = "false")
+          boolean includeTotal) {
+    KeysetCursor.SortKey<Bill> sortKey = SORTS.keysetKey(sort);
+    Sort.Direction sortDirection = SortRegistry.direction(direction);
+    ScrollPosition position = KeysetCursor.decode(cursor, sort, sortDirection, sortKey);
+    Window<Bill> window =
+        billService.scrollBillsForUser(
+            appUser, position, SORTS.resolve(sort, sortDirection), KeysetCursor.clampSize(size));
+    Long total = includeTotal ? billService.countBillsForUser(appUser) : null;
+    return ResponseEntity.ok(
+        KeysetCursor.toPage(
+            window,
+            sort,
+            sortDirection,
+            sortKey,
+            Bill::getId,
+            bill -> BillResponse.fromEntity(bill, periodCalculationService),
+            total));
+  }
 }
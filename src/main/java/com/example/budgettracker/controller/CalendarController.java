@@ -0,0 +1,41 @@
+package com.example.budgettracker.controller;
+
+import com.example.budgettracker.dto.CalendarResponse;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.service.CalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/calendar")
+@RequiredArgsConstructor
+@Tag(name = "Calendar", description = "Upcoming payments and income")
+public class CalendarController {
+
+  private final CalendarService calendarService;
+
+  @GetMapping
+  @Operation(
+      summary = "Get upcoming payments",
+      description =
+          "Returns every subscription and bill due, and every income expected, from today over the"
+              + " given number of days (capped at app.calendar.horizon-days)")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Calendar retrieved successfully"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated")
+      })
+  public ResponseEntity<CalendarResponse> getCalendar(
+      @Parameter(hidden = true) AppUser appUser, @RequestParam(defaultValue = "30") int days) {
+    return ResponseEntity.ok(calendarService.getUpcoming(appUser, days));
+  }
+}
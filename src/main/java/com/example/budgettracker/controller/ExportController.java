@@ -0,0 +1,57 @@
+package com.example.budgettracker.controller;
+
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.service.ExportFormat;
+import com.example.budgettracker.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Tag(name = "Export", description = "Download of the user's financial history")
+public class ExportController {
+
+  private final ExportService exportService;
+
+  @GetMapping
+  @Operation(
+      summary = "Export financial history",
+      description =
+          "Streams the user's categories, subscriptions, bills and income as CSV or NDJSON. The"
+              + " response is written while rows are read, so it starts immediately and works for"
+              + " histories of any size")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated")
+      })
+  public ResponseEntity<StreamingResponseBody> export(
+      @Parameter(hidden = true) AppUser appUser,
+      @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format) {
+    ExportFormat exportFormat = ExportFormat.fromParameter(format);
+    // Runs on an async thread after the handler returns; the service opens its own transaction
+    StreamingResponseBody body = out -> exportService.exportForUser(appUser, exportFormat, out);
+    String filename = "budget-export-" + LocalDate.now() + "." + exportFormat.getExtension();
+    return ResponseEntity.ok()
+        .contentType(exportFormat.getMediaType())
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(filename).build().toString())
+        .body(body);
+  }
+}
@@ -0,0 +1,54 @@
+package com.example.budgettracker.controller;
+
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.service.CashFlowProjection;
+import com.example.budgettracker.service.ForecastService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.math.BigDecimal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/forecast")
+@RequiredArgsConstructor
+@Tag(name = "Forecast", description = "Projected cash flow")
+public class ForecastController {
+
+  private final ForecastService forecastService;
+
+  @GetMapping
+  @Operation(
+      summary = "Get cash-flow forecast",
+      description =
+          "Projects the daily inflow from income, the outflow to active subscriptions and bills, and"
+              + " the running balance from today over the given number of months (3 to 24). The"
+              + " days are streamed as they are written")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Forecast streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Months outside 3 to 24"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated")
+      })
+  public ResponseEntity<StreamingResponseBody> getForecast(
+      @Parameter(hidden = true) AppUser appUser,
+      @RequestParam(defaultValue = "12") int months,
+      @Parameter(description = "Balance the running balance starts from")
+          @RequestParam(defaultValue = "0")
+          BigDecimal openingBalance) {
+    // Projected here, so a bad request fails before the response starts and no transaction is
+    // held while the days are written
+    CashFlowProjection projection = forecastService.project(appUser, months);
+    StreamingResponseBody body = out -> forecastService.write(projection, openingBalance, out);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+}
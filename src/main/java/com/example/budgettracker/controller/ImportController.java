@@ -0,0 +1,65 @@
+package com.example.budgettracker.controller;
+
+import com.example.budgettracker.dto.ImportJobResponse;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.service.BankStatementImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+@Tag(name = "Import", description = "Bulk import of bank statements")
+public class ImportController {
+
+  private final BankStatementImportService importService;
+
+  @PostMapping(value = "/bank-statement", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  @Operation(
+      summary = "Import a bank statement",
+      description =
+          "Queues a CSV bank export for import. Credits become one-time income and debits"
+              + " one-time bills. The file needs date, description and amount columns and may"
+              + " have a category column; comma, semicolon and tab separated files are accepted."
+              + " Poll the returned import for progress")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "202", description = "Import queued"),
+        @ApiResponse(responseCode = "400", description = "Empty file"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @ApiResponse(responseCode = "503", description = "Import queue is full")
+      })
+  public ResponseEntity<ImportJobResponse> importBankStatement(
+      @RequestParam("file") MultipartFile file, @Parameter(hidden = true) AppUser appUser) {
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(importService.startImport(appUser, file));
+  }
+
+  @GetMapping("/{id}")
+  @Operation(summary = "Get import progress", description = "Progress and row errors of an import")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Import found"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired import")
+      })
+  public ResponseEntity<ImportJobResponse> getImport(
+      @PathVariable UUID id, @Parameter(hidden = true) AppUser appUser) {
+    return ResponseEntity.ok(importService.getImport(id, appUser));
+  }
+}
@@ -1,11 +1,17 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BatchResponse;
+import com.example.budgettracker.dto.CursorPage;
 import com.example.budgettracker.dto.IncomeRequest;
 import com.example.budgettracker.dto.IncomeResponse;
+import com.example.budgettracker.dto.IncomeSummary;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Income;
 import com.example.budgettracker.service.IncomeService;
 import com.example.budgettracker.service.PeriodCalculationService;
+import com.example.budgettracker.util.KeysetCursor;
+import com.example.budgettracker.util.SortRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -20,7 +26,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -42,31 +50,45 @@ public class IncomeController {
   private final IncomeService incomeService;
   private final PeriodCalculationService periodCalculationService;
 
+  private static final SortRegistry<Income> SORTS =
+      SortRegistry.<Income>of(Sort.Order.desc("incomeDate"), "incomeDate", "name", "amount")
+          .withKeyset("incomeDate", LocalDate::parse, Income::getIncomeDate)
+          .withKeyset("name", value -> value, Income::getName);
+
   private IncomeResponse mapToResponse(Income income) {
     LocalDate nextPaymentDate =
         periodCalculationService.getNextOccurrence(income.getIncomeDate(), income.getPeriod());
     return IncomeResponse.fromEntity(income, nextPaymentDate);
   }
 
+  private IncomeResponse mapToResponse(IncomeSummary summary) {
+    LocalDate nextPaymentDate =
+        periodCalculationService.getNextOccurrence(summary.incomeDate(), summary.period());
+    return IncomeResponse.fromSummary(summary, nextPaymentDate);
+  }
+
   @GetMapping
   @Operation(summary = "Get all income entries for the authenticated user")
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "Income entries retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Unsupported sort property or direction"),
         @ApiResponse(responseCode = "401", description = "User not authenticated")
       })
   public ResponseEntity<Page<IncomeResponse>> getIncomeEntries(
       @Parameter(description = "Authenticated user", hidden = true) AppUser user,
       @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "20") int size,
-      @RequestParam(defaultValue = "incomeDate") String sortBy,
-      @RequestParam(defaultValue = "desc") String sortDir) {
+      @Parameter(description = "Sort property: incomeDate, name or amount")
+          @RequestParam(defaultValue = "incomeDate")
+          String sortBy,
+      @Parameter(description = "Sort direction: asc or desc") @RequestParam(defaultValue = "desc")
+          String sortDir) {
 
-    Sort.Direction direction =
-        sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
-    Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+    Pageable pageable =
+        PageRequest.of(page, size, SORTS.resolve(sortBy, SortRegistry.direction(sortDir)));
 
-    Page<Income> incomePage = incomeService.getIncomeForUser(user, pageable);
+    Page<IncomeSummary> incomePage = incomeService.getIncomeSummariesForUser(user, pageable);
     Page<IncomeResponse> responsePage = incomePage.map(this::mapToResponse);
 
     return ResponseEntity.ok(responsePage);
@@ -126,6 +148,24 @@ public class IncomeController {
     return ResponseEntity.noContent().build();
   }
 
+  @PostMapping("/batch")
+  @Operation(summary = "Apply a batch of income entry changes")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Batch applied successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @ApiResponse(responseCode = "404", description = "Income entry or category not found")
+      })
+  public ResponseEntity<BatchResponse<IncomeResponse>> applyIncomeBatch(
+      @Parameter(description = "Authenticated user", hidden = true) AppUser user,
+      @Valid @RequestBody BatchRequest<IncomeRequest> batchRequest) {
+    // All changes land in one transaction; any invalid or foreign entry rejects the whole batch
+    BatchResponse<IncomeResponse> response =
+        incomeService.applyIncomeBatch(batchRequest, user).map(this::mapToResponse);
+    return ResponseEntity.ok(response);
+  }
+
   @GetMapping("/period")
   @Operation(summary = "Get income entries for a specific date range")
   @ApiResponses(
@@ -160,4 +200,44 @@ public class IncomeController {
     BigDecimal totalIncome = incomeService.getTotalIncomeForPeriod(user, startDate, endDate);
     return ResponseEntity.ok(totalIncome);
   }
+
+  @GetMapping("/scroll")
+  @Operation(
+      summary = "Scroll income entries",
+      description =
+          "Retrieves income entries for the authenticated user using keyset pagination. Pass the"
+              + " returned nextCursor to fetch the following slice; totals are only computed when"
+              + " includeTotal is set")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Income retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or sort parameters"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated")
+      })
+  public ResponseEntity<CursorPage<IncomeResponse>> scrollIncome(
+      @Parameter(hidden = true) AppUser appUser,
+      @Parameter(description = "Cursor returned by the previous slice")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Slice size, at most 100") @RequestParam(defaultValue = "20")
+          int size,
+      @Parameter(description = "Sort property: incomeDate or name")
+          @RequestParam(defaultValue = "incomeDate")
+          String sort,
+      @Parameter(description = "Sort direction: asc or desc") @RequestParam(defaultValue = "desc")
+          String direction,
+      @Parameter(description = "Also return the total number of income entries")
+          @RequestParam(defaultValue = "false")
+          boolean includeTotal) {
+    KeysetCursor.SortKey<Income> sortKey = SORTS.keysetKey(sort);
+    Sort.Direction sortDirection = SortRegistry.direction(direction);
+    ScrollPosition position = KeysetCursor.decode(cursor, sort, sortDirection, sortKey);
+    Window<Income> window =
+        incomeService.scrollIncomeForUser(
+            appUser, position, SORTS.resolve(sort, sortDirection), KeysetCursor.clampSize(size));
+    Long total = includeTotal ? incomeService.countIncomeForUser(appUser) : null;
+    return ResponseEntity.ok(
+        KeysetCursor.toPage(
+            window, sort, sortDirection, sortKey, Income::getId, this::mapToResponse, total));
+  }
 }
@@ -1,11 +1,16 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BatchResponse;
+import com.example.budgettracker.dto.CursorPage;
 import com.example.budgettracker.dto.SubscriptionRequest;
 import com.example.budgettracker.dto.SubscriptionResponse;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Subscription;
 import com.example.budgettracker.service.PeriodCalculationService;
 import com.example.budgettracker.service.SubscriptionService;
+import com.example.budgettracker.util.KeysetCursor;
+import com.example.budgettracker.util.SortRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -16,6 +21,9 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +32,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -33,6 +42,11 @@ public class SubscriptionController {
   private final SubscriptionService subscriptionService;
   private final PeriodCalculationService periodCalculationService;
 
+  // Keyset scrolling needs non-null sort columns, so only name is scrollable
+  private static final SortRegistry<Subscription> SORTS =
+      SortRegistry.<Subscription>of(Sort.Order.asc("name"), "name", "price", "nextBillingDate")
+          .withKeyset("name", value -> value, Subscription::getName);
+
   @PostMapping("/api/subscriptions")
   @Operation(
       summary = "Create a new subscription",
@@ -94,6 +108,34 @@ public class SubscriptionController {
     return ResponseEntity.noContent().build();
   }
 
+  @PostMapping("/api/subscriptions/batch")
+  @Operation(
+      summary = "Apply a batch of subscription changes",
+      description =
+          "Creates, updates and deletes up to 500 subscriptions each in one transaction. If any"
+              + " item is invalid, missing or not owned by the user, nothing is applied")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Batch applied successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid request data"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated"),
+        @ApiResponse(responseCode = "404", description = "Subscription or category not found")
+      })
+  public ResponseEntity<BatchResponse<SubscriptionResponse>> applySubscriptionBatch(
+      @RequestBody(description = "Subscriptions to create, update and delete", required = true)
+          @Valid
+          @org.springframework.web.bind.annotation.RequestBody
+          BatchRequest<SubscriptionRequest> batchRequest,
+      @Parameter(hidden = true) AppUser appUser) {
+    BatchResponse<SubscriptionResponse> response =
+        subscriptionService
+            .applySubscriptionBatch(batchRequest, appUser)
+            .map(
+                subscription ->
+                    SubscriptionResponse.fromEntity(subscription, periodCalculationService));
+    return ResponseEntity.ok(response);
+  }
+
   @GetMapping("/api/subscriptions")
   @Operation(
       summary = "List subscriptions",
@@ -101,18 +143,63 @@ public class SubscriptionController {
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "Subscriptions retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Unsupported sort property"),
         @ApiResponse(responseCode = "401", description = "User not authenticated")
       })
   public ResponseEntity<Page<SubscriptionResponse>> listSubscriptions(
       @Parameter(hidden = true) AppUser appUser,
-      @Parameter(description = "Pagination parameters") @PageableDefault(size = 20, sort = "name")
+      @Parameter(description = "Pagination parameters; sort by name, price or nextBillingDate")
+          @PageableDefault(size = 20, sort = "name")
           Pageable pageable) {
     Page<SubscriptionResponse> response =
         subscriptionService
-            .getSubscriptionsForUser(appUser, pageable)
-            .map(
-                subscription ->
-                    SubscriptionResponse.fromEntity(subscription, periodCalculationService));
+            .getSubscriptionSummariesForUser(appUser, SORTS.resolve(pageable))
+            .map(summary -> SubscriptionResponse.fromSummary(summary, periodCalculationService));
     return ResponseEntity.ok(response);
   }
+
+  @GetMapping("/api/subscriptions/scroll")
+  @Operation(
+      summary = "Scroll subscriptions",
+      description =
+          "Retrieves subscriptions for the authenticated user using keyset pagination. Pass the"
+              + " returned nextCursor to fetch the following slice; totals are only computed when"
+              + " includeTotal is set")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Subscriptions retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor or sort parameters"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated")
+      })
+  public ResponseEntity<CursorPage<SubscriptionResponse>> scrollSubscriptions(
+      @Parameter(hidden = true) AppUser appUser,
+      @Parameter(description = "Cursor returned by the previous slice")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Slice size, at most 100") @RequestParam(defaultValue = "20")
+          int size,
+      @Parameter(description = "Sort property: name") @RequestParam(defaultValue = "name")
+          String sort,
+      @Parameter(description = "Sort direction: asc or desc") @RequestParam(defaultValue = "asc")
+          String direction,
+      @Parameter(description = "Also return the total number of subscriptions")
+          @RequestParam(defaultValue = "false")
+          boolean includeTotal) {
+    KeysetCursor.SortKey<Subscription> sortKey = SORTS.keysetKey(sort);
+    Sort.Direction sortDirection = SortRegistry.direction(direction);
+    ScrollPosition position = KeysetCursor.decode(cursor, sort, sortDirection, sortKey);
+    Window<Subscription> window =
+        subscriptionService.scrollSubscriptionsForUser(
+            appUser, position, SORTS.resolve(sort, sortDirection), KeysetCursor.clampSize(size));
+    Long total = includeTotal ? subscriptionService.countSubscriptionsForUser(appUser) : null;
+    return ResponseEntity.ok(
+        KeysetCursor.toPage(
+            window,
+            sort,
+            sortDirection,
+            sortKey,
+            Subscription::getId,
+            subscription -> SubscriptionResponse.fromEntity(subscription, periodCalculationService),
+            total));
+  }
 }
@@ -0,0 +1,7 @@
+package com.example.budgettracker.dto;
+
+import com.example.budgettracker.model.Period;
+import java.time.LocalDate;
+
+/** Items sharing a period and a past-due anchor date, which all roll forward to the same date. */
+public record AnchorGroup(Period period, LocalDate anchor) {}
@@ -0,0 +1,47 @@
+package com.example.budgettracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+@Data
+@Schema(description = "Creates, updates and deletes applied together in one transaction")
+public class BatchRequest<T> {
+
+  public static final int MAX_ITEMS = 500;
+
+  @Valid
+  @NotNull
+  @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " items can be created per batch")
+  @Schema(description = "Items to create")
+  private List<T> create = new ArrayList<>();
+
+  @Valid
+  @NotNull
+  @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " items can be updated per batch")
+  @Schema(description = "Items to update, each with its id")
+  private List<Update<T>> update = new ArrayList<>();
+
+  @NotNull
+  @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " items can be deleted per batch")
+  @Schema(description = "Ids of items to delete")
+  private List<@NotNull Long> delete = new ArrayList<>();
+
+  @Data
+  @Schema(description = "Replacement values for an existing item")
+  public static class Update<T> {
+
+    @NotNull(message = "Id is required")
+    @Schema(description = "Id of the item to update", example = "42")
+    private Long id;
+
+    @Valid
+    @NotNull(message = "Item is required")
+    @Schema(description = "New values for the item")
+    private T item;
+  }
+}
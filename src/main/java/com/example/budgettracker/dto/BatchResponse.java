@@ -0,0 +1,27 @@
+package com.example.budgettracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Outcome of a batch, in request order")
+public class BatchResponse<T> {
+
+  @Schema(description = "Created items, with their new ids")
+  private List<T> created;
+
+  @Schema(description = "Updated items")
+  private List<T> updated;
+
+  @Schema(description = "Ids of deleted items")
+  private List<Long> deleted;
+
+  public <R> BatchResponse<R> map(Function<T, R> mapper) {
+    return new BatchResponse<>(
+        created.stream().map(mapper).toList(), updated.stream().map(mapper).toList(), deleted);
+  }
+}
@@ -41,6 +41,22 @@ public class BillResponse {
     return dto;
   }
 
+  public static BillResponse fromSummary(
+      BillSummary summary, PeriodCalculationService periodCalculationService) {
+    BillResponse dto = new BillResponse();
+    dto.setId(summary.id());
+    dto.setName(summary.name());
+    dto.setAmount(summary.amount());
+    dto.setPeriod(summary.period());
+    dto.setDueDate(summary.dueDate());
+    dto.setActualDueDate(
+        periodCalculationService.getNextOccurrence(summary.dueDate(), summary.period()));
+    dto.setActive(summary.active());
+    dto.setCategoryId(summary.categoryId());
+    dto.setCategoryName(summary.categoryName());
+    return dto;
+  }
+
   // Keep the old method for backward compatibility, but it won't have calculated due dates
   @Deprecated
   public static BillResponse fromEntity(Bill bill) {
@@ -0,0 +1,17 @@
+package com.example.budgettracker.dto;
+
+import com.example.budgettracker.model.Period;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Read-only row for the bill listing, selected without loading {@code Bill} entities. */
+public record BillSummary(
+    Long id,
+    String name,
+    BigDecimal amount,
+    Period period,
+    LocalDate dueDate,
+    LocalDate firstDueDate,
+    boolean active,
+    Long categoryId,
+    String categoryName) {}
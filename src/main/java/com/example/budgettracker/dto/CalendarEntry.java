@@ -0,0 +1,14 @@
+package com.example.budgettracker.dto;
+
+import com.example.budgettracker.model.OccurrenceSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** One dated payment or income in the calendar, read straight from the occurrence index. */
+public record CalendarEntry(
+    LocalDate date,
+    OccurrenceSource source,
+    Long itemId,
+    String name,
+    BigDecimal amount,
+    String categoryName) {}
@@ -0,0 +1,20 @@
+package com.example.budgettracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarResponse {
+  private LocalDate from;
+  private LocalDate to;
+  // Subscriptions and bills due in the range
+  private BigDecimal totalDue;
+  private BigDecimal totalIncome;
+  private List<CalendarEntry> entries;
+}
@@ -0,0 +1,24 @@
+package com.example.budgettracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "One slice of a cursor-paginated listing")
+public class CursorPage<T> {
+
+  @Schema(description = "Items in this slice")
+  private List<T> content;
+
+  @Schema(description = "Opaque token for the next slice; absent on the last slice")
+  private String nextCursor;
+
+  @Schema(description = "Whether more items follow this slice")
+  private boolean hasNext;
+
+  @Schema(description = "Total number of items; only present when includeTotal=true")
+  private Long totalElements;
+}
@@ -0,0 +1,103 @@
+package com.example.budgettracker.dto;
+
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.CategoryType;
+import com.example.budgettracker.model.Period;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One line of the financial history export. Subscriptions, bills, income and categories share a
+ * single flat layout so the export can be written row by row; columns that do not apply to a type
+ * are left empty.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExportRow(
+    String type,
+    Long id,
+    String name,
+    BigDecimal amount,
+    Period period,
+    LocalDate date,
+    Boolean active,
+    String category,
+    CategoryType categoryType,
+    String description) {
+
+  public static final String[] COLUMNS = {
+    "type",
+    "id",
+    "name",
+    "amount",
+    "period",
+    "date",
+    "active",
+    "category",
+    "categoryType",
+    "description"
+  };
+
+  public static ExportRow of(SubscriptionSummary s) {
+    return new ExportRow(
+        "subscription",
+        s.id(),
+        s.name(),
+        s.price(),
+        s.period(),
+        s.nextBillingDate(),
+        s.active(),
+        s.categoryName(),
+        null,
+        null);
+  }
+
+  public static ExportRow of(BillSummary b) {
+    return new ExportRow(
+        "bill",
+        b.id(),
+        b.name(),
+        b.amount(),
+        b.period(),
+        b.dueDate(),
+        b.active(),
+        b.categoryName(),
+        null,
+        null);
+  }
+
+  public static ExportRow of(IncomeSummary i) {
+    return new ExportRow(
+        "income",
+        i.id(),
+        i.name(),
+        i.amount(),
+        i.period(),
+        i.incomeDate(),
+        null,
+        i.categoryName(),
+        null,
+        i.description());
+  }
+
+  public static ExportRow of(Category c) {
+    return new ExportRow(
+        "category",
+        c.getId(),
+        c.getName(),
+        null,
+        null,
+        null,
+        null,
+        null,
+        c.getCategoryType(),
+        null);
+  }
+
+  /** Column values in {@link #COLUMNS} order. */
+  public Object[] values() {
+    return new Object[] {
+      type, id, name, amount, period, date, active, category, categoryType, description
+    };
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.budgettracker.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Progress and outcome of a bank statement import")
+public class ImportJobResponse {
+
+  public enum Status {
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  @Schema(description = "Import job id")
+  private UUID id;
+
+  @Schema(description = "Current state of the import")
+  private Status status;
+
+  @Schema(description = "Data rows read so far")
+  private int rowsProcessed;
+
+  @Schema(description = "Income entries created from credits")
+  private int incomesImported;
+
+  @Schema(description = "Bills created from debits")
+  private int billsImported;
+
+  @Schema(description = "Rows that were skipped because they could not be imported")
+  private int rowsFailed;
+
+  @Schema(description = "Why rows failed; only the first ones are listed")
+  private List<RowError> errors;
+
+  @Schema(description = "Reason the whole import stopped, if it did")
+  private String message;
+
+  private LocalDateTime startedAt;
+
+  private LocalDateTime finishedAt;
+
+  @Data
+  @AllArgsConstructor
+  @Schema(description = "A row that could not be imported")
+  public static class RowError {
+
+    @Schema(description = "1-based data row number, not counting the header", example = "12")
+    private int row;
+
+    @Schema(description = "What was wrong with the row")
+    private String message;
+  }
+}
@@ -35,6 +35,20 @@ public class IncomeResponse {
     return dto;
   }
 
+  public static IncomeResponse fromSummary(IncomeSummary summary, LocalDate nextPaymentDate) {
+    IncomeResponse dto = new IncomeResponse();
+    dto.setId(summary.id());
+    dto.setName(summary.name());
+    dto.setAmount(summary.amount());
+    dto.setIncomeDate(summary.incomeDate());
+    dto.setPeriod(summary.period());
+    dto.setDescription(summary.description());
+    dto.setNextPaymentDate(nextPaymentDate);
+    dto.setCategoryId(summary.categoryId());
+    dto.setCategoryName(summary.categoryName());
+    return dto;
+  }
+
   @Deprecated
   public static IncomeResponse fromEntity(Income income) {
     return fromEntity(income, income.getIncomeDate());
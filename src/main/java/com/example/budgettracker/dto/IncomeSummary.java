@@ -0,0 +1,16 @@
+package com.example.budgettracker.dto;
+
+import com.example.budgettracker.model.Period;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Read-only row for the income listing, selected without loading {@code Income} entities. */
+public record IncomeSummary(
+    Long id,
+    String name,
+    BigDecimal amount,
+    LocalDate incomeDate,
+    Period period,
+    String description,
+    Long categoryId,
+    String categoryName) {}
@@ -0,0 +1,9 @@
+package com.example.budgettracker.dto;
+
+import com.example.budgettracker.model.RollupKind;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** A {@code monthly_rollup} row with its category name, as read by the dashboard. */
+public record MonthlyRollupRow(
+    LocalDate month, RollupKind kind, String categoryName, BigDecimal amount, int itemCount) {}
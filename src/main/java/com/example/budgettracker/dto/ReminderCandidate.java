@@ -0,0 +1,8 @@
+package com.example.budgettracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** A subscription or bill coming due, as read by the reminder scan without loading entities. */
+public record ReminderCandidate(
+    Long id, Long appUserId, String name, BigDecimal amount, LocalDate dueDate) {}
@@ -42,6 +42,22 @@ public class SubscriptionResponse {
     return dto;
   }
 
+  public static SubscriptionResponse fromSummary(
+      SubscriptionSummary summary, PeriodCalculationService periodCalculationService) {
+    SubscriptionResponse dto = new SubscriptionResponse();
+    dto.setId(summary.id());
+    dto.setName(summary.name());
+    dto.setPrice(summary.price());
+    dto.setPeriod(summary.period());
+    dto.setNextBillingDate(summary.nextBillingDate());
+    dto.setActualNextBillingDate(
+        periodCalculationService.getNextOccurrence(summary.nextBillingDate(), summary.period()));
+    dto.setActive(summary.active());
+    dto.setCategoryId(summary.categoryId());
+    dto.setCategoryName(summary.categoryName());
+    return dto;
+  }
+
   // Keep the old method for backward compatibility, but it won't have calculated billing dates
   @Deprecated
   public static SubscriptionResponse fromEntity(Subscription subscription) {
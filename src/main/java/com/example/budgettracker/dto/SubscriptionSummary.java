@@ -0,0 +1,20 @@
+package com.example.budgettracker.dto;
+
+import com.example.budgettracker.model.Period;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only row for the subscription listing, selected with a constructor expression so a page is
+ * built without loading or dirty-checking {@code Subscription} entities.
+ */
+public record SubscriptionSummary(
+    Long id,
+    String name,
+    BigDecimal price,
+    Period period,
+    LocalDate nextBillingDate,
+    LocalDate firstBillingDate,
+    boolean active,
+    Long categoryId,
+    String categoryName) {}
@@ -1,5 +1,6 @@
 package com.example.budgettracker.dto;
 
+import com.example.budgettracker.model.AppUser;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -9,4 +10,9 @@ public class TokenPair {
   private String accessToken;
   private String refreshToken;
   private long accessTokenExpiresIn; // seconds until expiry
+  private AppUser user; // the user the tokens were issued for
+
+  public TokenPair(String accessToken, String refreshToken, long accessTokenExpiresIn) {
+    this(accessToken, refreshToken, accessTokenExpiresIn, null);
+  }
 }
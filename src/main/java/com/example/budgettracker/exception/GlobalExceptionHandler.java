@@ -36,6 +36,13 @@ public class GlobalExceptionHandler {
         .body(new ErrorResponse(404, "Not Found", ex.getMessage(), LocalDateTime.now()));
   }
 
+  @ExceptionHandler(IncomeNotFoundException.class)
+  public ResponseEntity<ErrorResponse> handleIncomeNotFound(IncomeNotFoundException ex) {
+    LOGGER.warn("Income not found: {}", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.NOT_FOUND)
+        .body(new ErrorResponse(404, "Not Found", ex.getMessage(), LocalDateTime.now()));
+  }
+
   @ExceptionHandler(UnauthorizedAccessException.class)
   public ResponseEntity<ErrorResponse> handleUnauthorizedAccess(UnauthorizedAccessException ex) {
     LOGGER.warn("Unauthorized access attempt: {}", ex.getMessage());
@@ -0,0 +1,106 @@
+package com.example.budgettracker.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Counts the SQL statements executed while handling a sampled request and logs the controller
+ * method when it exceeds the query budget. A budget overrun usually means a lazy association is
+ * loaded once per row. Counts are also published as the {@code http.server.requests.queries}
+ * distribution summary, tagged by handler.
+ */
+@Component
+@Slf4j
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+  static final String METRIC_NAME = "http.server.requests.queries";
+  private static final String SCOPE_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".SCOPE";
+
+  private final MeterRegistry meterRegistry;
+  private final int maxQueries;
+  private final double sampleRate;
+
+  // Web slice tests have no registry; the global one simply discards the measurements there
+  @Autowired
+  public QueryBudgetInterceptor(
+      ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${app.query-budget.max-queries:10}") int maxQueries,
+      @Value("${app.query-budget.sample-rate:0.1}") double sampleRate) {
+    this(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), maxQueries, sampleRate);
+  }
+
+  QueryBudgetInterceptor(MeterRegistry meterRegistry, int maxQueries, double sampleRate) {
+    this.meterRegistry = meterRegistry;
+    this.maxQueries = maxQueries;
+    this.sampleRate = sampleRate;
+  }
+
+  @Override
+  public boolean preHandle(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler) {
+    if (handler instanceof HandlerMethod && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+      request.setAttribute(SCOPE_ATTRIBUTE, QueryCounter.open());
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler,
+      Exception ex) {
+    if (!(request.getAttribute(SCOPE_ATTRIBUTE) instanceof QueryCounter.Scope scope)) {
+      return;
+    }
+    request.removeAttribute(SCOPE_ATTRIBUTE);
+    scope.close();
+
+    String handlerName = handlerName((HandlerMethod) handler);
+    int queries = scope.count();
+    DistributionSummary.builder(METRIC_NAME)
+        .description("SQL statements executed per request")
+        .tag("handler", handlerName)
+        .register(meterRegistry)
+        .record(queries);
+    if (queries > maxQueries) {
+      log.warn(
+          "{} executed {} queries, over the budget of {} ({} {})",
+          handlerName,
+          queries,
+          maxQueries,
+          request.getMethod(),
+          request.getRequestURI());
+    }
+  }
+
+  // Async work continues on another thread, so stop counting on this one
+  @Override
+  public void afterConcurrentHandlingStarted(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler) {
+    if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof QueryCounter.Scope scope) {
+      request.removeAttribute(SCOPE_ATTRIBUTE);
+      scope.close();
+    }
+  }
+
+  private static String handlerName(HandlerMethod handlerMethod) {
+    return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+  }
+}
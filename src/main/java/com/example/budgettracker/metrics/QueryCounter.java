@@ -0,0 +1,59 @@
+package com.example.budgettracker.metrics;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a scope is open. Scopes
+ * nest: a statement counts towards every open scope, so a test can wrap a request that the {@link
+ * QueryBudgetInterceptor} is measuring as well.
+ *
+ * <pre>{@code
+ * try (QueryCounter.Scope queries = QueryCounter.open()) {
+ *   mockMvc.perform(get("/api/subscriptions"));
+ *   assertThat(queries.count()).isLessThanOrEqualTo(3);
+ * }
+ * }</pre>
+ */
+public final class QueryCounter {
+
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  private QueryCounter() {}
+
+  public static Scope open() {
+    Scope scope = new Scope(CURRENT.get());
+    CURRENT.set(scope);
+    return scope;
+  }
+
+  // Called by the statement inspector; a no-op unless a scope is open on this thread
+  static void increment() {
+    for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+      scope.count++;
+    }
+  }
+
+  public static final class Scope implements AutoCloseable {
+    private final Scope parent;
+    private int count;
+
+    private Scope(Scope parent) {
+      this.parent = parent;
+    }
+
+    /** Statements prepared since this scope was opened. */
+    public int count() {
+      return count;
+    }
+
+    @Override
+    public void close() {
+      if (CURRENT.get() != this) {
+        return;
+      }
+      if (parent == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(parent);
+      }
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.budgettracker.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Feeds every statement Hibernate prepares into the {@link QueryCounter}. */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+  @Override
+  public String inspect(String sql) {
+    QueryCounter.increment();
+    return sql;
+  }
+}
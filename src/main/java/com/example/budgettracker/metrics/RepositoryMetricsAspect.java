@@ -0,0 +1,89 @@
+package com.example.budgettracker.metrics;
+
+import com.example.budgettracker.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how many rows each repository query returns (or, for modifying queries, affects) as the
+ * {@code repository.query.rows} distribution summary. Query latency is already published by Spring
+ * Boot as {@code spring.data.repository.invocations}; together they show whether a slow query is
+ * slow because it returns too much.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+  static final String ROWS_METRIC = "repository.query.rows";
+
+  private static final String REPOSITORY_PACKAGE = SubscriptionRepository.class.getPackageName();
+
+  private final MeterRegistry meterRegistry;
+  private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+  @AfterReturning(
+      pointcut =
+          "target(com.example.budgettracker.repository.SubscriptionRepository)"
+              + " || target(com.example.budgettracker.repository.BillRepository)"
+              + " || target(com.example.budgettracker.repository.IncomeRepository)"
+              + " || target(com.example.budgettracker.repository.RefreshTokenRepository)"
+              + " || target(com.example.budgettracker.repository.MonthlyRollupRepository)",
+      returning = "result")
+  public void recordRows(JoinPoint joinPoint, Object result) {
+    long rows = rowCount((MethodSignature) joinPoint.getSignature(), result);
+    if (rows < 0) {
+      return;
+    }
+    DistributionSummary.builder(ROWS_METRIC)
+        .description("Rows returned or affected per repository query")
+        .baseUnit("rows")
+        .tag("repository", repositoryName(joinPoint.getTarget().getClass()))
+        .tag("method", joinPoint.getSignature().getName())
+        .register(meterRegistry)
+        .record(rows);
+  }
+
+  // -1 for results that don't describe a row count, e.g. aggregates or void methods
+  private static long rowCount(MethodSignature signature, Object result) {
+    if (result instanceof Collection<?> collection) {
+      return collection.size();
+    }
+    if (result instanceof Slice<?> slice) {
+      return slice.getNumberOfElements();
+    }
+    if (result instanceof Optional<?> optional) {
+      return optional.isPresent() ? 1 : 0;
+    }
+    if (result instanceof Number affected
+        && signature.getMethod().isAnnotationPresent(Modifying.class)) {
+      return affected.longValue();
+    }
+    return -1;
+  }
+
+  private String repositoryName(Class<?> proxyClass) {
+    return repositoryNames.computeIfAbsent(
+        proxyClass,
+        type -> {
+          for (Class<?> candidate : type.getInterfaces()) {
+            if (candidate.getPackageName().equals(REPOSITORY_PACKAGE)) {
+              return candidate.getSimpleName();
+            }
+          }
+          return type.getSimpleName();
+        });
+  }
+}
@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -22,7 +23,9 @@ import lombok.Setter;
 @Table(
     name = "bill",
     indexes = {
-      @Index(name = "idx_bill_user", columnList = "app_user_id"),
+      @Index(name = "idx_bill_user_name", columnList = "app_user_id, name, id"),
+      @Index(name = "idx_bill_user_amount", columnList = "app_user_id, amount, id"),
+      @Index(name = "idx_bill_user_due_date", columnList = "app_user_id, due_date, id"),
       @Index(name = "idx_bill_due_date", columnList = "dueDate"),
       @Index(name = "idx_bill_active", columnList = "is_active")
     })
@@ -31,7 +34,9 @@ import lombok.Setter;
 @NoArgsConstructor
 public class Bill extends BaseEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  // Pooled sequence ids (V19) let Hibernate batch inserts, which IDENTITY columns prevent
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bill_id_seq")
+  @SequenceGenerator(name = "bill_id_seq", sequenceName = "bill_id_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
@@ -45,6 +50,15 @@ public class Bill extends BaseEntity {
 
   private LocalDate dueDate;
 
+  // Due date as last entered by the user; the dashboard charts the bill from here while the
+  // anchor roller moves dueDate forward
+  @Column(name = "first_due_date")
+  private LocalDate firstDueDate;
+
+  // Occurrence before dueDate, recorded when the roller advances it
+  @Column(name = "last_due_date")
+  private LocalDate lastDueDate;
+
   @Column(name = "is_active")
   private boolean active = true;
 
@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -22,7 +23,9 @@ import lombok.Setter;
 @Table(
     name = "income",
     indexes = {
-      @Index(name = "idx_income_user", columnList = "app_user_id"),
+      @Index(name = "idx_income_user_date", columnList = "app_user_id, income_date, id"),
+      @Index(name = "idx_income_user_name", columnList = "app_user_id, name, id"),
+      @Index(name = "idx_income_user_amount", columnList = "app_user_id, amount, id"),
       @Index(name = "idx_income_date", columnList = "income_date"),
       @Index(name = "idx_income_category", columnList = "category_id")
     })
@@ -31,7 +34,9 @@ import lombok.Setter;
 @NoArgsConstructor
 public class Income extends BaseEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  // Pooled sequence ids (V19) let Hibernate batch inserts, which IDENTITY columns prevent
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "income_id_seq")
+  @SequenceGenerator(name = "income_id_seq", sequenceName = "income_id_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
@@ -0,0 +1,65 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pre-aggregated dashboard totals of one user, per month, kind and category. Rows are adjusted by
+ * deltas whenever an item is written, so the dashboard reads a handful of rows instead of every
+ * item. Items without a category are filed under category id {@link #UNCATEGORIZED}, and items
+ * without a date under {@link #UNDATED}.
+ */
+@Entity
+@Table(name = "monthly_rollup")
+@Getter
+@Setter
+@NoArgsConstructor
+public class MonthlyRollup {
+
+  public static final long UNCATEGORIZED = 0L;
+
+  public static final LocalDate UNDATED = LocalDate.of(1970, 1, 1);
+
+  @EmbeddedId private Key id;
+
+  @Column(nullable = false, precision = 19, scale = 6)
+  private BigDecimal amount;
+
+  @Column(name = "item_count", nullable = false)
+  private int itemCount;
+
+  @Embeddable
+  @Getter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+
+    @Column(name = "app_user_id", nullable = false)
+    private Long appUserId;
+
+    // First day of the month
+    @Column(name = "month_start", nullable = false)
+    private LocalDate month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private RollupKind kind;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+  }
+}
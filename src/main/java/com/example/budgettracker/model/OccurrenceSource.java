@@ -0,0 +1,8 @@
+package com.example.budgettracker.model;
+
+/** The kind of item a {@link PaymentOccurrence} was generated from. */
+public enum OccurrenceSource {
+  SUBSCRIPTION,
+  BILL,
+  INCOME
+}
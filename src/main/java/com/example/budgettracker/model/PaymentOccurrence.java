@@ -0,0 +1,65 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One upcoming payment or income date of a subscription, bill or income, precomputed for a rolling
+ * window so the calendar is a range scan over {@code (app_user_id, occurs_on)} instead of
+ * recurrence math over every item. Rows are replaced whenever their item is written.
+ */
+@Entity
+@Table(
+    name = "payment_occurrence",
+    indexes = {
+      @Index(name = "idx_payment_occurrence_user_date", columnList = "app_user_id, occurs_on"),
+      @Index(name = "idx_payment_occurrence_item", columnList = "source, item_id")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+public class PaymentOccurrence {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_occurrence_id_seq")
+  @SequenceGenerator(
+      name = "payment_occurrence_id_seq",
+      sequenceName = "payment_occurrence_id_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(name = "app_user_id", nullable = false)
+  private Long appUserId;
+
+  @Column(name = "occurs_on", nullable = false)
+  private LocalDate occursOn;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private OccurrenceSource source;
+
+  @Column(name = "item_id", nullable = false)
+  private Long itemId;
+
+  @Column(nullable = false)
+  private String name;
+
+  @Column(precision = 10, scale = 2, nullable = false)
+  private BigDecimal amount;
+
+  @Column(name = "category_id")
+  private Long categoryId;
+}
@@ -0,0 +1,75 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outbox entry for a due-date reminder. The scan writes one row per item and due date; the
+ * dispatcher hands undelivered rows to the {@code ReminderSink} and records the outcome. The unique
+ * key makes a repeated scan of the same due date a no-op.
+ */
+@Entity
+@Table(
+    name = "reminder",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_reminder_item_due_date",
+            columnNames = {"source", "item_id", "due_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class Reminder {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reminder_id_seq")
+  @SequenceGenerator(
+      name = "reminder_id_seq",
+      sequenceName = "reminder_id_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(name = "app_user_id", nullable = false)
+  private Long appUserId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private OccurrenceSource source;
+
+  @Column(name = "item_id", nullable = false)
+  private Long itemId;
+
+  @Column(name = "due_date", nullable = false)
+  private LocalDate dueDate;
+
+  @Column(nullable = false)
+  private String name;
+
+  @Column(precision = 10, scale = 2)
+  private BigDecimal amount;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "delivered_at")
+  private LocalDateTime deliveredAt;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "last_error", length = 500)
+  private String lastError;
+}
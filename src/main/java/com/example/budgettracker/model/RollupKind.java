@@ -0,0 +1,23 @@
+package com.example.budgettracker.model;
+
+/**
+ * What a {@link MonthlyRollup} row sums up. Recurring kinds hold monthly-normalized amounts filed
+ * under the month they start applying; one-time kinds hold the raw amounts of their month.
+ */
+public enum RollupKind {
+  INCOME_RECURRING(true),
+  INCOME_ONE_TIME(false),
+  SUBSCRIPTION(true),
+  BILL_RECURRING(true),
+  BILL_ONE_TIME(false);
+
+  private final boolean recurring;
+
+  RollupKind(boolean recurring) {
+    this.recurring = recurring;
+  }
+
+  public boolean isRecurring() {
+    return recurring;
+  }
+}
@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -22,7 +23,11 @@ import lombok.Setter;
 @Table(
     name = "subscription",
     indexes = {
-      @Index(name = "idx_subscription_user", columnList = "app_user_id"),
+      @Index(name = "idx_subscription_user_name", columnList = "app_user_id, name, id"),
+      @Index(name = "idx_subscription_user_price", columnList = "app_user_id, price, id"),
+      @Index(
+          name = "idx_subscription_user_next_billing",
+          columnList = "app_user_id, next_billing_date, id"),
       @Index(name = "idx_subscription_next_billing", columnList = "nextBillingDate"),
       @Index(name = "idx_subscription_active", columnList = "is_active")
     })
@@ -31,7 +36,12 @@ import lombok.Setter;
 @NoArgsConstructor
 public class Subscription extends BaseEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  // Pooled sequence ids (V19) let Hibernate batch inserts, which IDENTITY columns prevent
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subscription_id_seq")
+  @SequenceGenerator(
+      name = "subscription_id_seq",
+      sequenceName = "subscription_id_seq",
+      allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
@@ -45,6 +55,15 @@ public class Subscription extends BaseEntity {
 
   private LocalDate nextBillingDate;
 
+  // Billing date as last entered by the user; the dashboard charts the subscription from here
+  // while the anchor roller moves nextBillingDate forward
+  @Column(name = "first_billing_date")
+  private LocalDate firstBillingDate;
+
+  // Occurrence before nextBillingDate, recorded when the roller advances it
+  @Column(name = "last_billing_date")
+  private LocalDate lastBillingDate;
+
   @Column(name = "is_active")
   private boolean active = true;
 
@@ -1,7 +1,9 @@
 package com.example.budgettracker.repository;
 
 import com.example.budgettracker.model.AppUser;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,4 +14,14 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long> {
   @Query(
       "SELECT DISTINCT u FROM AppUser u LEFT JOIN FETCH u.subscriptions s LEFT JOIN FETCH s.category WHERE u.googleSub = :googleSub")
   Optional<AppUser> findByGoogleSubWithSubscriptions(@Param("googleSub") String googleSub);
+
+  /**
+   * Locks the user's row until the end of the transaction. Serializes writers that maintain
+   * per-user aggregates, so two of them never race to insert the same aggregate row.
+   */
+  @Query(value = "SELECT id FROM app_user WHERE id = :id FOR UPDATE", nativeQuery = true)
+  Long lockById(@Param("id") Long id);
+
+  @Query("SELECT u.id FROM AppUser u WHERE u.id > :after ORDER BY u.id")
+  List<Long> findIdsAfter(@Param("after") long after, Limit limit);
 }
@@ -1,13 +1,30 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.AnchorGroup;
+import com.example.budgettracker.dto.BillSummary;
+import com.example.budgettracker.dto.ReminderCandidate;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Bill;
 import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Period;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface BillRepository extends JpaRepository<Bill, Long> {
 
@@ -25,4 +42,78 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
 
   @EntityGraph(attributePaths = {"category"})
   Page<Bill> findByAppUser(AppUser appUser, Pageable pageable);
+
+  @Query(
+      value =
+          "SELECT new com.example.budgettracker.dto.BillSummary("
+              + "b.id, b.name, b.amount, b.period, b.dueDate, b.firstDueDate, b.active, c.id, "
+              + "c.name) "
+              + "FROM Bill b LEFT JOIN b.category c WHERE b.appUser = :appUser",
+      countQuery = "SELECT COUNT(b) FROM Bill b WHERE b.appUser = :appUser")
+  Page<BillSummary> findSummariesByAppUser(@Param("appUser") AppUser appUser, Pageable pageable);
+
+  // Streamed by the export; see SubscriptionRepository#streamSummariesByAppUser
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT new com.example.budgettracker.dto.BillSummary("
+          + "b.id, b.name, b.amount, b.period, b.dueDate, b.firstDueDate, b.active, c.id, "
+          + "c.name) "
+          + "FROM Bill b LEFT JOIN b.category c WHERE b.appUser = :appUser "
+          + "ORDER BY b.name, b.id")
+  Stream<BillSummary> streamSummariesByAppUser(@Param("appUser") AppUser appUser);
+
+  // Keyset listing: no count query, pages continue from the last (sort key, id)
+  @EntityGraph(attributePaths = {"category"})
+  Window<Bill> findByAppUser(AppUser appUser, ScrollPosition position, Sort sort, Limit limit);
+
+  long countByAppUser(AppUser appUser);
+
+  // Reminder scan: keyset over (dueDate, id) within the due window so it can walk idx_bill_due_date
+  // page by page; MOD on the user id keeps each user on exactly one shard
+  @Query(
+      "SELECT new com.example.budgettracker.dto.ReminderCandidate("
+          + "b.id, b.appUser.id, b.name, b.amount, b.dueDate) "
+          + "FROM Bill b WHERE b.active = true AND b.dueDate <= :to "
+          + "AND (b.dueDate > :afterDate OR (b.dueDate = :afterDate AND b.id > :afterId)) "
+          + "AND MOD(b.appUser.id, :shardCount) = :shardIndex "
+          + "ORDER BY b.dueDate, b.id")
+  List<ReminderCandidate> findDueForReminder(
+      @Param("afterDate") LocalDate afterDate,
+      @Param("afterId") long afterId,
+      @Param("to") LocalDate to,
+      @Param("shardCount") int shardCount,
+      @Param("shardIndex") int shardIndex,
+      Limit limit);
+
+  // Anchor roller: every item of a (period, date) group rolls to the same date, so past-due
+  // anchors are fetched as groups and each group is advanced by one UPDATE
+  @Query(
+      "SELECT DISTINCT new com.example.budgettracker.dto.AnchorGroup(b.period, b.dueDate) "
+          + "FROM Bill b WHERE b.active = true AND b.dueDate < :today "
+          + "AND b.period <> com.example.budgettracker.model.Period.ONE_TIME "
+          + "ORDER BY b.dueDate, b.period")
+  List<AnchorGroup> findPastDueAnchors(@Param("today") LocalDate today, Limit limit);
+
+  // Owners of the past-due anchors between two dates; a chunk of groups spans such a range
+  @Query(
+      "SELECT DISTINCT b.appUser.id FROM Bill b WHERE b.active = true "
+          + "AND b.dueDate >= :from AND b.dueDate <= :to AND b.dueDate < :today "
+          + "AND b.period <> com.example.budgettracker.model.Period.ONE_TIME")
+  List<Long> findPastDueAnchorOwners(
+      @Param("today") LocalDate today, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Modifying
+  @Query(
+      "UPDATE Bill b SET b.firstDueDate = COALESCE(b.firstDueDate, b.dueDate), "
+          + "b.lastDueDate = :previous, b.dueDate = :next, b.updatedAt = :now "
+          + "WHERE b.active = true AND b.period = :period AND b.dueDate = :anchor")
+  int rollAnchor(
+      @Param("period") Period period,
+      @Param("anchor") LocalDate anchor,
+      @Param("previous") LocalDate previous,
+      @Param("next") LocalDate next,
+      @Param("now") LocalDateTime now);
 }
@@ -3,6 +3,7 @@ package com.example.budgettracker.repository;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Category;
 import com.example.budgettracker.model.CategoryType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -29,6 +30,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
   Optional<Category> findByIdAndUserId(
       @Param("categoryId") Long categoryId, @Param("userId") Long userId);
 
+  @Query("SELECT c FROM Category c JOIN c.appUser u WHERE c.id IN :categoryIds AND u.id = :userId")
+  List<Category> findAllByIdInAndUserId(
+      @Param("categoryIds") Collection<Long> categoryIds, @Param("userId") Long userId);
+
   // Bulk count of active subscriptions per category for a given user to avoid N+1 queries
   @Query(
       "SELECT c.id, COUNT(s.id) FROM Category c LEFT JOIN Subscription s ON s.category = c "
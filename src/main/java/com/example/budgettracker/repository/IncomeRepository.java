@@ -1,15 +1,26 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.IncomeSummary;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Income;
+import jakarta.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -20,6 +31,34 @@ public interface IncomeRepository extends JpaRepository<Income, Long> {
 
   List<Income> findByAppUser(AppUser appUser);
 
+  List<Income> findByAppUserAndIdIn(AppUser appUser, Collection<Long> ids);
+
+  @Query(
+      value =
+          "SELECT new com.example.budgettracker.dto.IncomeSummary("
+              + "i.id, i.name, i.amount, i.incomeDate, i.period, i.description, c.id, c.name) "
+              + "FROM Income i LEFT JOIN i.category c WHERE i.appUser = :appUser",
+      countQuery = "SELECT COUNT(i) FROM Income i WHERE i.appUser = :appUser")
+  Page<IncomeSummary> findSummariesByAppUser(@Param("appUser") AppUser appUser, Pageable pageable);
+
+  // Income is the table that grows for years, so the export must stream it rather than list it
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT new com.example.budgettracker.dto.IncomeSummary("
+          + "i.id, i.name, i.amount, i.incomeDate, i.period, i.description, c.id, c.name) "
+          + "FROM Income i LEFT JOIN i.category c WHERE i.appUser = :appUser "
+          + "ORDER BY i.incomeDate, i.id")
+  Stream<IncomeSummary> streamSummariesByAppUser(@Param("appUser") AppUser appUser);
+
+  // Keyset listing: no count query, pages continue from the last (sort key, id)
+  @EntityGraph(attributePaths = {"category"})
+  Window<Income> findByAppUser(AppUser appUser, ScrollPosition position, Sort sort, Limit limit);
+
+  long countByAppUser(AppUser appUser);
+
   List<Income> findByAppUserAndIncomeDateBetweenOrderByIncomeDateDesc(
       AppUser appUser, LocalDate startDate, LocalDate endDate);
 
@@ -0,0 +1,55 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.dto.MonthlyRollupRow;
+import com.example.budgettracker.model.MonthlyRollup;
+import com.example.budgettracker.model.RollupKind;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, MonthlyRollup.Key> {
+
+  // The primary key leads with app_user_id, so this is a single range scan per user
+  @Query(
+      "SELECT new com.example.budgettracker.dto.MonthlyRollupRow("
+          + "r.id.month, r.id.kind, c.name, r.amount, r.itemCount) "
+          + "FROM MonthlyRollup r LEFT JOIN Category c ON c.id = r.id.categoryId "
+          + "WHERE r.id.appUserId = :userId")
+  List<MonthlyRollupRow> findRowsByUserId(@Param("userId") Long userId);
+
+  List<MonthlyRollup> findByIdAppUserId(Long appUserId);
+
+  /** Adds a delta to an existing row; returns 0 when the row does not exist yet. */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "UPDATE MonthlyRollup r SET r.amount = r.amount + :amount, "
+          + "r.itemCount = r.itemCount + :itemCount "
+          + "WHERE r.id.appUserId = :userId AND r.id.month = :month AND r.id.kind = :kind "
+          + "AND r.id.categoryId = :categoryId")
+  int addDelta(
+      @Param("userId") Long userId,
+      @Param("month") LocalDate month,
+      @Param("kind") RollupKind kind,
+      @Param("categoryId") Long categoryId,
+      @Param("amount") BigDecimal amount,
+      @Param("itemCount") int itemCount);
+
+  // Native so the new row never becomes a managed entity that later deltas would leave stale
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO monthly_rollup (app_user_id, month_start, kind, category_id, amount, item_count) "
+              + "VALUES (:userId, :month, :kind, :categoryId, :amount, :itemCount)",
+      nativeQuery = true)
+  void insert(
+      @Param("userId") Long userId,
+      @Param("month") LocalDate month,
+      @Param("kind") String kind,
+      @Param("categoryId") Long categoryId,
+      @Param("amount") BigDecimal amount,
+      @Param("itemCount") int itemCount);
+}
@@ -0,0 +1,43 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.dto.CalendarEntry;
+import com.example.budgettracker.model.OccurrenceSource;
+import com.example.budgettracker.model.PaymentOccurrence;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PaymentOccurrenceRepository extends JpaRepository<PaymentOccurrence, Long> {
+
+  // Range scan on idx_payment_occurrence_user_date
+  @Query(
+      "SELECT new com.example.budgettracker.dto.CalendarEntry("
+          + "o.occursOn, o.source, o.itemId, o.name, o.amount, c.name) "
+          + "FROM PaymentOccurrence o LEFT JOIN Category c ON c.id = o.categoryId "
+          + "WHERE o.appUserId = :userId AND o.occursOn BETWEEN :from AND :to "
+          + "ORDER BY o.occursOn, o.source, o.itemId")
+  List<CalendarEntry> findEntriesByUserIdBetween(
+      @Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Modifying(flushAutomatically = true)
+  @Query("DELETE FROM PaymentOccurrence o WHERE o.source = :source AND o.itemId IN :itemIds")
+  int deleteBySourceAndItemIds(
+      @Param("source") OccurrenceSource source, @Param("itemIds") Collection<Long> itemIds);
+
+  @Modifying(flushAutomatically = true)
+  @Query("DELETE FROM PaymentOccurrence o WHERE o.appUserId = :userId")
+  int deleteByUserId(@Param("userId") Long userId);
+
+  // Nightly advance: drops the days that passed and the days about to be re-indexed in one
+  // statement
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "DELETE FROM PaymentOccurrence o WHERE o.appUserId = :userId "
+          + "AND (o.occursOn < :from OR o.occursOn > :to)")
+  int deleteByUserIdOutside(
+      @Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -3,7 +3,6 @@ package com.example.budgettracker.repository;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.RefreshToken;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -17,22 +16,38 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
   Optional<RefreshToken> findByTokenHash(String tokenHash);
 
-  List<RefreshToken> findByAppUserAndExpiresAtAfter(AppUser appUser, LocalDateTime now);
+  @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.appUser WHERE rt.tokenHash = :tokenHash")
+  Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
 
   @Modifying
   @Transactional
   @Query("DELETE FROM RefreshToken rt WHERE rt.appUser = :user")
   void deleteAllByUser(@Param("user") AppUser user);
 
+  /** Deletes up to {@code limit} expired tokens; callers repeat until fewer are deleted. */
   @Modifying
   @Transactional
-  @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
-  int deleteExpiredTokens(@Param("now") LocalDateTime now);
-
+  @Query(
+      value =
+          "DELETE FROM refresh_token WHERE id IN (SELECT id FROM refresh_token"
+              + " WHERE expires_at < :now LIMIT :limit)",
+      nativeQuery = true)
+  int deleteExpiredTokensBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+  /** Deletes all but the {@code keep} most recently created tokens of a user in one statement. */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "DELETE FROM refresh_token WHERE app_user_id = :userId AND id NOT IN (SELECT id FROM"
+              + " refresh_token WHERE app_user_id = :userId ORDER BY created_at DESC, id DESC"
+              + " LIMIT :keep)",
+      nativeQuery = true)
+  int deleteAllButNewest(@Param("userId") Long userId, @Param("keep") int keep);
+
+  /** Returns the number of tokens deleted, 0 if the token was already gone. */
   @Modifying
   @Transactional
   @Query("DELETE FROM RefreshToken rt WHERE rt.tokenHash = :tokenHash")
-  void deleteByTokenHash(@Param("tokenHash") String tokenHash);
-
-  long countByAppUser(AppUser appUser);
+  int deleteByTokenHash(@Param("tokenHash") String tokenHash);
 }
@@ -0,0 +1,49 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.model.OccurrenceSource;
+import com.example.budgettracker.model.Reminder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ReminderRepository extends JpaRepository<Reminder, Long> {
+
+  List<Reminder> findBySourceAndItemIdInAndDueDateGreaterThanEqual(
+      OccurrenceSource source, Collection<Long> itemIds, LocalDate from);
+
+  // Keyset by id so rows that fail again are not picked up twice in one drain
+  @Query(
+      "SELECT r FROM Reminder r WHERE r.deliveredAt IS NULL AND r.attempts < :maxAttempts "
+          + "AND r.id > :afterId AND MOD(r.appUserId, :shardCount) = :shardIndex ORDER BY r.id")
+  List<Reminder> findPending(
+      @Param("maxAttempts") int maxAttempts,
+      @Param("afterId") long afterId,
+      @Param("shardCount") int shardCount,
+      @Param("shardIndex") int shardIndex,
+      Limit limit);
+
+  /**
+   * Deletes up to {@code limit} of the shard's reminders delivered before {@code cutoff}; callers
+   * repeat until fewer are deleted.
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      value =
+          "DELETE FROM reminder WHERE id IN (SELECT id FROM reminder"
+              + " WHERE delivered_at < :cutoff AND MOD(app_user_id, :shardCount) = :shardIndex"
+              + " LIMIT :limit)",
+      nativeQuery = true)
+  int deleteDeliveredBatch(
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("shardCount") int shardCount,
+      @Param("shardIndex") int shardIndex,
+      @Param("limit") int limit);
+}
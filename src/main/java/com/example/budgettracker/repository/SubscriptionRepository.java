@@ -1,13 +1,30 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.AnchorGroup;
+import com.example.budgettracker.dto.ReminderCandidate;
+import com.example.budgettracker.dto.SubscriptionSummary;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Period;
 import com.example.budgettracker.model.Subscription;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
 
@@ -25,4 +42,82 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
 
   @EntityGraph(attributePaths = {"category"})
   Page<Subscription> findByAppUser(AppUser appUser, Pageable pageable);
+
+  // Listing rows straight into a DTO: no entity hydration, no dirty-checking snapshots
+  @Query(
+      value =
+          "SELECT new com.example.budgettracker.dto.SubscriptionSummary("
+              + "s.id, s.name, s.price, s.period, s.nextBillingDate, s.firstBillingDate, s.active, "
+              + "c.id, c.name) "
+              + "FROM Subscription s LEFT JOIN s.category c WHERE s.appUser = :appUser",
+      countQuery = "SELECT COUNT(s) FROM Subscription s WHERE s.appUser = :appUser")
+  Page<SubscriptionSummary> findSummariesByAppUser(
+      @Param("appUser") AppUser appUser, Pageable pageable);
+
+  // Export: forward-only cursor over DTO rows, fetched in chunks and never held in the session
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "SELECT new com.example.budgettracker.dto.SubscriptionSummary("
+          + "s.id, s.name, s.price, s.period, s.nextBillingDate, s.firstBillingDate, s.active, "
+          + "c.id, c.name) "
+          + "FROM Subscription s LEFT JOIN s.category c WHERE s.appUser = :appUser "
+          + "ORDER BY s.name, s.id")
+  Stream<SubscriptionSummary> streamSummariesByAppUser(@Param("appUser") AppUser appUser);
+
+  // Keyset listing: no count query, pages continue from the last (sort key, id)
+  @EntityGraph(attributePaths = {"category"})
+  Window<Subscription> findByAppUser(
+      AppUser appUser, ScrollPosition position, Sort sort, Limit limit);
+
+  long countByAppUser(AppUser appUser);
+
+  // Reminder scan: keyset over (nextBillingDate, id) within the due window so it can walk
+  // idx_subscription_next_billing page by page; MOD on the user id keeps each user on exactly one
+  // shard
+  @Query(
+      "SELECT new com.example.budgettracker.dto.ReminderCandidate("
+          + "s.id, s.appUser.id, s.name, s.price, s.nextBillingDate) "
+          + "FROM Subscription s WHERE s.active = true AND s.nextBillingDate <= :to "
+          + "AND (s.nextBillingDate > :afterDate OR (s.nextBillingDate = :afterDate AND s.id > :afterId)) "
+          + "AND MOD(s.appUser.id, :shardCount) = :shardIndex "
+          + "ORDER BY s.nextBillingDate, s.id")
+  List<ReminderCandidate> findDueForReminder(
+      @Param("afterDate") LocalDate afterDate,
+      @Param("afterId") long afterId,
+      @Param("to") LocalDate to,
+      @Param("shardCount") int shardCount,
+      @Param("shardIndex") int shardIndex,
+      Limit limit);
+
+  // Anchor roller: every item of a (period, date) group rolls to the same date, so past-due
+  // anchors are fetched as groups and each group is advanced by one UPDATE
+  @Query(
+      "SELECT DISTINCT new com.example.budgettracker.dto.AnchorGroup(s.period, s.nextBillingDate) "
+          + "FROM Subscription s WHERE s.active = true AND s.nextBillingDate < :today "
+          + "AND s.period <> com.example.budgettracker.model.Period.ONE_TIME "
+          + "ORDER BY s.nextBillingDate, s.period")
+  List<AnchorGroup> findPastDueAnchors(@Param("today") LocalDate today, Limit limit);
+
+  // Owners of the past-due anchors between two dates; a chunk of groups spans such a range
+  @Query(
+      "SELECT DISTINCT s.appUser.id FROM Subscription s WHERE s.active = true "
+          + "AND s.nextBillingDate >= :from AND s.nextBillingDate <= :to AND s.nextBillingDate < :today "
+          + "AND s.period <> com.example.budgettracker.model.Period.ONE_TIME")
+  List<Long> findPastDueAnchorOwners(
+      @Param("today") LocalDate today, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  @Modifying
+  @Query(
+      "UPDATE Subscription s SET s.firstBillingDate = COALESCE(s.firstBillingDate, s.nextBillingDate), "
+          + "s.lastBillingDate = :previous, s.nextBillingDate = :next, s.updatedAt = :now "
+          + "WHERE s.active = true AND s.period = :period AND s.nextBillingDate = :anchor")
+  int rollAnchor(
+      @Param("period") Period period,
+      @Param("anchor") LocalDate anchor,
+      @Param("previous") LocalDate previous,
+      @Param("next") LocalDate next,
+      @Param("now") LocalDateTime now);
 }
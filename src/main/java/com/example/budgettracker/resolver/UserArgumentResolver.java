@@ -1,6 +1,7 @@
 package com.example.budgettracker.resolver;
 
 import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.security.KnownUserCache;
 import com.example.budgettracker.service.AppUserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.MethodParameter;
@@ -9,6 +10,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
@@ -20,7 +22,10 @@ import org.springframework.web.server.ResponseStatusException;
 @RequiredArgsConstructor
 public class UserArgumentResolver implements HandlerMethodArgumentResolver {
 
+  private static final String USER_ID_CLAIM = "userId";
+
   private final AppUserService appUserService;
+  private final KnownUserCache knownUserCache;
 
   @Override
   public boolean supportsParameter(@NonNull MethodParameter parameter) {
@@ -40,6 +45,18 @@ public class UserArgumentResolver implements HandlerMethodArgumentResolver {
       throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
     }
 
+    // Access tokens issued by JwtService carry the user's id, so the row doesn't need to be
+    // looked up by sub. The reference is loaded lazily (open-in-view) only if a controller reads
+    // more than the id; the user's existence is checked through the known-user cache, so a token
+    // of a deleted user gets 401 instead of failing later on the missing row.
+    if (authentication instanceof JwtAuthenticationToken jwtAuthentication
+        && jwtAuthentication.getToken().getClaims().get(USER_ID_CLAIM) instanceof Number userId) {
+      if (!knownUserCache.exists(userId.longValue(), appUserService::existsById)) {
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found");
+      }
+      return appUserService.getReferenceById(userId.longValue());
+    }
+
     String sub = authentication.getName();
     if (sub == null) {
       throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication name is null");
@@ -8,11 +8,11 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
 import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -39,11 +39,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
         Jwt jwt = jwtService.validateToken(token);
 
-        // Create authentication with Google sub as principal
+        // Create authentication named by the Google sub, keeping the claims (e.g. userId)
         String googleSub = jwt.getSubject();
         List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
 
-        Authentication auth = new UsernamePasswordAuthenticationToken(googleSub, null, authorities);
+        Authentication auth = new JwtAuthenticationToken(jwt, authorities, googleSub);
         SecurityContextHolder.getContext().setAuthentication(auth);
 
       } catch (Exception e) {
@@ -0,0 +1,45 @@
+package com.example.budgettracker.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.LongPredicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers user ids from access tokens that were found in the database, so resolving the user of a
+ * request does not query for it every time. Only hits are cached: an id that is not found is looked
+ * up again on its next request. A deleted user's tokens are refused once their entry expires.
+ */
+@Component
+public class KnownUserCache implements MeterBinder {
+
+  static final String CACHE_NAME = "known-user";
+
+  private final Cache<Long, Boolean> cache;
+
+  public KnownUserCache(
+      @Value("${app.jwt.known-user-cache.maximum-size:10000}") long maximumSize,
+      @Value("${app.jwt.known-user-cache.expire-after-write:1m}") Duration expireAfterWrite) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+  }
+
+  /** Whether the user exists, asking {@code lookup} unless the id was found recently. */
+  public boolean exists(long userId, LongPredicate lookup) {
+    return cache.get(userId, id -> lookup.test(id) ? Boolean.TRUE : null) != null;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.budgettracker.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers access tokens whose signature has already been verified, so parallel requests carrying
+ * the same bearer token skip the RSA verification. Entries are keyed by the SHA-256 digest of the
+ * token (the raw token is never retained) and expire when the token does.
+ */
+@Component
+public class VerifiedJwtCache implements MeterBinder {
+
+  static final String CACHE_NAME = "verified-jwt";
+
+  // Used for tokens without an exp claim; our own access tokens always have one
+  private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+  private final Cache<ByteBuffer, Jwt> cache;
+
+  public VerifiedJwtCache(@Value("${app.jwt.verified-cache.maximum-size:10000}") long maximumSize) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Returns the cached verified token, or verifies it with {@code verifier} and caches the result.
+   * Tokens that fail verification are not cached; the verifier's exception propagates.
+   */
+  public Jwt get(String token, Function<String, Jwt> verifier) {
+    return cache.get(digest(token), key -> verifier.apply(token));
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+
+  private static ByteBuffer digest(String token) {
+    try {
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private static final class UntilTokenExpiry implements Expiry<ByteBuffer, Jwt> {
+
+    @Override
+    public long expireAfterCreate(ByteBuffer key, Jwt jwt, long currentTime) {
+      Instant expiresAt = jwt.getExpiresAt();
+      if (expiresAt == null) {
+        return DEFAULT_TTL.toNanos();
+      }
+      return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(ByteBuffer key, Jwt jwt, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -43,8 +43,20 @@ public class AppUserService {
     if (oidcUser == null) {
       return Optional.empty();
     }
-    // Use optimized query to fetch user with subscriptions
-    return appUserRepository.findByGoogleSubWithSubscriptions(oidcUser.getSubject());
+    // Callers only need the user; fetching subscriptions here would load every row for nothing
+    return appUserRepository.findByGoogleSub(oidcUser.getSubject());
+  }
+
+  /**
+   * Returns a lazy reference to the user with the given id without querying the database. The row
+   * is only loaded if a non-id property is accessed within the current persistence context.
+   */
+  public AppUser getReferenceById(Long id) {
+    return appUserRepository.getReferenceById(id);
+  }
+
+  public boolean existsById(long id) {
+    return appUserRepository.existsById(id);
   }
 
   public Optional<AppUser> findByGoogleSub(String googleSub) {
@@ -0,0 +1,403 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BillRequest;
+import com.example.budgettracker.dto.ImportJobResponse;
+import com.example.budgettracker.dto.IncomeRequest;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.util.CsvReader;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Imports bank statement CSV exports as income (credits) and bills (debits).
+ *
+ * <p>The file is read one record at a time and persisted in chunks, each chunk going through the
+ * batch write path in its own transaction. Memory therefore depends on the chunk size, not the file
+ * size, and a chunk the database rejects only loses its own rows. Uploads are processed on a small
+ * dedicated pool; clients poll {@link #getImport} for progress.
+ */
+@Slf4j
+@Service
+public class BankStatementImportService {
+
+  static final int CHUNK_SIZE = 500;
+
+  private static final Map<String, Column> HEADER_ALIASES =
+      Map.ofEntries(
+          Map.entry("date", Column.DATE),
+          Map.entry("booking date", Column.DATE),
+          Map.entry("transaction date", Column.DATE),
+          Map.entry("value date", Column.DATE),
+          Map.entry("description", Column.NAME),
+          Map.entry("name", Column.NAME),
+          Map.entry("payee", Column.NAME),
+          Map.entry("merchant", Column.NAME),
+          Map.entry("memo", Column.NAME),
+          Map.entry("details", Column.NAME),
+          Map.entry("amount", Column.AMOUNT),
+          Map.entry("value", Column.AMOUNT),
+          Map.entry("category", Column.CATEGORY));
+
+  private static final DateTimeFormatter DOTTED_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+  private static final int MAX_NAME_LENGTH = 100;
+
+  private final IncomeService incomeService;
+  private final BillService billService;
+  private final CategoryService categoryService;
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+  private final ThreadPoolExecutor executor;
+  private final Cache<UUID, ImportJob> jobs;
+
+  public BankStatementImportService(
+      IncomeService incomeService,
+      BillService billService,
+      CategoryService categoryService,
+      Validator validator,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.import.threads:2}") int threads,
+      @Value("${app.import.queue-capacity:20}") int queueCapacity,
+      @Value("${app.import.job-retention:1h}") Duration jobRetention) {
+    this.incomeService = incomeService;
+    this.billService = billService;
+    this.categoryService = categoryService;
+    this.validator = validator;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "statement-import-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.jobs = Caffeine.newBuilder().expireAfterWrite(jobRetention).build();
+  }
+
+  /**
+   * Stores the upload in a temporary file and queues it for import. The request returns right away;
+   * the file is deleted once the import finishes.
+   */
+  public ImportJobResponse startImport(AppUser user, MultipartFile file) {
+    if (file.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The uploaded file is empty");
+    }
+    Path upload;
+    try {
+      upload = Files.createTempFile("statement-import-", ".csv");
+      file.transferTo(upload);
+    } catch (IOException e) {
+      throw new ResponseStatusException(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Could not store the uploaded file", e);
+    }
+
+    ImportJob job = new ImportJob(user.getId());
+    jobs.put(job.getId(), job);
+    try {
+      executor.execute(() -> runImport(job, user, upload));
+    } catch (RejectedExecutionException e) {
+      jobs.invalidate(job.getId());
+      deleteQuietly(upload);
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Too many imports are running, please retry shortly");
+    }
+    return job.snapshot();
+  }
+
+  /** Current progress of an import started by the user. */
+  public ImportJobResponse getImport(UUID id, AppUser user) {
+    ImportJob job = jobs.getIfPresent(id);
+    if (job == null || !job.getUserId().equals(user.getId())) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import not found: " + id);
+    }
+    return job.snapshot();
+  }
+
+  /**
+   * Imports a statement on the calling thread. When no transaction is active each chunk commits on
+   * its own; inside an existing transaction the chunks join it.
+   */
+  public ImportJobResponse importStatement(AppUser user, Reader reader) {
+    ImportJob job = new ImportJob(user.getId());
+    process(job, user, reader);
+    return job.snapshot();
+  }
+
+  private void runImport(ImportJob job, AppUser user, Path upload) {
+    try (Reader reader = Files.newBufferedReader(upload, StandardCharsets.UTF_8)) {
+      process(job, user, reader);
+    } catch (IOException e) {
+      job.fail("Could not read the uploaded file");
+    } finally {
+      deleteQuietly(upload);
+    }
+  }
+
+  private void process(ImportJob job, AppUser user, Reader source) {
+    try (CsvReader csv = new CsvReader(source)) {
+      Map<Column, Integer> columns = mapHeader(csv.readRecord());
+      Map<String, Long> categoryIds = loadCategoryIds(user);
+      Chunk chunk = new Chunk();
+      int row = 0;
+      List<String> record;
+      while ((record = csv.readRecord()) != null) {
+        row++;
+        job.rowsRead(1);
+        String error = chunk.add(row, record, columns, categoryIds, user);
+        if (error != null) {
+          job.rowFailed(row, error);
+        }
+        if (chunk.size() >= CHUNK_SIZE) {
+          persist(job, user, chunk);
+          chunk = new Chunk();
+        }
+      }
+      persist(job, user, chunk);
+      job.complete();
+    } catch (IllegalArgumentException e) {
+      job.fail(e.getMessage());
+    } catch (IOException e) {
+      log.warn("Bank statement import {} stopped: {}", job.getId(), e.getMessage());
+      job.fail("The file is not valid CSV: " + e.getMessage());
+    } catch (RuntimeException e) {
+      log.error("Bank statement import {} failed", job.getId(), e);
+      job.fail("The import stopped unexpectedly");
+    }
+  }
+
+  private void persist(ImportJob job, AppUser user, Chunk chunk) {
+    if (chunk.size() == 0) {
+      return;
+    }
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            if (!chunk.incomes.getCreate().isEmpty()) {
+              incomeService.applyIncomeBatch(chunk.incomes, user);
+            }
+            if (!chunk.bills.getCreate().isEmpty()) {
+              billService.applyBillBatch(chunk.bills, user);
+            }
+          });
+      job.imported(chunk.incomes.getCreate().size(), chunk.bills.getCreate().size());
+    } catch (RuntimeException e) {
+      log.warn("Bank statement import {} lost a chunk: {}", job.getId(), e.getMessage());
+      for (int row : chunk.rows) {
+        job.rowFailed(row, "Could not be saved");
+      }
+    }
+  }
+
+  private Map<Column, Integer> mapHeader(List<String> header) {
+    if (header == null) {
+      throw new IllegalArgumentException("The file is empty");
+    }
+    Map<Column, Integer> columns = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      Column column = HEADER_ALIASES.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+      if (column != null) {
+        columns.putIfAbsent(column, i);
+      }
+    }
+    for (Column required : List.of(Column.DATE, Column.NAME, Column.AMOUNT)) {
+      if (!columns.containsKey(required)) {
+        throw new IllegalArgumentException(
+            "Missing a " + required.name().toLowerCase(Locale.ROOT) + " column");
+      }
+    }
+    return columns;
+  }
+
+  // The per-row alternative is a findByNameIgnoreCaseAndAppUser query for every transaction
+  private Map<String, Long> loadCategoryIds(AppUser user) {
+    Map<String, Long> ids = new HashMap<>();
+    for (Category category : categoryService.getCategoriesForUser(user)) {
+      ids.putIfAbsent(category.getName().toLowerCase(Locale.ROOT), category.getId());
+    }
+    return ids;
+  }
+
+  private <T> String firstViolation(T request) {
+    Set<ConstraintViolation<T>> violations = validator.validate(request);
+    return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+  }
+
+  static BigDecimal parseAmount(String value) {
+    String text = value.replaceAll("[\\s\\u00A0'€$£]", "");
+    int comma = text.lastIndexOf(',');
+    int dot = text.lastIndexOf('.');
+    // Whichever separator comes last is the decimal one; the other groups thousands
+    if (comma > dot) {
+      text = text.replace(".", "").replace(',', '.');
+    } else {
+      text = text.replace(",", "");
+    }
+    return new BigDecimal(text);
+  }
+
+  static LocalDate parseDate(String value) {
+    String text = value.trim();
+    try {
+      return LocalDate.parse(text);
+    } catch (DateTimeParseException e) {
+      return LocalDate.parse(text, DOTTED_DATE);
+    }
+  }
+
+  private static String field(List<String> record, Map<Column, Integer> columns, Column column) {
+    Integer index = columns.get(column);
+    if (index == null || index >= record.size()) {
+      return null;
+    }
+    String value = record.get(index).trim();
+    return value.isEmpty() ? null : value;
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Could not delete import upload {}", path);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private enum Column {
+    DATE,
+    NAME,
+    AMOUNT,
+    CATEGORY
+  }
+
+  /** Requests for the next batch write, plus the source row of each for failure reporting. */
+  private final class Chunk {
+
+    private final BatchRequest<IncomeRequest> incomes = new BatchRequest<>();
+    private final BatchRequest<BillRequest> bills = new BatchRequest<>();
+    private final List<Integer> rows = new ArrayList<>();
+
+    int size() {
+      return rows.size();
+    }
+
+    /** Adds the record and returns null, or returns why it cannot be imported. */
+    String add(
+        int row,
+        List<String> record,
+        Map<Column, Integer> columns,
+        Map<String, Long> categoryIds,
+        AppUser user) {
+      String name = field(record, columns, Column.NAME);
+      String amountText = field(record, columns, Column.AMOUNT);
+      String dateText = field(record, columns, Column.DATE);
+      if (name == null || amountText == null || dateText == null) {
+        return "Date, description and amount are required";
+      }
+      BigDecimal amount;
+      LocalDate date;
+      try {
+        amount = parseAmount(amountText);
+      } catch (NumberFormatException e) {
+        return "Invalid amount: " + amountText;
+      }
+      try {
+        date = parseDate(dateText);
+      } catch (DateTimeParseException e) {
+        return "Invalid date: " + dateText;
+      }
+      if (amount.signum() == 0) {
+        return "Amount is zero";
+      }
+      if (name.length() > MAX_NAME_LENGTH) {
+        name = name.substring(0, MAX_NAME_LENGTH);
+      }
+      Long categoryId = categoryId(field(record, columns, Column.CATEGORY), categoryIds, user);
+
+      String error;
+      if (amount.signum() > 0) {
+        IncomeRequest request = new IncomeRequest();
+        request.setName(name);
+        request.setAmount(amount);
+        request.setIncomeDate(date);
+        request.setPeriod(Period.ONE_TIME);
+        request.setCategoryId(categoryId);
+        error = firstViolation(request);
+        if (error == null) {
+          incomes.getCreate().add(request);
+        }
+      } else {
+        BillRequest request = new BillRequest();
+        request.setName(name);
+        request.setAmount(amount.negate());
+        request.setDueDate(date);
+        request.setPeriod(Period.ONE_TIME);
+        request.setCategoryId(categoryId);
+        error = firstViolation(request);
+        if (error == null) {
+          bills.getCreate().add(request);
+        }
+      }
+      if (error == null) {
+        rows.add(row);
+      }
+      return error;
+    }
+
+    private Long categoryId(String name, Map<String, Long> categoryIds, AppUser user) {
+      if (name == null) {
+        return null;
+      }
+      // Created outside the chunk transaction, so the cached id stays valid if a chunk rolls back
+      return categoryIds.computeIfAbsent(
+          name.toLowerCase(Locale.ROOT),
+          key -> categoryService.findOrCreateCategory(name, user).getId());
+    }
+  }
+}
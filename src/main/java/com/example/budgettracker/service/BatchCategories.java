@@ -0,0 +1,54 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Category;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Categories for one batch of writes. Explicit category ids are loaded in a single query and the
+ * default category is looked up (or created) at most once, instead of once per item.
+ */
+final class BatchCategories {
+
+  private final CategoryService categoryService;
+  private final AppUser user;
+  private final String defaultCategoryName;
+  private final Map<Long, Category> byId;
+  private Category defaultCategory;
+
+  private BatchCategories(
+      CategoryService categoryService,
+      AppUser user,
+      String defaultCategoryName,
+      Map<Long, Category> byId) {
+    this.categoryService = categoryService;
+    this.user = user;
+    this.defaultCategoryName = defaultCategoryName;
+    this.byId = byId;
+  }
+
+  static BatchCategories load(
+      CategoryService categoryService,
+      AppUser user,
+      String defaultCategoryName,
+      Collection<Long> requestedIds) {
+    Collection<Long> ids =
+        requestedIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    return new BatchCategories(
+        categoryService, user, defaultCategoryName, categoryService.findAllByIdsAndUser(ids, user));
+  }
+
+  /** The requested category, or the default one when the item does not name any. */
+  Category forId(Long categoryId) {
+    if (categoryId != null) {
+      return byId.get(categoryId);
+    }
+    if (defaultCategory == null) {
+      defaultCategory = categoryService.findOrCreateCategory(defaultCategoryName, user);
+    }
+    return defaultCategory;
+  }
+}
@@ -1,10 +1,16 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BatchResponse;
 import com.example.budgettracker.dto.BillRequest;
+import com.example.budgettracker.dto.BillSummary;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Bill;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 public interface BillService {
 
@@ -14,9 +20,24 @@ public interface BillService {
 
   void deleteBillForUser(Long billId, AppUser user);
 
+  /**
+   * Applies the batch's updates, deletes and creates of bills in one transaction; any missing or
+   * foreign item rolls back the whole batch.
+   */
+  BatchResponse<Bill> applyBillBatch(BatchRequest<BillRequest> batch, AppUser user);
+
   /** Returns all bills that belong to the given user. */
   java.util.List<Bill> getBillsForUser(AppUser user);
 
   /** Returns paginated bills that belong to the given user. */
   Page<Bill> getBillsForUser(AppUser user, Pageable pageable);
+
+  /** Returns a page of the user's bills as read-only listing rows. */
+  Page<BillSummary> getBillSummariesForUser(AppUser user, Pageable pageable);
+
+  /** Returns the next keyset slice of the user's bills, without counting them. */
+  Window<Bill> scrollBillsForUser(AppUser user, ScrollPosition position, Sort sort, int limit);
+
+  /** Returns how many bills the user has, cached until their data changes. */
+  long countBillsForUser(AppUser user);
 }
@@ -1,15 +1,31 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BatchResponse;
 import com.example.budgettracker.dto.BillRequest;
+import com.example.budgettracker.dto.BillSummary;
 import com.example.budgettracker.exception.BillNotFoundException;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Bill;
 import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.OccurrenceSource;
 import com.example.budgettracker.repository.BillRepository;
 import com.example.budgettracker.util.SecurityUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,16 +38,16 @@ public class BillServiceImpl implements BillService {
   private final BillRepository billRepository;
   private final CategoryService categoryService;
   private final SecurityUtils securityUtils;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ListingCountCache listingCountCache;
+  private final MonthlyRollupService monthlyRollupService;
+  private final OccurrenceIndexService occurrenceIndexService;
 
   @Override
   @Transactional
   public Bill saveBillForUser(BillRequest request, AppUser user) {
     Bill bill = new Bill();
-    bill.setName(request.getName());
-    bill.setAmount(request.getAmount());
-    bill.setPeriod(request.getPeriod());
-    bill.setDueDate(request.getDueDate());
-    bill.setActive(request.isActive());
+    copyRequest(request, bill);
     bill.setAppUser(user);
 
     // If no category is specified, use the default bill category
@@ -43,7 +59,11 @@ public class BillServiceImpl implements BillService {
     }
     bill.setCategory(category);
 
-    return billRepository.save(bill);
+    Bill saved = billRepository.save(bill);
+    monthlyRollupService.apply(new RollupDelta(user.getId()).add(saved));
+    occurrenceIndexService.indexBills(List.of(saved));
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+    return saved;
   }
 
   @Override
@@ -54,11 +74,8 @@ public class BillServiceImpl implements BillService {
 
     securityUtils.validateResourceOwnership(bill.getAppUser(), user, "bill", billId);
 
-    bill.setName(request.getName());
-    bill.setAmount(request.getAmount());
-    bill.setPeriod(request.getPeriod());
-    bill.setDueDate(request.getDueDate());
-    bill.setActive(request.isActive());
+    RollupDelta rollup = new RollupDelta(user.getId()).remove(bill);
+    copyRequest(request, bill);
 
     if (request.getCategoryId() != null) {
       Category category = categoryService.findByIdAndUser(request.getCategoryId(), user);
@@ -69,7 +86,12 @@ public class BillServiceImpl implements BillService {
       bill.setCategory(defaultCategory);
     }
 
-    return billRepository.save(bill);
+    Bill saved = billRepository.save(bill);
+    monthlyRollupService.apply(rollup.add(saved));
+    occurrenceIndexService.remove(OccurrenceSource.BILL, List.of(saved.getId()));
+    occurrenceIndexService.indexBills(List.of(saved));
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+    return saved;
   }
 
   @Override
@@ -81,6 +103,89 @@ public class BillServiceImpl implements BillService {
     securityUtils.validateResourceOwnership(bill.getAppUser(), user, "bill", billId);
 
     billRepository.delete(bill);
+    monthlyRollupService.apply(new RollupDelta(user.getId()).remove(bill));
+    occurrenceIndexService.remove(OccurrenceSource.BILL, List.of(billId));
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+  }
+
+  @Override
+  @Transactional
+  public BatchResponse<Bill> applyBillBatch(BatchRequest<BillRequest> batch, AppUser user) {
+    BatchCategories categories =
+        BatchCategories.load(
+            categoryService,
+            user,
+            DEFAULT_BILL_CATEGORY,
+            Stream.concat(
+                    batch.getCreate().stream(),
+                    batch.getUpdate().stream().map(BatchRequest.Update::getItem))
+                .map(BillRequest::getCategoryId)
+                .toList());
+
+    // One query for every item the batch touches, then an ownership check per item
+    List<Long> ids =
+        Stream.concat(
+                batch.getUpdate().stream().map(BatchRequest.Update::getId),
+                batch.getDelete().stream())
+            .distinct()
+            .toList();
+    Map<Long, Bill> existing =
+        billRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Bill::getId, Function.identity()));
+    for (Long id : ids) {
+      Bill bill = existing.get(id);
+      if (bill == null) {
+        throw new BillNotFoundException(id);
+      }
+      securityUtils.validateResourceOwnership(bill.getAppUser(), user, "bill", id);
+    }
+
+    RollupDelta rollup = new RollupDelta(user.getId());
+    List<Bill> updated = new ArrayList<>();
+    for (BatchRequest.Update<BillRequest> update : batch.getUpdate()) {
+      Bill bill = existing.get(update.getId());
+      rollup.remove(bill);
+      copyRequest(update.getItem(), bill);
+      bill.setCategory(categories.forId(update.getItem().getCategoryId()));
+      rollup.add(bill);
+      updated.add(bill);
+    }
+
+    List<Bill> deleted = batch.getDelete().stream().map(existing::get).toList();
+    billRepository.deleteAll(deleted);
+    deleted.forEach(rollup::remove);
+
+    List<Bill> created = new ArrayList<>();
+    for (BillRequest request : batch.getCreate()) {
+      Bill bill = new Bill();
+      copyRequest(request, bill);
+      bill.setAppUser(user);
+      bill.setCategory(categories.forId(request.getCategoryId()));
+      created.add(bill);
+    }
+    billRepository.saveAll(created);
+    created.forEach(rollup::add);
+    monthlyRollupService.apply(rollup);
+    // Updated and deleted items lose their occurrences in one statement
+    occurrenceIndexService.remove(OccurrenceSource.BILL, ids);
+    occurrenceIndexService.indexBills(Stream.concat(updated.stream(), created.stream()).toList());
+
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+    return new BatchResponse<>(created, updated, batch.getDelete());
+  }
+
+  private void copyRequest(BillRequest request, Bill bill) {
+    bill.setName(request.getName());
+    bill.setAmount(request.getAmount());
+    bill.setPeriod(request.getPeriod());
+    // Sending back the stored (possibly rolled) date keeps the schedule; any other date restarts it
+    if (bill.getFirstDueDate() == null
+        || !Objects.equals(request.getDueDate(), bill.getDueDate())) {
+      bill.setFirstDueDate(request.getDueDate());
+      bill.setLastDueDate(null);
+    }
+    bill.setDueDate(request.getDueDate());
+    bill.setActive(request.isActive());
   }
 
   @Override
@@ -95,4 +200,24 @@ public class BillServiceImpl implements BillService {
   public Page<Bill> getBillsForUser(AppUser user, Pageable pageable) {
     return billRepository.findByAppUser(user, pageable);
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<BillSummary> getBillSummariesForUser(AppUser user, Pageable pageable) {
+    return billRepository.findSummariesByAppUser(user, pageable);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Window<Bill> scrollBillsForUser(
+      AppUser user, ScrollPosition position, Sort sort, int limit) {
+    return billRepository.findByAppUser(user, position, sort, Limit.of(limit));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long countBillsForUser(AppUser user) {
+    return listingCountCache.count(
+        user.getId(), "bills", () -> billRepository.countByAppUser(user));
+  }
 }
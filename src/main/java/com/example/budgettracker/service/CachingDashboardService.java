@@ -0,0 +1,130 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.CategoryBreakdownResponse;
+import com.example.budgettracker.dto.DashboardOverviewResponse;
+import com.example.budgettracker.dto.FinancialTimeSeriesResponse;
+import com.example.budgettracker.model.AppUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.function.Supplier;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves dashboard views from a bounded per-user cache in front of {@link DashboardServiceImpl}.
+ *
+ * <p>Entries are keyed by the calendar month they were computed in, so the first request of a new
+ * month always recomputes the month window. Keys also carry the user's {@link UserDataVersions}
+ * version, so a committed write to a user's data makes all of their entries stale at once. Hit,
+ * miss and eviction counts are published as the {@code dashboard} cache metrics.
+ */
+@Service
+@Primary
+public class CachingDashboardService implements DashboardService, MeterBinder {
+
+  static final String CACHE_NAME = "dashboard";
+
+  private final DashboardService delegate;
+  private final UserDataVersions userDataVersions;
+  private final Cache<DashboardKey, Object> cache;
+  private final int maxTimeSeriesMonths;
+  private final Clock clock;
+
+  @Autowired
+  public CachingDashboardService(
+      DashboardServiceImpl delegate,
+      UserDataVersions userDataVersions,
+      @Value("${app.dashboard.cache.maximum-size:10000}") long maximumSize,
+      @Value("${app.dashboard.cache.expire-after-write:10m}") Duration expireAfterWrite,
+      @Value("${app.dashboard.time-series.max-months:60}") int maxTimeSeriesMonths) {
+    this(
+        delegate,
+        userDataVersions,
+        maximumSize,
+        expireAfterWrite,
+        maxTimeSeriesMonths,
+        Clock.systemDefaultZone());
+  }
+
+  CachingDashboardService(
+      DashboardService delegate,
+      UserDataVersions userDataVersions,
+      long maximumSize,
+      Duration expireAfterWrite,
+      int maxTimeSeriesMonths,
+      Clock clock) {
+    this.delegate = delegate;
+    this.userDataVersions = userDataVersions;
+    this.maxTimeSeriesMonths = maxTimeSeriesMonths;
+    this.clock = clock;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+  }
+
+  @Override
+  @Timed(value = "dashboard.requests", description = "Dashboard views served, including cache hits")
+  public DashboardOverviewResponse getFinancialOverview(AppUser user) {
+    return cached(user, "overview", () -> delegate.getFinancialOverview(user));
+  }
+
+  @Override
+  @Timed(value = "dashboard.requests", description = "Dashboard views served, including cache hits")
+  public FinancialTimeSeriesResponse getFinancialTimeSeries(AppUser user, int months) {
+    // Keyed on the window actually computed, so requests beyond the limit share one entry
+    int window = Math.max(0, Math.min(months, maxTimeSeriesMonths));
+    return cached(
+        user, "time-series:" + window, () -> delegate.getFinancialTimeSeries(user, window));
+  }
+
+  @Override
+  @Timed(value = "dashboard.requests", description = "Dashboard views served, including cache hits")
+  public CategoryBreakdownResponse getCategoryBreakdown(AppUser user) {
+    return cached(user, "category-breakdown", () -> delegate.getCategoryBreakdown(user));
+  }
+
+  /** Makes every cached view of the given user stale. */
+  public void evictUser(Long userId) {
+    userDataVersions.advance(userId);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T cached(AppUser user, String view, Supplier<T> loader) {
+    if (user.getId() == null) {
+      return loader.get();
+    }
+    DashboardKey key =
+        new DashboardKey(
+            user.getId(), userDataVersions.current(user.getId()), YearMonth.now(clock), view);
+    return (T) cache.get(key, k -> loader.get());
+  }
+
+  // Entries from a previous month or data version are never looked up again and simply age out
+  @EqualsAndHashCode
+  @AllArgsConstructor
+  private static final class DashboardKey {
+    private final Long userId;
+    private final long version;
+    private final YearMonth month;
+    private final String view;
+  }
+}
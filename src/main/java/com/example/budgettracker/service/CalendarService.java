@@ -0,0 +1,8 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.CalendarResponse;
+import com.example.budgettracker.model.AppUser;
+
+public interface CalendarService {
+  CalendarResponse getUpcoming(AppUser user, int days);
+}
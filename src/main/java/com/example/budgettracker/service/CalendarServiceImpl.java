@@ -0,0 +1,46 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.CalendarEntry;
+import com.example.budgettracker.dto.CalendarResponse;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.OccurrenceSource;
+import com.example.budgettracker.repository.PaymentOccurrenceRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class CalendarServiceImpl implements CalendarService {
+
+  private final PaymentOccurrenceRepository paymentOccurrenceRepository;
+  private final OccurrenceIndexService occurrenceIndexService;
+
+  @Override
+  @Transactional(readOnly = true)
+  public CalendarResponse getUpcoming(AppUser user, int days) {
+    LocalDate from = LocalDate.now();
+    // The index only reaches the horizon, so longer ranges are cut off like the time series is
+    int window = Math.min(days, occurrenceIndexService.getHorizonDays());
+    if (window <= 0) {
+      return new CalendarResponse(from, from, BigDecimal.ZERO, BigDecimal.ZERO, List.of());
+    }
+    LocalDate to = from.plusDays(window - 1L);
+
+    List<CalendarEntry> entries =
+        paymentOccurrenceRepository.findEntriesByUserIdBetween(user.getId(), from, to);
+    BigDecimal totalDue = BigDecimal.ZERO;
+    BigDecimal totalIncome = BigDecimal.ZERO;
+    for (CalendarEntry entry : entries) {
+      if (entry.source() == OccurrenceSource.INCOME) {
+        totalIncome = totalIncome.add(entry.amount());
+      } else {
+        totalDue = totalDue.add(entry.amount());
+      }
+    }
+    return new CalendarResponse(from, to, totalDue, totalIncome, entries);
+  }
+}
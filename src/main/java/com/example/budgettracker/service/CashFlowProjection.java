@@ -0,0 +1,58 @@
+package com.example.budgettracker.service;
+
+import java.time.LocalDate;
+
+/**
+ * Projected inflow and outflow per day, in cents, for the consecutive days from {@link #getFrom()}
+ * through {@link #getTo()}. Partial projections over disjoint sets of items are combined with
+ * {@link #add}.
+ */
+public final class CashFlowProjection {
+
+  private final LocalDate from;
+  private final long[] inflowCents;
+  private final long[] outflowCents;
+
+  CashFlowProjection(LocalDate from, int days) {
+    this.from = from;
+    this.inflowCents = new long[days];
+    this.outflowCents = new long[days];
+  }
+
+  public LocalDate getFrom() {
+    return from;
+  }
+
+  public LocalDate getTo() {
+    return from.plusDays(inflowCents.length - 1L);
+  }
+
+  public int getDays() {
+    return inflowCents.length;
+  }
+
+  public long getInflowCents(int day) {
+    return inflowCents[day];
+  }
+
+  public long getOutflowCents(int day) {
+    return outflowCents[day];
+  }
+
+  void addInflow(int day, long cents) {
+    inflowCents[day] += cents;
+  }
+
+  void addOutflow(int day, long cents) {
+    outflowCents[day] += cents;
+  }
+
+  /** Adds the other projection's amounts into this one; both must cover the same days. */
+  CashFlowProjection add(CashFlowProjection other) {
+    for (int day = 0; day < inflowCents.length; day++) {
+      inflowCents[day] += other.inflowCents[day];
+      outflowCents[day] += other.outflowCents[day];
+    }
+    return this;
+  }
+}
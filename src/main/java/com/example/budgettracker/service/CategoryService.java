@@ -4,7 +4,9 @@ import com.example.budgettracker.dto.CategoryResponse;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Category;
 import com.example.budgettracker.model.CategoryType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface CategoryService {
 
@@ -27,4 +29,7 @@ public interface CategoryService {
 
   /** Find a category by ID for a specific user */
   Category findByIdAndUser(Long categoryId, AppUser user);
+
+  /** Find several categories of a user in one query, failing if any of them is missing */
+  Map<Long, Category> findAllByIdsAndUser(Collection<Long> categoryIds, AppUser user);
 }
@@ -6,11 +6,15 @@ import com.example.budgettracker.model.Category;
 import com.example.budgettracker.model.CategoryType;
 import com.example.budgettracker.repository.CategoryRepository;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class CategoryServiceImpl implements CategoryService {
 
   private final CategoryRepository categoryRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   @Transactional
@@ -52,6 +57,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     if (!categoriesToCreate.isEmpty()) {
       categoryRepository.saveAll(categoriesToCreate);
+      eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
       log.info(
           "Created {} default {} categories for user {}",
           categoriesToCreate.size(),
@@ -65,7 +71,12 @@ public class CategoryServiceImpl implements CategoryService {
   public Category findOrCreateCategory(String name, AppUser user) {
     return categoryRepository
         .findByNameIgnoreCaseAndAppUser(name, user)
-        .orElseGet(() -> categoryRepository.save(new Category(name, user)));
+        .orElseGet(
+            () -> {
+              Category created = categoryRepository.save(new Category(name, user));
+              eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+              return created;
+            });
   }
 
   @Override
@@ -103,6 +114,23 @@ public class CategoryServiceImpl implements CategoryService {
             () -> new com.example.budgettracker.exception.CategoryNotFoundException(categoryId));
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public Map<Long, Category> findAllByIdsAndUser(Collection<Long> categoryIds, AppUser user) {
+    if (categoryIds.isEmpty()) {
+      return Map.of();
+    }
+    Map<Long, Category> categories =
+        categoryRepository.findAllByIdInAndUserId(categoryIds, user.getId()).stream()
+            .collect(Collectors.toMap(Category::getId, Function.identity()));
+    for (Long categoryId : categoryIds) {
+      if (!categories.containsKey(categoryId)) {
+        throw new com.example.budgettracker.exception.CategoryNotFoundException(categoryId);
+      }
+    }
+    return categories;
+  }
+
   private static final List<String> DEFAULT_SUBSCRIPTION_CATEGORIES =
       List.of(
           "Entertainment",
@@ -5,53 +5,73 @@ import com.example.budgettracker.dto.CategoryBreakdownResponse.CategoryExpense;
 import com.example.budgettracker.dto.DashboardOverviewResponse;
 import com.example.budgettracker.dto.FinancialTimeSeriesResponse;
 import com.example.budgettracker.dto.FinancialTimeSeriesResponse.DataPoint;
+import com.example.budgettracker.dto.MonthlyRollupRow;
 import com.example.budgettracker.model.AppUser;
-import com.example.budgettracker.model.Bill;
-import com.example.budgettracker.model.Income;
-import com.example.budgettracker.model.Subscription;
-import com.example.budgettracker.repository.BillRepository;
-import com.example.budgettracker.repository.IncomeRepository;
-import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.model.MonthlyRollup;
+import com.example.budgettracker.model.RollupKind;
+import io.micrometer.core.annotation.Timed;
 import java.time.LocalDate;
-import java.time.temporal.TemporalAdjusters;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Computes the dashboard views from the user's {@code monthly_rollup} rows, which hold
+ * monthly-normalized totals per month, kind and category. The number of rows read depends on how
+ * many months and categories a user spans, not on how many items they have.
+ */
 @Service
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
-  private final SubscriptionRepository subscriptionRepository;
-  private final BillRepository billRepository;
-  private final IncomeRepository incomeRepository;
+  private final MonthlyRollupService monthlyRollupService;
+
+  @Value("${app.dashboard.time-series.max-months:60}")
+  private int maxTimeSeriesMonths;
 
   @Override
+  @Transactional(readOnly = true)
+  @Timed(value = "dashboard.compute", description = "Dashboard views computed from the database")
   public DashboardOverviewResponse getFinancialOverview(AppUser user) {
-    // Get current month data
-    LocalDate now = LocalDate.now();
-    LocalDate monthStart = now.with(TemporalAdjusters.firstDayOfMonth());
-    LocalDate monthEnd = now.with(TemporalAdjusters.lastDayOfMonth());
-
-    // Calculate total monthly income
-    double totalIncome = calculateMonthlyIncome(user, monthStart, monthEnd);
+    LocalDate currentMonth = YearMonth.now().atDay(1);
+
+    double totalIncome = 0;
+    double subscriptionExpenses = 0;
+    double billExpenses = 0;
+    int activeSubscriptions = 0;
+    int activeBills = 0;
+    for (MonthlyRollupRow row : monthlyRollupService.getRowsForUser(user)) {
+      // Recurring amounts count whenever they start; one-time amounts only in the current month
+      double amount =
+          row.kind().isRecurring() || row.month().equals(currentMonth)
+              ? row.amount().doubleValue()
+              : 0;
+      switch (row.kind()) {
+        case INCOME_RECURRING, INCOME_ONE_TIME -> totalIncome += amount;
+        case SUBSCRIPTION -> {
+          subscriptionExpenses += amount;
+          activeSubscriptions += row.itemCount();
+        }
+        case BILL_RECURRING, BILL_ONE_TIME -> {
+          billExpenses += amount;
+          activeBills += row.itemCount();
+        }
+      }
+    }
 
-    // Calculate monthly expenses from subscriptions and bills
-    double subscriptionExpenses = calculateMonthlySubscriptionExpenses(user);
-    double billExpenses = calculateMonthlyBillExpenses(user, monthStart, monthEnd);
     double totalExpenses = subscriptionExpenses + billExpenses;
 
     // Calculate derived metrics
     double availableMoney = totalIncome - totalExpenses;
     double savingsRate = totalIncome > 0 ? (availableMoney / totalIncome) * 100 : 0;
 
-    // Get counts
-    int activeSubscriptions = getActiveSubscriptionCount(user);
-    int activeBills = getActiveBillCount(user);
-
     return new DashboardOverviewResponse(
         totalIncome,
         totalExpenses,
@@ -63,217 +83,89 @@ public class DashboardServiceImpl implements DashboardService {
         activeBills);
   }
 
-  private double calculateMonthlyIncome(AppUser user, LocalDate monthStart, LocalDate monthEnd) {
-    // Get one-time incomes for this month
-    List<Income> oneTimeIncomes =
-        incomeRepository.findByAppUserAndIncomeDateBetweenOrderByIncomeDateDesc(
-            user, monthStart, monthEnd);
-
-    double oneTimeTotal =
-        oneTimeIncomes.stream()
-            .filter(income -> income.getPeriod() == com.example.budgettracker.model.Period.ONE_TIME)
-            .mapToDouble(income -> income.getAmount().doubleValue())
-            .sum();
-
-    // Get all recurring incomes (not one-time)
-    List<Income> allIncomes = incomeRepository.findByAppUser(user);
-    double recurringTotal =
-        allIncomes.stream()
-            .filter(income -> income.getPeriod() != com.example.budgettracker.model.Period.ONE_TIME)
-            .mapToDouble(this::convertIncomeToMonthlyAmount)
-            .sum();
-
-    return oneTimeTotal + recurringTotal;
-  }
-
-  private double convertIncomeToMonthlyAmount(Income income) {
-    return convertPeriodToMonthly(income.getAmount().doubleValue(), income.getPeriod());
-  }
-
-  private double calculateMonthlySubscriptionExpenses(AppUser user) {
-    List<Subscription> activeSubscriptions =
-        subscriptionRepository.findByAppUserAndActive(user, true);
-
-    return activeSubscriptions.stream().mapToDouble(this::convertToMonthlyAmount).sum();
-  }
-
-  private double calculateMonthlyBillExpenses(
-      AppUser user, LocalDate monthStart, LocalDate monthEnd) {
-    List<Bill> activeBills = billRepository.findByAppUserAndActive(user, true);
-
-    // Get one-time bills for this month
-    double oneTimeBills =
-        activeBills.stream()
-            .filter(
-                bill ->
-                    bill.getPeriod() == com.example.budgettracker.model.Period.ONE_TIME
-                        && bill.getDueDate() != null
-                        && !bill.getDueDate().isBefore(monthStart)
-                        && !bill.getDueDate().isAfter(monthEnd))
-            .mapToDouble(bill -> bill.getAmount().doubleValue())
-            .sum();
-
-    // Get recurring bills (converted to monthly)
-    double recurringBills =
-        activeBills.stream()
-            .filter(bill -> bill.getPeriod() != com.example.budgettracker.model.Period.ONE_TIME)
-            .mapToDouble(this::convertToMonthlyAmount)
-            .sum();
-
-    return oneTimeBills + recurringBills;
-  }
-
-  private int getActiveSubscriptionCount(AppUser user) {
-    return subscriptionRepository.findByAppUserAndActive(user, true).size();
-  }
-
-  private int getActiveBillCount(AppUser user) {
-    return billRepository.findByAppUserAndActive(user, true).size();
-  }
-
-  /** Converts subscription/bill amount to monthly equivalent based on period */
-  private double convertToMonthlyAmount(Subscription subscription) {
-    return convertPeriodToMonthly(subscription.getPrice().doubleValue(), subscription.getPeriod());
-  }
-
-  private double convertToMonthlyAmount(Bill bill) {
-    return convertPeriodToMonthly(bill.getAmount().doubleValue(), bill.getPeriod());
-  }
-
-  private double convertPeriodToMonthly(
-      double amount, com.example.budgettracker.model.Period period) {
-    switch (period) {
-      case DAILY:
-        return amount * (365.0 / 12.0); // More precise than 30 days
-      case WEEKLY:
-        return amount * (52.0 / 12.0); // More precise than 4.33
-      case MONTHLY:
-        return amount;
-      case QUARTERLY:
-        return amount / 3.0;
-      case YEARLY:
-        return amount / 12.0;
-      case ONE_TIME:
-      default:
-        return 0; // One-time payments don't contribute to monthly recurring
-    }
-  }
-
   @Override
+  @Transactional(readOnly = true)
+  @Timed(value = "dashboard.compute", description = "Dashboard views computed from the database")
   public FinancialTimeSeriesResponse getFinancialTimeSeries(AppUser user, int months) {
-    LocalDate endDate = LocalDate.now().with(TemporalAdjusters.lastDayOfMonth());
-    LocalDate startDate = endDate.minusMonths(months - 1).with(TemporalAdjusters.firstDayOfMonth());
-
-    List<DataPoint> dataPoints = new ArrayList<>();
-
-    // Get all income (one-time within period, and all recurring)
-    List<Income> oneTimeIncomes =
-        incomeRepository.findByAppUserAndIncomeDateBetweenOrderByIncomeDateDesc(
-            user, startDate, endDate);
-    List<Income> allIncomes = incomeRepository.findByAppUser(user);
-
-    // Get active subscriptions and bills
-    List<Subscription> activeSubscriptions =
-        subscriptionRepository.findByAppUserAndActive(user, true);
-    List<Bill> activeBills = billRepository.findByAppUserAndActive(user, true);
-
-    // Generate data points for each month
-    LocalDate currentMonth = startDate;
-    while (!currentMonth.isAfter(endDate)) {
-      LocalDate monthStart = currentMonth.with(TemporalAdjusters.firstDayOfMonth());
-      LocalDate monthEnd = currentMonth.with(TemporalAdjusters.lastDayOfMonth());
-
-      // Calculate one-time income for this specific month
-      double oneTimeMonthIncome =
-          oneTimeIncomes.stream()
-              .filter(
-                  income ->
-                      income.getPeriod() == com.example.budgettracker.model.Period.ONE_TIME
-                          && !income.getIncomeDate().isBefore(monthStart)
-                          && !income.getIncomeDate().isAfter(monthEnd))
-              .mapToDouble(income -> income.getAmount().doubleValue())
-              .sum();
-
-      // Calculate recurring income only for items that started before or during this month
-      double recurringIncome =
-          allIncomes.stream()
-              .filter(
-                  income ->
-                      income.getPeriod() != com.example.budgettracker.model.Period.ONE_TIME
-                          && !income.getIncomeDate().isAfter(monthEnd))
-              .mapToDouble(this::convertIncomeToMonthlyAmount)
-              .sum();
-
-      // Calculate recurring expenses only for items that started before or during this month
-      double recurringExpenses = 0;
-
-      for (Subscription sub : activeSubscriptions) {
-        if (sub.getNextBillingDate() != null
-            && !sub.getNextBillingDate().isAfter(monthEnd.plusMonths(1))) {
-          recurringExpenses += convertToMonthlyAmount(sub);
-        }
-      }
+    int window = Math.min(months, maxTimeSeriesMonths);
+    if (window <= 0) {
+      return new FinancialTimeSeriesResponse(new ArrayList<>());
+    }
 
-      for (Bill bill : activeBills) {
-        // Only include recurring bills that started before or during this month
-        if (bill.getPeriod() != com.example.budgettracker.model.Period.ONE_TIME
-            && bill.getDueDate() != null
-            && !bill.getDueDate().isAfter(monthEnd.plusMonths(1))) {
-          recurringExpenses += convertToMonthlyAmount(bill);
+    YearMonth firstMonth = YearMonth.now().minusMonths(window - 1L);
+
+    // Recurring rows are filed under the month they start and carried forward by a prefix sum;
+    // one-time rows land directly in their own month
+    double[] incomeDelta = new double[window];
+    double[] expenseDelta = new double[window];
+    double[] oneTimeIncome = new double[window];
+    double[] oneTimeExpenses = new double[window];
+
+    for (MonthlyRollupRow row : monthlyRollupService.getRowsForUser(user)) {
+      int index = monthIndex(firstMonth, YearMonth.from(row.month()));
+      double amount = row.amount().doubleValue();
+      switch (row.kind()) {
+        case INCOME_RECURRING -> addFrom(incomeDelta, index, amount);
+        case INCOME_ONE_TIME -> addInWindow(oneTimeIncome, index, amount);
+        case SUBSCRIPTION, BILL_RECURRING -> {
+          // Legacy expenses without a date count in the overview but have no month to chart from
+          if (!row.month().equals(MonthlyRollup.UNDATED)) {
+            addFrom(expenseDelta, index, amount);
+          }
         }
+        case BILL_ONE_TIME -> addInWindow(oneTimeExpenses, index, amount);
       }
+    }
 
-      // Calculate one-time bills for this specific month
-      double oneTimeBills =
-          activeBills.stream()
-              .filter(
-                  bill ->
-                      bill.getPeriod() == com.example.budgettracker.model.Period.ONE_TIME
-                          && bill.getDueDate() != null
-                          && !bill.getDueDate().isBefore(monthStart)
-                          && !bill.getDueDate().isAfter(monthEnd))
-              .mapToDouble(bill -> bill.getAmount().doubleValue())
-              .sum();
+    List<DataPoint> dataPoints = new ArrayList<>(window);
+    double recurringIncome = 0;
+    double recurringExpenses = 0;
+    for (int i = 0; i < window; i++) {
+      recurringIncome += incomeDelta[i];
+      recurringExpenses += expenseDelta[i];
+      double monthIncome = recurringIncome + oneTimeIncome[i];
+      double monthExpenses = recurringExpenses + oneTimeExpenses[i];
+      dataPoints.add(
+          new DataPoint(
+              firstMonth.plusMonths(i).atDay(1),
+              monthIncome,
+              monthExpenses,
+              monthIncome - monthExpenses));
+    }
 
-      // Total income and expenses for this month
-      double monthIncome = recurringIncome + oneTimeMonthIncome;
-      double monthExpenses = recurringExpenses + oneTimeBills;
-      double net = monthIncome - monthExpenses;
+    return new FinancialTimeSeriesResponse(dataPoints);
+  }
 
-      dataPoints.add(new DataPoint(monthStart, monthIncome, monthExpenses, net));
+  private static int monthIndex(YearMonth firstMonth, YearMonth month) {
+    return (int) ChronoUnit.MONTHS.between(firstMonth, month);
+  }
 
-      currentMonth = currentMonth.plusMonths(1);
+  // Starts a recurring amount at the given month; anything starting before the window is active
+  // from its first month
+  private static void addFrom(double[] delta, int index, double amount) {
+    if (index < delta.length) {
+      delta[Math.max(index, 0)] += amount;
     }
+  }
 
-    return new FinancialTimeSeriesResponse(dataPoints);
+  private static void addInWindow(double[] values, int index, double amount) {
+    if (index >= 0 && index < values.length) {
+      values[index] += amount;
+    }
   }
 
   @Override
+  @Transactional(readOnly = true)
+  @Timed(value = "dashboard.compute", description = "Dashboard views computed from the database")
   public CategoryBreakdownResponse getCategoryBreakdown(AppUser user) {
-    List<Subscription> activeSubscriptions =
-        subscriptionRepository.findByAppUserAndActive(user, true);
-    List<Bill> activeBills = billRepository.findByAppUserAndActive(user, true);
-
-    // Group expenses by category
+    // Group recurring expenses by category; one-time bills are left out of the monthly view
     Map<String, CategoryData> categoryMap = new HashMap<>();
-
-    // Add subscriptions
-    for (Subscription sub : activeSubscriptions) {
-      String categoryName =
-          sub.getCategory() != null ? sub.getCategory().getName() : "Uncategorized";
-      double monthlyAmount = convertToMonthlyAmount(sub);
-
-      categoryMap.computeIfAbsent(categoryName, k -> new CategoryData()).add(monthlyAmount);
-    }
-
-    // Add bills (only recurring ones for monthly view)
-    for (Bill bill : activeBills) {
-      if (bill.getPeriod() != com.example.budgettracker.model.Period.ONE_TIME) {
-        String categoryName =
-            bill.getCategory() != null ? bill.getCategory().getName() : "Uncategorized";
-        double monthlyAmount = convertToMonthlyAmount(bill);
-
-        categoryMap.computeIfAbsent(categoryName, k -> new CategoryData()).add(monthlyAmount);
+    for (MonthlyRollupRow row : monthlyRollupService.getRowsForUser(user)) {
+      if (row.kind() == RollupKind.SUBSCRIPTION || row.kind() == RollupKind.BILL_RECURRING) {
+        String categoryName = row.categoryName() != null ? row.categoryName() : "Uncategorized";
+        categoryMap
+            .computeIfAbsent(categoryName, k -> new CategoryData())
+            .add(row.amount().doubleValue(), row.itemCount());
       }
     }
 
@@ -298,9 +190,9 @@ public class DashboardServiceImpl implements DashboardService {
     double amount = 0;
     int count = 0;
 
-    void add(double amount) {
+    void add(double amount, int count) {
       this.amount += amount;
-      this.count++;
+      this.count += count;
     }
   }
 }
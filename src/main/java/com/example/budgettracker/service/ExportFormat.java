@@ -0,0 +1,39 @@
+package com.example.budgettracker.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Output formats for the financial history export. */
+public enum ExportFormat {
+  CSV(MediaType.parseMediaType("text/csv"), "csv"),
+  NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson");
+
+  private final MediaType mediaType;
+  private final String extension;
+
+  ExportFormat(MediaType mediaType, String extension) {
+    this.mediaType = mediaType;
+    this.extension = extension;
+  }
+
+  /** Parses a request parameter such as {@code csv}, rejecting unknown formats with 400. */
+  public static ExportFormat fromParameter(String value) {
+    for (ExportFormat format : values()) {
+      if (format.extension.equalsIgnoreCase(value)) {
+        return format;
+      }
+    }
+    throw new ResponseStatusException(
+        HttpStatus.BAD_REQUEST,
+        "Unsupported export format '" + value + "', expected csv or ndjson");
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+  public String getExtension() {
+    return extension;
+  }
+}
@@ -0,0 +1,14 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.AppUser;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+  /**
+   * Writes the user's categories, subscriptions, bills and income to {@code out}. Rows are streamed
+   * from the database as they are written, so memory use does not grow with the history size.
+   */
+  void exportForUser(AppUser user, ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,179 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.ExportRow;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  // Hand what has been written to the client regularly, even before the buffer fills up
+  private static final int FLUSH_EVERY_ROWS = 1000;
+
+  private final CategoryRepository categoryRepository;
+  private final SubscriptionRepository subscriptionRepository;
+  private final BillRepository billRepository;
+  private final IncomeRepository incomeRepository;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  @Transactional(readOnly = true)
+  public void exportForUser(AppUser user, ExportFormat format, OutputStream out)
+      throws IOException {
+    Writer writer =
+        new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    RowWriter rows =
+        format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+    rows.begin();
+    // A user has a handful of categories; the history tables are the ones that grow
+    for (Category category : categoryRepository.findByAppUserOrderByNameAsc(user)) {
+      rows.write(ExportRow.of(category));
+    }
+    try (Stream<ExportRow> subscriptions =
+        subscriptionRepository.streamSummariesByAppUser(user).map(ExportRow::of)) {
+      writeAll(rows, subscriptions);
+    }
+    try (Stream<ExportRow> bills =
+        billRepository.streamSummariesByAppUser(user).map(ExportRow::of)) {
+      writeAll(rows, bills);
+    }
+    try (Stream<ExportRow> income =
+        incomeRepository.streamSummariesByAppUser(user).map(ExportRow::of)) {
+      writeAll(rows, income);
+    }
+    rows.flush();
+  }
+
+  private void writeAll(RowWriter rows, Stream<ExportRow> stream) throws IOException {
+    Iterator<ExportRow> iterator = stream.iterator();
+    int written = 0;
+    while (iterator.hasNext()) {
+      rows.write(iterator.next());
+      if (++written % FLUSH_EVERY_ROWS == 0) {
+        rows.flush();
+      }
+    }
+  }
+
+  private interface RowWriter {
+
+    void begin() throws IOException;
+
+    void write(ExportRow row) throws IOException;
+
+    void flush() throws IOException;
+  }
+
+  /** RFC 4180 CSV with a header line. */
+  private static final class CsvRowWriter implements RowWriter {
+
+    private final Writer writer;
+
+    CsvRowWriter(Writer writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public void begin() throws IOException {
+      writeLine(ExportRow.COLUMNS);
+    }
+
+    @Override
+    public void write(ExportRow row) throws IOException {
+      writeLine(row.values());
+    }
+
+    private void writeLine(Object[] values) throws IOException {
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        writer.write(format(values[i]));
+      }
+      writer.write("\r\n");
+    }
+
+    private static String format(Object value) {
+      if (value == null) {
+        return "";
+      }
+      if (value instanceof BigDecimal amount) {
+        return amount.toPlainString();
+      }
+      String text = value.toString();
+      // Keep spreadsheets from evaluating user-entered text as a formula; a leading tab or carriage
+      // return is stripped by some importers, exposing whatever follows it
+      if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+        text = "'" + text;
+      }
+      if (text.indexOf(',') >= 0
+          || text.indexOf('"') >= 0
+          || text.indexOf('\n') >= 0
+          || text.indexOf('\r') >= 0) {
+        return '"' + text.replace("\"", "\"\"") + '"';
+      }
+      return text;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      writer.flush();
+    }
+  }
+
+  /** One JSON object per line, written through a single streaming generator. */
+  private final class NdjsonRowWriter implements RowWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter rowWriter;
+
+    NdjsonRowWriter(Writer writer) throws IOException {
+      this.generator =
+          objectMapper
+              .getFactory()
+              .createGenerator(writer)
+              .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      // Lines are separated explicitly below, so no separator between root values
+      this.generator.setRootValueSeparator(null);
+      this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void begin() {}
+
+    @Override
+    public void write(ExportRow row) throws IOException {
+      rowWriter.writeValue(generator, row);
+      generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+      generator.flush();
+    }
+  }
+}
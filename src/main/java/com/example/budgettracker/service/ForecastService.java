@@ -0,0 +1,23 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.AppUser;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+public interface ForecastService {
+
+  /**
+   * Projects the daily inflow from income and outflow from active subscriptions and bills, from
+   * today over the given number of months (3 to 24).
+   */
+  CashFlowProjection project(AppUser user, int months);
+
+  /**
+   * Writes the projection as JSON with one entry per day, carrying a running balance that starts at
+   * {@code openingBalance}. Days are written straight from the projection, so no per-day objects
+   * are built for long horizons.
+   */
+  void write(CashFlowProjection projection, BigDecimal openingBalance, OutputStream out)
+      throws IOException;
+}
@@ -0,0 +1,243 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.BillSummary;
+import com.example.budgettracker.dto.IncomeSummary;
+import com.example.budgettracker.dto.SubscriptionSummary;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class ForecastServiceImpl implements ForecastService {
+
+  static final int MIN_MONTHS = 3;
+  static final int MAX_MONTHS = 24;
+
+  // Partitions per worker, so a worker that finishes early can steal the rest of a slow one's
+  private static final int PARTITIONS_PER_WORKER = 4;
+
+  private final SubscriptionRepository subscriptionRepository;
+  private final BillRepository billRepository;
+  private final IncomeRepository incomeRepository;
+  private final PeriodCalculationService periodCalculationService;
+  private final ObjectMapper objectMapper;
+  private final ForkJoinPool pool;
+  private final int parallelThreshold;
+
+  public ForecastServiceImpl(
+      SubscriptionRepository subscriptionRepository,
+      BillRepository billRepository,
+      IncomeRepository incomeRepository,
+      PeriodCalculationService periodCalculationService,
+      ObjectMapper objectMapper,
+      @Value("${app.forecast.parallelism:0}") int parallelism,
+      @Value("${app.forecast.parallel-threshold:512}") int parallelThreshold) {
+    this.subscriptionRepository = subscriptionRepository;
+    this.billRepository = billRepository;
+    this.incomeRepository = incomeRepository;
+    this.periodCalculationService = periodCalculationService;
+    this.objectMapper = objectMapper;
+    this.parallelThreshold = parallelThreshold;
+    // A pool of its own keeps forecasts from competing with other users of the common pool
+    this.pool =
+        new ForkJoinPool(
+            parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+            forkJoinPool -> {
+              ForkJoinWorkerThread thread =
+                  ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+              thread.setName("forecast-" + thread.getPoolIndex());
+              return thread;
+            },
+            null,
+            false);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CashFlowProjection project(AppUser user, int months) {
+    if (months < MIN_MONTHS || months > MAX_MONTHS) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "months must be between " + MIN_MONTHS + " and " + MAX_MONTHS + ", got " + months);
+    }
+    LocalDate from = LocalDate.now();
+    LocalDate to = from.plusMonths(months).minusDays(1);
+    List<Recurrence> items = load(user);
+
+    if (items.size() < parallelThreshold) {
+      // Few items: one leaf on the calling thread
+      return new ProjectionTask(items, 0, items.size(), from, to, items.size()).compute();
+    }
+    int partitions = pool.getParallelism() * PARTITIONS_PER_WORKER;
+    int leafSize = Math.max(1, (items.size() + partitions - 1) / partitions);
+    return pool.invoke(new ProjectionTask(items, 0, items.size(), from, to, leafSize));
+  }
+
+  private List<Recurrence> load(AppUser user) {
+    List<Recurrence> items = new ArrayList<>();
+    try (Stream<SubscriptionSummary> subscriptions =
+        subscriptionRepository.streamSummariesByAppUser(user)) {
+      subscriptions
+          .filter(SubscriptionSummary::active)
+          .forEach(s -> add(items, s.nextBillingDate(), s.period(), s.price(), false));
+    }
+    try (Stream<BillSummary> bills = billRepository.streamSummariesByAppUser(user)) {
+      bills
+          .filter(BillSummary::active)
+          .forEach(b -> add(items, b.dueDate(), b.period(), b.amount(), false));
+    }
+    try (Stream<IncomeSummary> incomes = incomeRepository.streamSummariesByAppUser(user)) {
+      incomes.forEach(i -> add(items, i.incomeDate(), i.period(), i.amount(), true));
+    }
+    return items;
+  }
+
+  private static void add(
+      List<Recurrence> items, LocalDate anchor, Period period, BigDecimal amount, boolean inflow) {
+    if (anchor == null || period == null || amount == null) {
+      return;
+    }
+    items.add(new Recurrence(anchor, period, toCents(amount), inflow));
+  }
+
+  private record Recurrence(LocalDate anchor, Period period, long cents, boolean inflow) {}
+
+  /**
+   * Projects a range of the items into arrays of its own. Ranges above the leaf size are split in
+   * half and the two halves' arrays summed, so workers never write to shared arrays.
+   */
+  private final class ProjectionTask extends RecursiveTask<CashFlowProjection> {
+
+    private final List<Recurrence> items;
+    private final int start;
+    private final int end;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int leafSize;
+
+    ProjectionTask(
+        List<Recurrence> items, int start, int end, LocalDate from, LocalDate to, int leafSize) {
+      this.items = items;
+      this.start = start;
+      this.end = end;
+      this.from = from;
+      this.to = to;
+      this.leafSize = leafSize;
+    }
+
+    @Override
+    protected CashFlowProjection compute() {
+      if (end - start > leafSize) {
+        int middle = (start + end) >>> 1;
+        ProjectionTask left = new ProjectionTask(items, start, middle, from, to, leafSize);
+        ProjectionTask right = new ProjectionTask(items, middle, end, from, to, leafSize);
+        left.fork();
+        CashFlowProjection projection = right.compute();
+        return projection.add(left.join());
+      }
+
+      CashFlowProjection projection =
+          new CashFlowProjection(from, (int) ChronoUnit.DAYS.between(from, to) + 1);
+      int fromDay = (int) from.toEpochDay();
+      for (int i = start; i < end; i++) {
+        Recurrence item = items.get(i);
+        long cents = item.cents();
+        if (item.inflow()) {
+          periodCalculationService.forEachOccurrence(
+              item.anchor(),
+              item.period(),
+              from,
+              to,
+              epochDay -> projection.addInflow(epochDay - fromDay, cents));
+        } else {
+          periodCalculationService.forEachOccurrence(
+              item.anchor(),
+              item.period(),
+              from,
+              to,
+              epochDay -> projection.addOutflow(epochDay - fromDay, cents));
+        }
+      }
+      return projection;
+    }
+  }
+
+  @Override
+  public void write(CashFlowProjection projection, BigDecimal openingBalance, OutputStream out)
+      throws IOException {
+    long totalInflow = 0;
+    long totalOutflow = 0;
+    for (int day = 0; day < projection.getDays(); day++) {
+      totalInflow += projection.getInflowCents(day);
+      totalOutflow += projection.getOutflowCents(day);
+    }
+    long opening = toCents(openingBalance);
+
+    try (JsonGenerator json =
+        objectMapper
+            .getFactory()
+            .createGenerator(out, JsonEncoding.UTF8)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+      json.writeStartObject();
+      json.writeStringField("from", projection.getFrom().toString());
+      json.writeStringField("to", projection.getTo().toString());
+      writeAmount(json, "openingBalance", opening);
+      writeAmount(json, "totalInflow", totalInflow);
+      writeAmount(json, "totalOutflow", totalOutflow);
+      writeAmount(json, "closingBalance", opening + totalInflow - totalOutflow);
+
+      json.writeArrayFieldStart("days");
+      long balance = opening;
+      long epochDay = projection.getFrom().toEpochDay();
+      for (int day = 0; day < projection.getDays(); day++) {
+        long inflow = projection.getInflowCents(day);
+        long outflow = projection.getOutflowCents(day);
+        balance += inflow - outflow;
+        json.writeStartObject();
+        json.writeStringField("date", LocalDate.ofEpochDay(epochDay + day).toString());
+        writeAmount(json, "inflow", inflow);
+        writeAmount(json, "outflow", outflow);
+        writeAmount(json, "balance", balance);
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+      json.writeEndObject();
+    }
+  }
+
+  private static void writeAmount(JsonGenerator json, String field, long cents) throws IOException {
+    json.writeNumberField(field, BigDecimal.valueOf(cents, 2));
+  }
+
+  private static long toCents(BigDecimal amount) {
+    return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    pool.shutdownNow();
+  }
+}
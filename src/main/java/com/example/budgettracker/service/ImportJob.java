@@ -0,0 +1,83 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.ImportJobResponse;
+import com.example.budgettracker.dto.ImportJobResponse.RowError;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mutable progress of one import. Written by the import thread and read by status requests, so
+ * every access is synchronized; {@link #snapshot()} hands out an immutable copy.
+ */
+final class ImportJob {
+
+  // Enough to fix a bad mapping; a file where every row fails should not grow without bound
+  static final int MAX_REPORTED_ERRORS = 100;
+
+  private final UUID id = UUID.randomUUID();
+  private final Long userId;
+  private final LocalDateTime startedAt = LocalDateTime.now();
+  private final List<RowError> errors = new ArrayList<>();
+  private ImportJobResponse.Status status = ImportJobResponse.Status.RUNNING;
+  private int rowsProcessed;
+  private int incomesImported;
+  private int billsImported;
+  private int rowsFailed;
+  private String message;
+  private LocalDateTime finishedAt;
+
+  ImportJob(Long userId) {
+    this.userId = userId;
+  }
+
+  UUID getId() {
+    return id;
+  }
+
+  Long getUserId() {
+    return userId;
+  }
+
+  synchronized void rowsRead(int count) {
+    rowsProcessed += count;
+  }
+
+  synchronized void imported(int incomes, int bills) {
+    incomesImported += incomes;
+    billsImported += bills;
+  }
+
+  synchronized void rowFailed(int row, String reason) {
+    rowsFailed++;
+    if (errors.size() < MAX_REPORTED_ERRORS) {
+      errors.add(new RowError(row, reason));
+    }
+  }
+
+  synchronized void complete() {
+    status = ImportJobResponse.Status.COMPLETED;
+    finishedAt = LocalDateTime.now();
+  }
+
+  synchronized void fail(String reason) {
+    status = ImportJobResponse.Status.FAILED;
+    message = reason;
+    finishedAt = LocalDateTime.now();
+  }
+
+  synchronized ImportJobResponse snapshot() {
+    return new ImportJobResponse(
+        id,
+        status,
+        rowsProcessed,
+        incomesImported,
+        billsImported,
+        rowsFailed,
+        List.copyOf(errors),
+        message,
+        startedAt,
+        finishedAt);
+  }
+}
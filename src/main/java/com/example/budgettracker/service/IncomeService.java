@@ -1,6 +1,9 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BatchResponse;
 import com.example.budgettracker.dto.IncomeRequest;
+import com.example.budgettracker.dto.IncomeSummary;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Income;
 import java.math.BigDecimal;
@@ -8,6 +11,9 @@ import java.time.LocalDate;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 public interface IncomeService {
 
@@ -17,12 +23,27 @@ public interface IncomeService {
 
   void deleteIncomeForUser(Long incomeId, AppUser user);
 
+  /**
+   * Applies the batch's updates, deletes and creates of income entries in one transaction; any
+   * missing or foreign item rolls back the whole batch.
+   */
+  BatchResponse<Income> applyIncomeBatch(BatchRequest<IncomeRequest> batch, AppUser user);
+
   /** Returns all income entries that belong to the given user. */
   List<Income> getIncomeForUser(AppUser user);
 
   /** Returns paginated income entries that belong to the given user. */
   Page<Income> getIncomeForUser(AppUser user, Pageable pageable);
 
+  /** Returns a page of the user's income entries as read-only listing rows. */
+  Page<IncomeSummary> getIncomeSummariesForUser(AppUser user, Pageable pageable);
+
+  /** Returns the next keyset slice of the user's income entries, without counting them. */
+  Window<Income> scrollIncomeForUser(AppUser user, ScrollPosition position, Sort sort, int limit);
+
+  /** Returns how many income entries the user has, cached until their data changes. */
+  long countIncomeForUser(AppUser user);
+
   /** Get income entries for a specific date range. */
   List<Income> getIncomeForUserAndDateRange(AppUser user, LocalDate startDate, LocalDate endDate);
 
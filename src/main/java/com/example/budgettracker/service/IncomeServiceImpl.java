@@ -1,18 +1,32 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BatchResponse;
 import com.example.budgettracker.dto.IncomeRequest;
+import com.example.budgettracker.dto.IncomeSummary;
 import com.example.budgettracker.exception.IncomeNotFoundException;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Category;
 import com.example.budgettracker.model.Income;
+import com.example.budgettracker.model.OccurrenceSource;
 import com.example.budgettracker.repository.IncomeRepository;
 import com.example.budgettracker.util.SecurityUtils;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,16 +39,16 @@ public class IncomeServiceImpl implements IncomeService {
   private final IncomeRepository incomeRepository;
   private final CategoryService categoryService;
   private final SecurityUtils securityUtils;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ListingCountCache listingCountCache;
+  private final MonthlyRollupService monthlyRollupService;
+  private final OccurrenceIndexService occurrenceIndexService;
 
   @Override
   @Transactional
   public Income saveIncomeForUser(IncomeRequest request, AppUser user) {
     Income income = new Income();
-    income.setName(request.getName());
-    income.setAmount(request.getAmount());
-    income.setIncomeDate(request.getIncomeDate());
-    income.setPeriod(request.getPeriod());
-    income.setDescription(request.getDescription());
+    copyRequest(request, income);
     income.setAppUser(user);
 
     // If no category is specified, use the default income category
@@ -46,7 +60,11 @@ public class IncomeServiceImpl implements IncomeService {
     }
     income.setCategory(category);
 
-    return incomeRepository.save(income);
+    Income saved = incomeRepository.save(income);
+    monthlyRollupService.apply(new RollupDelta(user.getId()).add(saved));
+    occurrenceIndexService.indexIncome(List.of(saved));
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+    return saved;
   }
 
   @Override
@@ -60,11 +78,8 @@ public class IncomeServiceImpl implements IncomeService {
 
     securityUtils.validateResourceOwnership(income.getAppUser(), user, "Income", incomeId);
 
-    income.setName(request.getName());
-    income.setAmount(request.getAmount());
-    income.setIncomeDate(request.getIncomeDate());
-    income.setPeriod(request.getPeriod());
-    income.setDescription(request.getDescription());
+    RollupDelta rollup = new RollupDelta(user.getId()).remove(income);
+    copyRequest(request, income);
 
     // Update category if provided
     if (request.getCategoryId() != null) {
@@ -75,7 +90,12 @@ public class IncomeServiceImpl implements IncomeService {
       income.setCategory(category);
     }
 
-    return incomeRepository.save(income);
+    Income saved = incomeRepository.save(income);
+    monthlyRollupService.apply(rollup.add(saved));
+    occurrenceIndexService.remove(OccurrenceSource.INCOME, List.of(saved.getId()));
+    occurrenceIndexService.indexIncome(List.of(saved));
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+    return saved;
   }
 
   @Override
@@ -90,6 +110,81 @@ public class IncomeServiceImpl implements IncomeService {
     securityUtils.validateResourceOwnership(income.getAppUser(), user, "Income", incomeId);
 
     incomeRepository.delete(income);
+    monthlyRollupService.apply(new RollupDelta(user.getId()).remove(income));
+    occurrenceIndexService.remove(OccurrenceSource.INCOME, List.of(incomeId));
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+  }
+
+  @Override
+  @Transactional
+  public BatchResponse<Income> applyIncomeBatch(BatchRequest<IncomeRequest> batch, AppUser user) {
+    BatchCategories categories =
+        BatchCategories.load(
+            categoryService,
+            user,
+            DEFAULT_INCOME_CATEGORY,
+            Stream.concat(
+                    batch.getCreate().stream(),
+                    batch.getUpdate().stream().map(BatchRequest.Update::getItem))
+                .map(IncomeRequest::getCategoryId)
+                .toList());
+
+    // One query for every entry the batch touches; entries of other users are simply not found
+    List<Long> ids =
+        Stream.concat(
+                batch.getUpdate().stream().map(BatchRequest.Update::getId),
+                batch.getDelete().stream())
+            .distinct()
+            .toList();
+    Map<Long, Income> existing =
+        (ids.isEmpty() ? List.<Income>of() : incomeRepository.findByAppUserAndIdIn(user, ids))
+            .stream().collect(Collectors.toMap(Income::getId, Function.identity()));
+    for (Long id : ids) {
+      if (!existing.containsKey(id)) {
+        throw new IncomeNotFoundException("Income not found with ID: " + id);
+      }
+    }
+
+    RollupDelta rollup = new RollupDelta(user.getId());
+    List<Income> updated = new ArrayList<>();
+    for (BatchRequest.Update<IncomeRequest> update : batch.getUpdate()) {
+      Income income = existing.get(update.getId());
+      rollup.remove(income);
+      copyRequest(update.getItem(), income);
+      income.setCategory(categories.forId(update.getItem().getCategoryId()));
+      rollup.add(income);
+      updated.add(income);
+    }
+
+    List<Income> deleted = batch.getDelete().stream().map(existing::get).toList();
+    incomeRepository.deleteAll(deleted);
+    deleted.forEach(rollup::remove);
+
+    List<Income> created = new ArrayList<>();
+    for (IncomeRequest request : batch.getCreate()) {
+      Income income = new Income();
+      copyRequest(request, income);
+      income.setAppUser(user);
+      income.setCategory(categories.forId(request.getCategoryId()));
+      created.add(income);
+    }
+    incomeRepository.saveAll(created);
+    created.forEach(rollup::add);
+    monthlyRollupService.apply(rollup);
+    // Updated and deleted items lose their occurrences in one statement
+    occurrenceIndexService.remove(OccurrenceSource.INCOME, ids);
+    occurrenceIndexService.indexIncome(Stream.concat(updated.stream(), created.stream()).toList());
+
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+    return new BatchResponse<>(created, updated, batch.getDelete());
+  }
+
+  private void copyRequest(IncomeRequest request, Income income) {
+    income.setName(request.getName());
+    income.setAmount(request.getAmount());
+    income.setIncomeDate(request.getIncomeDate());
+    income.setPeriod(request.getPeriod());
+    income.setDescription(request.getDescription());
   }
 
   @Override
@@ -119,4 +214,24 @@ public class IncomeServiceImpl implements IncomeService {
   public BigDecimal getTotalIncomeForPeriod(AppUser user, LocalDate startDate, LocalDate endDate) {
     return incomeRepository.getTotalIncomeForPeriod(user, startDate, endDate);
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<IncomeSummary> getIncomeSummariesForUser(AppUser user, Pageable pageable) {
+    return incomeRepository.findSummariesByAppUser(user, pageable);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Window<Income> scrollIncomeForUser(
+      AppUser user, ScrollPosition position, Sort sort, int limit) {
+    return incomeRepository.findByAppUser(user, position, sort, Limit.of(limit));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long countIncomeForUser(AppUser user) {
+    return listingCountCache.count(
+        user.getId(), "income", () -> incomeRepository.countByAppUser(user));
+  }
 }
@@ -1,6 +1,9 @@
 package com.example.budgettracker.service;
 
 import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.security.VerifiedJwtCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,13 +20,26 @@ public class JwtService {
 
   private final JwtEncoder jwtEncoder;
   private final JwtDecoder jwtDecoder;
+  private final VerifiedJwtCache verifiedJwtCache;
+  private final MeterRegistry meterRegistry;
+  private final Timer encodeTimer;
 
   @Value("${app.jwt.access-token.expiration-minutes:30}")
   private int accessTokenExpirationMinutes;
 
-  public JwtService(JwtEncoder jwtEncoder, JwtDecoder jwtDecoder) {
+  public JwtService(
+      JwtEncoder jwtEncoder,
+      JwtDecoder jwtDecoder,
+      VerifiedJwtCache verifiedJwtCache,
+      MeterRegistry meterRegistry) {
     this.jwtEncoder = jwtEncoder;
     this.jwtDecoder = jwtDecoder;
+    this.verifiedJwtCache = verifiedJwtCache;
+    this.meterRegistry = meterRegistry;
+    this.encodeTimer =
+        Timer.builder("jwt.encode")
+            .description("Time to sign an access token")
+            .register(meterRegistry);
   }
 
   public String generateToken(AppUser user) {
@@ -40,17 +56,39 @@ public class JwtService {
             .claim("userId", user.getId())
             .build();
 
-    return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    return encodeTimer.record(
+        () -> jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue());
   }
 
+  /**
+   * Decodes and verifies a token. The SPA sends the same access token on several parallel calls, so
+   * verified tokens are remembered until they expire and the RSA check runs once per token.
+   */
   public Jwt validateToken(String token) {
     try {
-      return jwtDecoder.decode(token);
+      return verifiedJwtCache.get(token, this::verify);
     } catch (JwtException e) {
       throw new RuntimeException("Invalid JWT token", e);
     }
   }
 
+  // Only cache misses get here, so this times the actual signature check
+  private Jwt verify(String token) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "failure";
+    try {
+      Jwt jwt = jwtDecoder.decode(token);
+      outcome = "success";
+      return jwt;
+    } finally {
+      sample.stop(
+          Timer.builder("jwt.verify")
+              .description("Time to verify an access token signature")
+              .tag("outcome", outcome)
+              .register(meterRegistry));
+    }
+  }
+
   public String extractGoogleSub(String token) {
     Jwt jwt = validateToken(token);
     return jwt.getSubject();
@@ -0,0 +1,51 @@
+package com.example.budgettracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-user item counts for cursor-paginated listings. Keyset pages never run a count query; clients
+ * that want a total ask for it explicitly and get it from here, recomputed only after the user's
+ * data changes. Like the dashboard cache, entries are keyed by the user's {@link UserDataVersions}
+ * version rather than evicted.
+ */
+@Component
+public class ListingCountCache implements MeterBinder {
+
+  static final String CACHE_NAME = "listing-count";
+
+  private final UserDataVersions userDataVersions;
+  private final Cache<CountKey, Long> cache;
+
+  public ListingCountCache(
+      UserDataVersions userDataVersions,
+      @Value("${app.listing.count-cache.maximum-size:10000}") long maximumSize,
+      @Value("${app.listing.count-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+    this.userDataVersions = userDataVersions;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+  }
+
+  public long count(Long userId, String listing, LongSupplier loader) {
+    CountKey key = new CountKey(userId, userDataVersions.current(userId), listing);
+    return cache.get(key, k -> loader.getAsLong());
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+  }
+
+  private record CountKey(Long userId, long version, String listing) {}
+}
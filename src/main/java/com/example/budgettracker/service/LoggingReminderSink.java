@@ -0,0 +1,22 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.Reminder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/** Default sink until a real notification channel exists: writes each reminder to the log. */
+@Slf4j
+@Component
+public class LoggingReminderSink implements ReminderSink {
+
+  @Override
+  public void deliver(Reminder reminder) {
+    log.info(
+        "Reminder for user {}: {} {} '{}' is due on {}",
+        reminder.getAppUserId(),
+        reminder.getSource(),
+        reminder.getItemId(),
+        reminder.getName(),
+        reminder.getDueDate());
+  }
+}
@@ -0,0 +1,56 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.repository.AppUserRepository;
+import io.micrometer.core.annotation.Timed;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically rebuilds every user's monthly rollup from their items. Deltas keep the rollup exact
+ * as long as all writes go through the item services; this catches anything that did not, such as
+ * manual fixes in the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MonthlyRollupReconciler {
+
+  private final AppUserRepository appUserRepository;
+  private final MonthlyRollupService monthlyRollupService;
+
+  @Value("${app.rollup.reconcile-batch-size:500}")
+  private int batchSize;
+
+  @Scheduled(cron = "${app.rollup.reconcile-cron:0 30 3 * * *}")
+  @Timed(value = "monthly_rollup.reconcile", description = "Monthly rollup reconciliation runs")
+  public void reconcileAll() {
+    long after = 0;
+    int users = 0;
+    int corrected = 0;
+    List<Long> ids;
+    do {
+      ids = appUserRepository.findIdsAfter(after, Limit.of(batchSize));
+      for (Long id : ids) {
+        // Each user is reconciled in its own transaction, so a failure only skips that user
+        try {
+          corrected += monthlyRollupService.reconcileUser(id);
+        } catch (RuntimeException e) {
+          log.warn("Could not reconcile monthly rollup of user {}", id, e);
+        }
+        users++;
+        after = id;
+      }
+    } while (ids.size() == batchSize);
+
+    if (corrected > 0) {
+      log.warn("Monthly rollup drifted: corrected {} rows across {} users", corrected, users);
+    } else {
+      log.info("Monthly rollup of {} users is consistent", users);
+    }
+  }
+}
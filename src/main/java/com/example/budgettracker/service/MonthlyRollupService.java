@@ -0,0 +1,131 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.BillSummary;
+import com.example.budgettracker.dto.IncomeSummary;
+import com.example.budgettracker.dto.MonthlyRollupRow;
+import com.example.budgettracker.dto.SubscriptionSummary;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.MonthlyRollup;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.MonthlyRollupRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the {@code monthly_rollup} table. Item services hand in the delta of every write, which
+ * is applied in the writer's transaction; {@link #reconcileUser} rebuilds a user's rows from the
+ * items themselves to repair any drift.
+ */
+@Service
+@RequiredArgsConstructor
+public class MonthlyRollupService {
+
+  private final MonthlyRollupRepository monthlyRollupRepository;
+  private final AppUserRepository appUserRepository;
+  private final SubscriptionRepository subscriptionRepository;
+  private final BillRepository billRepository;
+  private final IncomeRepository incomeRepository;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Transactional(readOnly = true)
+  public List<MonthlyRollupRow> getRowsForUser(AppUser user) {
+    return monthlyRollupRepository.findRowsByUserId(user.getId());
+  }
+
+  /** Adds the delta to the user's rows, creating rows for keys seen for the first time. */
+  @Transactional
+  void apply(RollupDelta delta) {
+    if (delta.isEmpty()) {
+      return;
+    }
+    appUserRepository.lockById(delta.getUserId());
+    delta
+        .changes()
+        .forEach(
+            (key, change) -> {
+              int updated =
+                  monthlyRollupRepository.addDelta(
+                      key.getAppUserId(),
+                      key.getMonth(),
+                      key.getKind(),
+                      key.getCategoryId(),
+                      change.getAmount(),
+                      change.getItemCount());
+              if (updated == 0) {
+                monthlyRollupRepository.insert(
+                    key.getAppUserId(),
+                    key.getMonth(),
+                    key.getKind().name(),
+                    key.getCategoryId(),
+                    change.getAmount(),
+                    change.getItemCount());
+              }
+            });
+  }
+
+  /**
+   * Recomputes the user's rows from their subscriptions, bills and income and fixes every row that
+   * differs. A repair is published as a change of the user's data, so cached views built from the
+   * drifted rows are dropped once it commits.
+   *
+   * @return number of rows inserted, corrected or deleted
+   */
+  @Transactional
+  public int reconcileUser(Long userId) {
+    appUserRepository.lockById(userId);
+    AppUser user = appUserRepository.getReferenceById(userId);
+
+    RollupDelta expected = new RollupDelta(userId);
+    try (Stream<SubscriptionSummary> subscriptions =
+        subscriptionRepository.streamSummariesByAppUser(user)) {
+      subscriptions.forEach(expected::add);
+    }
+    try (Stream<BillSummary> bills = billRepository.streamSummariesByAppUser(user)) {
+      bills.forEach(expected::add);
+    }
+    try (Stream<IncomeSummary> income = incomeRepository.streamSummariesByAppUser(user)) {
+      income.forEach(expected::add);
+    }
+
+    Map<MonthlyRollup.Key, RollupDelta.Change> missing = new HashMap<>(expected.changes());
+    int corrected = 0;
+    for (MonthlyRollup row : monthlyRollupRepository.findByIdAppUserId(userId)) {
+      RollupDelta.Change change = missing.remove(row.getId());
+      if (change == null) {
+        monthlyRollupRepository.delete(row);
+        // Rows whose items were all removed net out to zero; dropping them is cleanup, not drift
+        if (row.getItemCount() != 0 || row.getAmount().signum() != 0) {
+          corrected++;
+        }
+      } else if (row.getAmount().compareTo(change.getAmount()) != 0
+          || row.getItemCount() != change.getItemCount()) {
+        row.setAmount(change.getAmount());
+        row.setItemCount(change.getItemCount());
+        corrected++;
+      }
+    }
+    missing.forEach((key, change) -> monthlyRollupRepository.save(row(key, change)));
+    int repaired = corrected + missing.size();
+    if (repaired > 0) {
+      eventPublisher.publishEvent(new UserFinancialDataChangedEvent(userId));
+    }
+    return repaired;
+  }
+
+  private static MonthlyRollup row(MonthlyRollup.Key key, RollupDelta.Change change) {
+    MonthlyRollup row = new MonthlyRollup();
+    row.setId(key);
+    row.setAmount(change.getAmount());
+    row.setItemCount(change.getItemCount());
+    return row;
+  }
+}
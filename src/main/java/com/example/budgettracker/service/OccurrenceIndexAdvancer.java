@@ -0,0 +1,83 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.repository.AppUserRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves every user's occurrence window forward once a day: yesterday's occurrences drop out and
+ * only the day entering the horizon is computed and added. That needs to know how far the window
+ * reached, which this node remembers from its previous run; the first run after a start, and the
+ * run after one where a user failed, rebuild every user's window instead. Runs shortly after
+ * midnight because the index keeps only one spare day past the horizon.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OccurrenceIndexAdvancer {
+
+  private final AppUserRepository appUserRepository;
+  private final OccurrenceIndexService occurrenceIndexService;
+
+  @Value("${app.calendar.advance-batch-size:500}")
+  private int batchSize;
+
+  // Day of the last run that advanced every user; null until then
+  private volatile LocalDate lastAdvanced;
+
+  // Nothing tells a starting node how far the index reaches: it may be empty after the V21
+  // migration or stop short of the horizon after midnights without a running node, so every start
+  // rebuilds it instead of waiting for the next nightly run
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStart() {
+    advanceAll();
+  }
+
+  @Scheduled(cron = "${app.calendar.advance-cron:0 5 0 * * *}")
+  @Timed(value = "payment_occurrence.advance", description = "Occurrence index advance runs")
+  public void advanceAll() {
+    advanceAll(LocalDate.now());
+  }
+
+  void advanceAll(LocalDate today) {
+    LocalDate previous = lastAdvanced;
+    LocalDate indexedThrough =
+        previous != null ? previous.plusDays(occurrenceIndexService.getHorizonDays()) : null;
+    long after = 0;
+    int users = 0;
+    int failed = 0;
+    long occurrences = 0;
+    List<Long> ids;
+    do {
+      ids = appUserRepository.findIdsAfter(after, Limit.of(batchSize));
+      for (Long id : ids) {
+        try {
+          occurrences +=
+              indexedThrough != null
+                  ? occurrenceIndexService.advanceUser(id, today, indexedThrough)
+                  : occurrenceIndexService.rebuildUser(id, today);
+        } catch (RuntimeException e) {
+          log.warn("Could not advance the occurrence index of user {}", id, e);
+          failed++;
+        }
+        users++;
+        after = id;
+      }
+    } while (ids.size() == batchSize);
+    lastAdvanced = failed == 0 ? today : null;
+    log.info(
+        "Occurrence index {} for {} users ({} occurrences added)",
+        indexedThrough != null ? "advanced" : "rebuilt",
+        users,
+        occurrences);
+  }
+}
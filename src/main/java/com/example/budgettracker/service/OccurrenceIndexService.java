@@ -0,0 +1,279 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.BillSummary;
+import com.example.budgettracker.dto.IncomeSummary;
+import com.example.budgettracker.dto.SubscriptionSummary;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Bill;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Income;
+import com.example.budgettracker.model.OccurrenceSource;
+import com.example.budgettracker.model.PaymentOccurrence;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.PaymentOccurrenceRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the {@code payment_occurrence} table: every date on which an active subscription or
+ * bill is due, or an income arrives, from today until {@link #getHorizonDays()} days ahead. Item
+ * services index the items they write in the writer's transaction, first calling {@link #remove}
+ * for items that already had occurrences, so a create costs no delete. {@link #advanceUser} moves a
+ * user's window forward by the days that passed and is run nightly by {@link
+ * OccurrenceIndexAdvancer}; {@link #rebuildUser} recomputes the whole window.
+ */
+@Service
+@RequiredArgsConstructor
+public class OccurrenceIndexService {
+
+  private final PaymentOccurrenceRepository paymentOccurrenceRepository;
+  private final AppUserRepository appUserRepository;
+  private final SubscriptionRepository subscriptionRepository;
+  private final BillRepository billRepository;
+  private final IncomeRepository incomeRepository;
+  private final PeriodCalculationService periodCalculationService;
+
+  @Value("${app.calendar.horizon-days:90}")
+  private int horizonDays;
+
+  public int getHorizonDays() {
+    return horizonDays;
+  }
+
+  @Transactional
+  public void indexSubscriptions(Collection<Subscription> subscriptions) {
+    LocalDate today = LocalDate.now();
+    List<PaymentOccurrence> occurrences = new ArrayList<>();
+    for (Subscription s : subscriptions) {
+      if (s.isActive()) {
+        collect(
+            occurrences,
+            today,
+            windowEnd(today),
+            new Item(
+                s.getAppUser().getId(),
+                OccurrenceSource.SUBSCRIPTION,
+                s.getId(),
+                s.getName(),
+                s.getPrice(),
+                categoryId(s.getCategory()),
+                s.getNextBillingDate(),
+                s.getPeriod()));
+      }
+    }
+    paymentOccurrenceRepository.saveAll(occurrences);
+  }
+
+  @Transactional
+  public void indexBills(Collection<Bill> bills) {
+    LocalDate today = LocalDate.now();
+    List<PaymentOccurrence> occurrences = new ArrayList<>();
+    for (Bill b : bills) {
+      if (b.isActive()) {
+        collect(
+            occurrences,
+            today,
+            windowEnd(today),
+            new Item(
+                b.getAppUser().getId(),
+                OccurrenceSource.BILL,
+                b.getId(),
+                b.getName(),
+                b.getAmount(),
+                categoryId(b.getCategory()),
+                b.getDueDate(),
+                b.getPeriod()));
+      }
+    }
+    paymentOccurrenceRepository.saveAll(occurrences);
+  }
+
+  @Transactional
+  public void indexIncome(Collection<Income> incomes) {
+    LocalDate today = LocalDate.now();
+    List<PaymentOccurrence> occurrences = new ArrayList<>();
+    for (Income i : incomes) {
+      collect(
+          occurrences,
+          today,
+          windowEnd(today),
+          new Item(
+              i.getAppUser().getId(),
+              OccurrenceSource.INCOME,
+              i.getId(),
+              i.getName(),
+              i.getAmount(),
+              categoryId(i.getCategory()),
+              i.getIncomeDate(),
+              i.getPeriod()));
+    }
+    paymentOccurrenceRepository.saveAll(occurrences);
+  }
+
+  /** Drops the occurrences of deleted items, and of updated items before they are re-indexed. */
+  @Transactional
+  public void remove(OccurrenceSource source, Collection<Long> itemIds) {
+    if (!itemIds.isEmpty()) {
+      paymentOccurrenceRepository.deleteBySourceAndItemIds(source, itemIds);
+    }
+  }
+
+  /**
+   * Replaces all of the user's occurrences with ones computed from their items for the window
+   * starting today. This both advances the window and repairs rows written outside the services.
+   *
+   * @return number of occurrences indexed
+   */
+  @Transactional
+  public int rebuildUser(Long userId) {
+    return rebuildUser(userId, LocalDate.now());
+  }
+
+  @Transactional
+  public int rebuildUser(Long userId, LocalDate today) {
+    // Same lock as the rollup deltas, so a concurrent item write cannot interleave
+    appUserRepository.lockById(userId);
+    paymentOccurrenceRepository.deleteByUserId(userId);
+    return index(userId, today, windowEnd(today));
+  }
+
+  /**
+   * Moves the user's window forward to start at {@code today}, given that it was indexed through
+   * {@code indexedThrough}: occurrences before today are deleted and only the days after {@code
+   * indexedThrough} are computed and inserted, rather than the whole window.
+   *
+   * @return number of occurrences indexed
+   */
+  @Transactional
+  public int advanceUser(Long userId, LocalDate today, LocalDate indexedThrough) {
+    appUserRepository.lockById(userId);
+    // Items written since midnight were indexed past indexedThrough; those rows are recomputed too
+    paymentOccurrenceRepository.deleteByUserIdOutside(userId, today, indexedThrough);
+    LocalDate from = indexedThrough.plusDays(1);
+    LocalDate to = windowEnd(today);
+    if (from.isAfter(to)) {
+      return 0;
+    }
+    return index(userId, from.isBefore(today) ? today : from, to);
+  }
+
+  // Indexes the occurrences of all of the user's items from from through to
+  private int index(Long userId, LocalDate from, LocalDate to) {
+    AppUser user = appUserRepository.getReferenceById(userId);
+    List<PaymentOccurrence> occurrences = new ArrayList<>();
+    try (Stream<SubscriptionSummary> subscriptions =
+        subscriptionRepository.streamSummariesByAppUser(user)) {
+      subscriptions
+          .filter(SubscriptionSummary::active)
+          .forEach(
+              s ->
+                  collect(
+                      occurrences,
+                      from,
+                      to,
+                      new Item(
+                          userId,
+                          OccurrenceSource.SUBSCRIPTION,
+                          s.id(),
+                          s.name(),
+                          s.price(),
+                          s.categoryId(),
+                          s.nextBillingDate(),
+                          s.period())));
+    }
+    try (Stream<BillSummary> bills = billRepository.streamSummariesByAppUser(user)) {
+      bills
+          .filter(BillSummary::active)
+          .forEach(
+              b ->
+                  collect(
+                      occurrences,
+                      from,
+                      to,
+                      new Item(
+                          userId,
+                          OccurrenceSource.BILL,
+                          b.id(),
+                          b.name(),
+                          b.amount(),
+                          b.categoryId(),
+                          b.dueDate(),
+                          b.period())));
+    }
+    try (Stream<IncomeSummary> incomes = incomeRepository.streamSummariesByAppUser(user)) {
+      incomes.forEach(
+          i ->
+              collect(
+                  occurrences,
+                  from,
+                  to,
+                  new Item(
+                      userId,
+                      OccurrenceSource.INCOME,
+                      i.id(),
+                      i.name(),
+                      i.amount(),
+                      i.categoryId(),
+                      i.incomeDate(),
+                      i.period())));
+    }
+    paymentOccurrenceRepository.saveAll(occurrences);
+    return occurrences.size();
+  }
+
+  // One day past the horizon, so a full-horizon calendar is still covered between midnight and the
+  // nightly advance
+  private LocalDate windowEnd(LocalDate today) {
+    return today.plusDays(horizonDays);
+  }
+
+  private static Long categoryId(Category category) {
+    return category != null ? category.getId() : null;
+  }
+
+  private record Item(
+      Long userId,
+      OccurrenceSource source,
+      Long itemId,
+      String name,
+      BigDecimal amount,
+      Long categoryId,
+      LocalDate date,
+      Period period) {}
+
+  private void collect(List<PaymentOccurrence> out, LocalDate from, LocalDate to, Item item) {
+    if (item.date() == null || item.period() == null) {
+      return;
+    }
+    BigDecimal amount = item.amount() != null ? item.amount() : BigDecimal.ZERO;
+    periodCalculationService.forEachOccurrence(
+        item.date(),
+        item.period(),
+        from,
+        to,
+        epochDay -> {
+          PaymentOccurrence occurrence = new PaymentOccurrence();
+          occurrence.setAppUserId(item.userId());
+          occurrence.setOccursOn(LocalDate.ofEpochDay(epochDay));
+          occurrence.setSource(item.source());
+          occurrence.setItemId(item.itemId());
+          occurrence.setName(item.name());
+          occurrence.setAmount(amount);
+          occurrence.setCategoryId(item.categoryId());
+          out.add(occurrence);
+        });
+  }
+}
@@ -2,7 +2,11 @@ package com.example.budgettracker.service;
 
 import com.example.budgettracker.model.Period;
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.stereotype.Service;
 
 /**
@@ -12,6 +16,8 @@ import org.springframework.stereotype.Service;
 @Service
 public class PeriodCalculationService {
 
+  private static final long DAYS_0000_TO_1970 = 719528L;
+
   /**
    * Calculates the next occurrence date from a given original date and period. Always returns a
    * future date (never past or today).
@@ -21,72 +27,128 @@ public class PeriodCalculationService {
    * @return The next future occurrence date
    */
   public LocalDate getNextOccurrence(LocalDate originalDate, Period period) {
-    LocalDate today = LocalDate.now();
+    return getNextOccurrence(originalDate, period, LocalDate.now());
+  }
 
-    // One-time events don't recur - return the original date
-    if (period == Period.ONE_TIME) {
+  /**
+   * Calculates the first occurrence strictly after {@code today}. Instead of stepping one period at
+   * a time, the number of periods to skip is computed directly, so the cost does not grow with the
+   * age of the original date. Results match stepping one period at a time, including month-end
+   * clamping (Jan 31 monthly gives Feb 28/29 and then stays on that day).
+   *
+   * @param originalDate The original/initial date
+   * @param period The recurrence period
+   * @param today The reference date
+   * @return The next occurrence after {@code today}, or the original date for one-time periods
+   */
+  public LocalDate getNextOccurrence(LocalDate originalDate, Period period, LocalDate today) {
+    // One-time events don't recur, and future dates are already the next occurrence
+    if (period == Period.ONE_TIME || originalDate.isAfter(today)) {
       return originalDate;
     }
 
-    LocalDate nextDate = originalDate;
+    switch (period) {
+      case DAILY:
+        return today.plusDays(1);
 
-    // Keep advancing until we get a future date
-    while (!nextDate.isAfter(today)) {
-      nextDate = addPeriod(nextDate, period);
-    }
+      case WEEKLY:
+        long weeks = ChronoUnit.DAYS.between(originalDate, today) / 7 + 1;
+        return originalDate.plusWeeks(weeks);
 
-    return nextDate;
+      default:
+        int step = monthsPerPeriod(period);
+        long elapsedMonths = monthIndex(today) - monthIndex(originalDate);
+        // The occurrence landing in today's month (or the last one before it) is either past or
+        // already the answer; the one after it is always in a later month
+        long periods = elapsedMonths / step;
+        LocalDate candidate = occurrenceAfter(originalDate, period, periods);
+        return candidate.isAfter(today)
+            ? candidate
+            : occurrenceAfter(originalDate, period, periods + 1);
+    }
   }
 
   /**
-   * Adds one period to the given date. Handles edge cases like month-end dates properly.
+   * Calculates the last occurrence strictly before {@code date}, the counterpart of {@link
+   * #getNextOccurrence(LocalDate, Period, LocalDate)}. Month-based periods step back one period
+   * from the next occurrence with the same clamping, so the result is on the original series.
    *
-   * @param date The base date
-   * @param period The period to add
-   * @return The date after adding one period
+   * @param originalDate The original/initial date
+   * @param period The recurrence period
+   * @param date The reference date
+   * @return The latest occurrence before {@code date}, or {@code null} if the series starts on or
+   *     after it
    */
-  private LocalDate addPeriod(LocalDate date, Period period) {
+  public LocalDate getPreviousOccurrence(LocalDate originalDate, Period period, LocalDate date) {
+    if (!originalDate.isBefore(date)) {
+      return null;
+    }
+    if (period == Period.ONE_TIME) {
+      return originalDate;
+    }
+
+    // First occurrence on or after the reference date; it is never the original date itself
+    LocalDate next = getNextOccurrence(originalDate, period, date.minusDays(1));
     switch (period) {
       case DAILY:
-        return date.plusDays(1);
+        return next.minusDays(1);
 
       case WEEKLY:
-        return date.plusWeeks(1);
-
-      case MONTHLY:
-        return addMonth(date);
+        return next.minusWeeks(1);
 
-      case QUARTERLY:
-        return addMonth(date.plusMonths(2)); // Add 3 months total
-
-      case YEARLY:
-        return date.plusYears(1);
-
-      case ONE_TIME:
       default:
-        // One-time periods don't recur
-        return date;
+        long periods = (monthIndex(next) - monthIndex(originalDate)) / monthsPerPeriod(period);
+        return occurrenceAfter(originalDate, period, periods - 1);
     }
   }
 
   /**
-   * Adds one month to a date, handling edge cases properly. Examples: - Jan 31 + 1 month = Feb
-   * 28/29 (last day of February) - Jan 30 + 1 month = Feb 28/29 (if February is shorter) - Jan 15 +
-   * 1 month = Feb 15 (same day of month)
-   *
-   * @param date The original date
-   * @return The date one month later
+   * Date reached after adding {@code periods} month-based periods to the original date. The day of
+   * month is the original day clamped by every month the iterative walk would clamp in. Any four
+   * consecutive years contain a common-year February, so after 48 months the clamp has reached its
+   * floor and the remaining periods need not be inspected.
    */
-  private LocalDate addMonth(LocalDate date) {
-    try {
-      // Try to add exactly one month (same day)
-      return date.plusMonths(1);
-    } catch (Exception e) {
-      // Handle edge case: if day doesn't exist in target month
-      // (e.g., Jan 31 -> Feb 31 doesn't exist)
-      // Fall back to last day of the target month
-      return date.plusMonths(1).withDayOfMonth(date.plusMonths(1).lengthOfMonth());
+  private static LocalDate occurrenceAfter(LocalDate originalDate, Period period, long periods) {
+    int step = monthsPerPeriod(period);
+    long firstMonth = monthIndex(originalDate);
+    long targetMonth = firstMonth + step * periods;
+
+    int day = originalDate.getDayOfMonth();
+    long inspected = Math.min(periods, 48 / step);
+    for (long i = 1; i <= inspected && day > 28; i++) {
+      long month = firstMonth + step * i;
+      if (period == Period.QUARTERLY) {
+        // Quarters are added as two months and then one more, clamping at both
+        day = Math.min(day, lengthOfMonth(month - 1));
+      }
+      day = Math.min(day, lengthOfMonth(month));
     }
+
+    return LocalDate.of(
+        (int) Math.floorDiv(targetMonth, 12), (int) Math.floorMod(targetMonth, 12) + 1, day);
+  }
+
+  private static int monthsPerPeriod(Period period) {
+    switch (period) {
+      case MONTHLY:
+        return 1;
+      case QUARTERLY:
+        return 3;
+      case YEARLY:
+        return 12;
+      default:
+        throw new IllegalArgumentException("Not a month-based period: " + period);
+    }
+  }
+
+  // Months since year 0, so month differences are plain subtraction
+  private static long monthIndex(LocalDate date) {
+    return date.getYear() * 12L + date.getMonthValue() - 1;
+  }
+
+  private static int lengthOfMonth(long monthIndex) {
+    int year = (int) Math.floorDiv(monthIndex, 12);
+    return Month.of((int) Math.floorMod(monthIndex, 12) + 1).length(Year.isLeap(year));
   }
 
   /**
@@ -98,8 +160,9 @@ public class PeriodCalculationService {
    * @return Days until next occurrence (0 or positive)
    */
   public long getDaysUntilNext(LocalDate originalDate, Period period) {
-    LocalDate nextDate = getNextOccurrence(originalDate, period);
-    return ChronoUnit.DAYS.between(LocalDate.now(), nextDate);
+    LocalDate today = LocalDate.now();
+    LocalDate nextDate = getNextOccurrence(originalDate, period, today);
+    return ChronoUnit.DAYS.between(today, nextDate);
   }
 
   /**
@@ -114,28 +177,131 @@ public class PeriodCalculationService {
    */
   public LocalDate[] getOccurrencesInRange(
       LocalDate originalDate, Period period, LocalDate startDate, LocalDate endDate) {
+    List<LocalDate> occurrences = new ArrayList<>();
+    forEachOccurrence(
+        originalDate,
+        period,
+        startDate,
+        endDate,
+        epochDay -> occurrences.add(LocalDate.ofEpochDay(epochDay)));
+    return occurrences.toArray(new LocalDate[0]);
+  }
+
+  /**
+   * Writes the epoch days of all occurrences within a date range into a caller-supplied buffer. If
+   * the buffer is too small, only the first {@code buffer.length} occurrences are written; the
+   * return value still counts all of them so the caller can retry with a larger buffer.
+   *
+   * @param originalDate The original date
+   * @param period The recurrence period
+   * @param startDate Range start (inclusive)
+   * @param endDate Range end (inclusive)
+   * @param buffer Destination for the occurrence epoch days, in ascending order
+   * @return Number of occurrences within the range
+   */
+  public int getOccurrencesInRange(
+      LocalDate originalDate, Period period, LocalDate startDate, LocalDate endDate, int[] buffer) {
+    int[] count = new int[1];
+    forEachOccurrence(
+        originalDate,
+        period,
+        startDate,
+        endDate,
+        epochDay -> {
+          if (count[0] < buffer.length) {
+            buffer[count[0]] = epochDay;
+          }
+          count[0]++;
+        });
+    return count[0];
+  }
+
+  /**
+   * Streams the epoch days of all occurrences within a date range to a visitor, in ascending order.
+   * The first in-range occurrence is found with {@link #getNextOccurrence(LocalDate, Period,
+   * LocalDate)} instead of walking from the original date, and later occurrences are produced with
+   * int arithmetic, so no objects are allocated per occurrence.
+   *
+   * @param originalDate The original date
+   * @param period The recurrence period
+   * @param startDate Range start (inclusive)
+   * @param endDate Range end (inclusive)
+   * @param visitor Receives each occurrence as an epoch day
+   * @return Number of occurrences visited
+   */
+  public int forEachOccurrence(
+      LocalDate originalDate,
+      Period period,
+      LocalDate startDate,
+      LocalDate endDate,
+      OccurrenceVisitor visitor) {
+    long end = endDate.toEpochDay();
+
     if (period == Period.ONE_TIME) {
       // One-time events only occur once
       if (!originalDate.isBefore(startDate) && !originalDate.isAfter(endDate)) {
-        return new LocalDate[] {originalDate};
+        visitor.visit((int) originalDate.toEpochDay());
+        return 1;
       }
-      return new LocalDate[0];
+      return 0;
     }
 
-    java.util.List<LocalDate> occurrences = new java.util.ArrayList<>();
-    LocalDate current = originalDate;
+    LocalDate first = getNextOccurrence(originalDate, period, startDate.minusDays(1));
+    int count = 0;
 
-    // Start from the first occurrence at or after startDate
-    while (current.isBefore(startDate)) {
-      current = addPeriod(current, period);
+    if (period == Period.DAILY || period == Period.WEEKLY) {
+      int stepDays = period == Period.DAILY ? 1 : 7;
+      for (long day = first.toEpochDay(); day <= end; day += stepDays) {
+        visitor.visit((int) day);
+        count++;
+      }
+      return count;
     }
 
-    // Collect all occurrences within range
-    while (!current.isAfter(endDate)) {
-      occurrences.add(current);
-      current = addPeriod(current, period);
+    // Clamping only ever lowers the day, so continuing from the first occurrence's clamped day
+    // gives the same dates as walking from the original date
+    int step = monthsPerPeriod(period);
+    long month = monthIndex(first);
+    int dayOfMonth = first.getDayOfMonth();
+    long day = first.toEpochDay();
+    while (day <= end) {
+      visitor.visit((int) day);
+      count++;
+
+      month += step;
+      if (period == Period.QUARTERLY) {
+        dayOfMonth = Math.min(dayOfMonth, lengthOfMonth(month - 1));
+      }
+      dayOfMonth = Math.min(dayOfMonth, lengthOfMonth(month));
+      day = epochDay(month, dayOfMonth);
     }
+    return count;
+  }
 
-    return occurrences.toArray(new LocalDate[0]);
+  /** Receives occurrence dates as epoch days (see {@link LocalDate#ofEpochDay(long)}). */
+  @FunctionalInterface
+  public interface OccurrenceVisitor {
+    void visit(int epochDay);
+  }
+
+  // Same calculation as LocalDate.toEpochDay, without creating the LocalDate
+  private static long epochDay(long monthIndex, int dayOfMonth) {
+    long year = Math.floorDiv(monthIndex, 12);
+    int month = (int) Math.floorMod(monthIndex, 12) + 1;
+    long total = 365 * year;
+    if (year >= 0) {
+      total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    } else {
+      total -= year / -4 - year / -100 + year / -400;
+    }
+    total += (367 * month - 362) / 12;
+    total += dayOfMonth - 1;
+    if (month > 2) {
+      total--;
+      if (!Year.isLeap(year)) {
+        total--;
+      }
+    }
+    return total - DAYS_0000_TO_1970;
   }
 }
@@ -0,0 +1,136 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.AnchorGroup;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves past-due {@code nextBillingDate} and {@code dueDate} anchors of active recurring
+ * subscriptions and bills to their next occurrence on or after today, and records the occurrence
+ * before it. The new anchor lies on the same series, so upcoming dates, the calendar index and the
+ * dashboard (which charts from the first date) are unaffected; only the stored date becomes
+ * accurate. The owners of each chunk get a {@link UserFinancialDataChangedEvent} once the chunk has
+ * committed, so cached views show the new dates.
+ */
+@Slf4j
+@Component
+public class RecurrenceAnchorRoller {
+
+  private final SubscriptionRepository subscriptionRepository;
+  private final BillRepository billRepository;
+  private final PeriodCalculationService periodCalculationService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+
+  public RecurrenceAnchorRoller(
+      SubscriptionRepository subscriptionRepository,
+      BillRepository billRepository,
+      PeriodCalculationService periodCalculationService,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.anchors.roll-chunk-size:200}") int chunkSize) {
+    this.subscriptionRepository = subscriptionRepository;
+    this.billRepository = billRepository;
+    this.periodCalculationService = periodCalculationService;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+  }
+
+  @Scheduled(cron = "${app.anchors.roll-cron:0 0 1 * * *}")
+  @Timed(value = "anchor.roll", description = "Recurrence anchor roller runs")
+  public void rollAll() {
+    int rolled = roll(LocalDate.now());
+    log.info("Advanced {} past-due subscription and bill dates", rolled);
+  }
+
+  /**
+   * Advances every anchor before {@code today}.
+   *
+   * @return number of subscriptions and bills updated
+   */
+  public int roll(LocalDate today) {
+    return roll(
+            today,
+            subscriptionRepository::findPastDueAnchors,
+            subscriptionRepository::findPastDueAnchorOwners,
+            subscriptionRepository::rollAnchor)
+        + roll(
+            today,
+            billRepository::findPastDueAnchors,
+            billRepository::findPastDueAnchorOwners,
+            billRepository::rollAnchor);
+  }
+
+  private int roll(
+      LocalDate today,
+      BiFunction<LocalDate, Limit, List<AnchorGroup>> pastDue,
+      AnchorOwners owners,
+      AnchorUpdate update) {
+    int rolled = 0;
+    List<AnchorGroup> chunk;
+    do {
+      // Rolled groups no longer match, so every chunk is read from the start again
+      chunk = pastDue.apply(today, Limit.of(chunkSize));
+      if (chunk.isEmpty()) {
+        break;
+      }
+      List<AnchorGroup> groups = chunk;
+      rolled +=
+          transactionTemplate.execute(
+              status -> {
+                // Groups are ordered by date, so the chunk's owners are found by one range query;
+                // at worst this includes owners of other periods on the chunk's last date
+                List<Long> userIds =
+                    owners.find(
+                        today, groups.get(0).anchor(), groups.get(groups.size() - 1).anchor());
+                LocalDateTime now = LocalDateTime.now();
+                int updated = 0;
+                for (AnchorGroup group : groups) {
+                  Period period = group.period();
+                  LocalDate anchor = group.anchor();
+                  updated +=
+                      update.roll(
+                          period,
+                          anchor,
+                          periodCalculationService.getPreviousOccurrence(anchor, period, today),
+                          periodCalculationService.getNextOccurrence(
+                              anchor, period, today.minusDays(1)),
+                          now);
+                }
+                // Delivered to the cache listeners after this chunk commits
+                userIds.forEach(
+                    userId ->
+                        eventPublisher.publishEvent(new UserFinancialDataChangedEvent(userId)));
+                return updated;
+              });
+    } while (chunk.size() == chunkSize);
+    return rolled;
+  }
+
+  @FunctionalInterface
+  private interface AnchorOwners {
+    List<Long> find(LocalDate today, LocalDate from, LocalDate to);
+  }
+
+  @FunctionalInterface
+  private interface AnchorUpdate {
+    int roll(
+        Period period, LocalDate anchor, LocalDate previous, LocalDate next, LocalDateTime now);
+  }
+}
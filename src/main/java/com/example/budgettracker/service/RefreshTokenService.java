@@ -4,6 +4,7 @@ import com.example.budgettracker.dto.TokenPair;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.RefreshToken;
 import com.example.budgettracker.repository.RefreshTokenRepository;
+import io.micrometer.core.annotation.Timed;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
@@ -31,13 +32,19 @@ public class RefreshTokenService {
   @Value("${app.refresh-token.max-per-user:5}")
   private int maxTokensPerUser;
 
+  @Value("${app.refresh-token.cleanup-batch-size:1000}")
+  private int cleanupBatchSize;
+
   private final SecureRandom secureRandom = new SecureRandom();
 
   @Transactional
   public TokenPair generateTokenPair(AppUser user, String userAgent, String ipAddress) {
-    // Clean up old tokens if user has too many
-    cleanupUserTokens(user);
+    // Make room for the new token if the user has too many
+    pruneUserTokens(user);
+    return issueTokenPair(user, userAgent, ipAddress);
+  }
 
+  private TokenPair issueTokenPair(AppUser user, String userAgent, String ipAddress) {
     // Generate secure refresh token
     String refreshToken = generateSecureToken();
     String tokenHash = hashToken(refreshToken);
@@ -56,7 +63,7 @@ public class RefreshTokenService {
     String accessToken = jwtService.generateToken(user);
     long expiresIn = jwtService.getAccessTokenExpirationMinutes() * 60; // Convert to seconds
 
-    return new TokenPair(accessToken, refreshToken, expiresIn);
+    return new TokenPair(accessToken, refreshToken, expiresIn, user);
   }
 
   @Transactional
@@ -64,30 +71,35 @@ public class RefreshTokenService {
       String refreshToken, String userAgent, String ipAddress) {
     String tokenHash = hashToken(refreshToken);
 
-    Optional<RefreshToken> refreshTokenOpt = refreshTokenRepository.findByTokenHash(tokenHash);
+    // Fetch the owning user in the same query; it's needed for the new access token and response
+    Optional<RefreshToken> refreshTokenOpt =
+        refreshTokenRepository.findByTokenHashWithUser(tokenHash);
 
     if (refreshTokenOpt.isEmpty() || refreshTokenOpt.get().isExpired()) {
       // Clean up expired token if found
-      refreshTokenOpt.ifPresent(rt -> refreshTokenRepository.delete(rt));
+      refreshTokenOpt.ifPresent(rt -> refreshTokenRepository.deleteByTokenHash(rt.getTokenHash()));
       return Optional.empty();
     }
 
     RefreshToken refreshTokenEntity = refreshTokenOpt.get();
     AppUser user = refreshTokenEntity.getAppUser();
 
-    // Update last used timestamp
-    refreshTokenEntity.updateLastUsed();
-
     // Security check - validate user agent and IP if configured
     if (isDifferentDevice(refreshTokenEntity, userAgent, ipAddress)) {
       log.warn("Refresh token used from different device for user: {}", user.getId());
       // Could choose to reject or allow - for now we'll allow but log
     }
 
-    // Generate new token pair (rotate refresh token)
-    refreshTokenRepository.delete(refreshTokenEntity);
+    // Rotate: delete the used token by its (indexed) hash, then issue a new pair. A concurrent
+    // refresh with the same token waits on the row lock and then deletes nothing, so only one of
+    // them gets a new pair
+    if (refreshTokenRepository.deleteByTokenHash(tokenHash) == 0) {
+      log.warn("Refresh token for user {} was already used", user.getId());
+      return Optional.empty();
+    }
 
-    return Optional.of(generateTokenPair(user, userAgent, ipAddress));
+    // The rotation replaces a token one for one, so the user's count can't grow and needs no prune
+    return Optional.of(issueTokenPair(user, userAgent, ipAddress));
   }
 
   @Transactional
@@ -101,16 +113,9 @@ public class RefreshTokenService {
     refreshTokenRepository.deleteAllByUser(user);
   }
 
-  private void cleanupUserTokens(AppUser user) {
-    long tokenCount = refreshTokenRepository.countByAppUser(user);
-    if (tokenCount >= maxTokensPerUser) {
-      // Remove oldest tokens to make room
-      var tokens = refreshTokenRepository.findByAppUserAndExpiresAtAfter(user, LocalDateTime.now());
-      tokens.stream()
-          .sorted((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()))
-          .limit(tokenCount - maxTokensPerUser + 1)
-          .forEach(refreshTokenRepository::delete);
-    }
+  private void pruneUserTokens(AppUser user) {
+    // Keep the newest tokens, leaving room for the one about to be issued
+    refreshTokenRepository.deleteAllButNewest(user.getId(), Math.max(0, maxTokensPerUser - 1));
   }
 
   private String generateSecureToken() {
@@ -135,9 +140,17 @@ public class RefreshTokenService {
   }
 
   @Scheduled(fixedRate = 3600000) // Run every hour
-  @Transactional
+  @Timed(value = "refresh_token.cleanup", description = "Expired refresh token cleanup runs")
   public void cleanupExpiredTokens() {
-    int deletedCount = refreshTokenRepository.deleteExpiredTokens(LocalDateTime.now());
+    LocalDateTime now = LocalDateTime.now();
+    int deletedCount = 0;
+    int deleted;
+    // Delete in bounded chunks, each in its own transaction, so locks are only held briefly
+    do {
+      deleted = refreshTokenRepository.deleteExpiredTokensBatch(now, cleanupBatchSize);
+      deletedCount += deleted;
+    } while (deleted > 0 && deleted >= cleanupBatchSize);
+
     if (deletedCount > 0) {
       log.info("Cleaned up {} expired refresh tokens", deletedCount);
     }
@@ -0,0 +1,68 @@
+package com.example.budgettracker.service;
+
+import io.micrometer.core.annotation.Timed;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the reminder scan, outbox drain and delivered-reminder cleanup for this node's shard. Give
+ * every node the same {@code app.reminders.shard-count} and its own {@code
+ * app.reminders.shard-index}; a single node keeps the defaults (one shard).
+ */
+@Slf4j
+@Component
+public class ReminderScheduler {
+
+  private final ReminderService reminderService;
+  private final int shardCount;
+  private final int shardIndex;
+  private final int retentionDays;
+
+  public ReminderScheduler(
+      ReminderService reminderService,
+      @Value("${app.reminders.shard-count:1}") int shardCount,
+      @Value("${app.reminders.shard-index:0}") int shardIndex,
+      @Value("${app.reminders.retention-days:30}") int retentionDays) {
+    if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+      throw new IllegalStateException(
+          "app.reminders.shard-index must be in [0, " + shardCount + "), got " + shardIndex);
+    }
+    this.reminderService = reminderService;
+    this.shardCount = shardCount;
+    this.shardIndex = shardIndex;
+    this.retentionDays = retentionDays;
+  }
+
+  @Scheduled(cron = "${app.reminders.scan-cron:0 0 * * * *}")
+  @Timed(value = "reminder.scan", description = "Due-date reminder scans")
+  public void scan() {
+    int written = reminderService.scan(LocalDate.now(), shardCount, shardIndex);
+    if (written > 0) {
+      log.info("Queued {} reminders for shard {}/{}", written, shardIndex, shardCount);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.reminders.deliver-interval-ms:60000}")
+  @Timed(value = "reminder.delivery", description = "Reminder outbox drains")
+  public void deliver() {
+    int delivered = reminderService.deliverPending(shardCount, shardIndex);
+    if (delivered > 0) {
+      log.info("Delivered {} reminders for shard {}/{}", delivered, shardIndex, shardCount);
+    }
+  }
+
+  @Scheduled(cron = "${app.reminders.cleanup-cron:0 30 2 * * *}")
+  @Timed(value = "reminder.cleanup", description = "Delivered reminder cleanup runs")
+  public void cleanup() {
+    int deleted =
+        reminderService.deleteDelivered(
+            LocalDateTime.now().minusDays(retentionDays), shardCount, shardIndex);
+    if (deleted > 0) {
+      log.info("Deleted {} delivered reminders for shard {}/{}", deleted, shardIndex, shardCount);
+    }
+  }
+}
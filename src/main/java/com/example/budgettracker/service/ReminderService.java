@@ -0,0 +1,237 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.ReminderCandidate;
+import com.example.budgettracker.model.OccurrenceSource;
+import com.example.budgettracker.model.Reminder;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.ReminderRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Due-date reminder engine. {@link #scan} finds active subscriptions and bills due within the lead
+ * time and writes one outbox row per item and due date; {@link #deliverPending} drains the outbox
+ * into the {@link ReminderSink}. Both work on one shard of the users ({@code MOD(user id, shard
+ * count)}), so nodes configured with different shard indexes never touch the same reminder, and
+ * both commit page by page so a large run does not hold one long transaction. {@link
+ * #deleteDelivered} keeps the outbox from growing without bound.
+ */
+@Slf4j
+@Service
+public class ReminderService {
+
+  private static final int MAX_ERROR_LENGTH = 500;
+
+  private final ReminderRepository reminderRepository;
+  private final SubscriptionRepository subscriptionRepository;
+  private final BillRepository billRepository;
+  private final ReminderSink reminderSink;
+  private final TransactionTemplate transactionTemplate;
+  private final int leadDays;
+  private final int batchSize;
+  private final int maxAttempts;
+
+  public ReminderService(
+      ReminderRepository reminderRepository,
+      SubscriptionRepository subscriptionRepository,
+      BillRepository billRepository,
+      ReminderSink reminderSink,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.reminders.lead-days:3}") int leadDays,
+      @Value("${app.reminders.batch-size:500}") int batchSize,
+      @Value("${app.reminders.max-attempts:5}") int maxAttempts) {
+    this.reminderRepository = reminderRepository;
+    this.subscriptionRepository = subscriptionRepository;
+    this.billRepository = billRepository;
+    this.reminderSink = reminderSink;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.leadDays = leadDays;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+  }
+
+  /**
+   * Writes reminders for everything in the shard that is due from {@code today} through the lead
+   * time. Items that already have a reminder for their due date are skipped, so the scan can run as
+   * often as needed.
+   *
+   * @return number of reminders written
+   */
+  public int scan(LocalDate today, int shardCount, int shardIndex) {
+    LocalDate to = today.plusDays(leadDays);
+    return scan(
+            OccurrenceSource.SUBSCRIPTION,
+            subscriptionRepository::findDueForReminder,
+            today,
+            to,
+            shardCount,
+            shardIndex)
+        + scan(
+            OccurrenceSource.BILL,
+            billRepository::findDueForReminder,
+            today,
+            to,
+            shardCount,
+            shardIndex);
+  }
+
+  private int scan(
+      OccurrenceSource source,
+      DueItemQuery query,
+      LocalDate today,
+      LocalDate to,
+      int shardCount,
+      int shardIndex) {
+    // Start just before today; any id qualifies on the first page
+    LocalDate afterDate = today.minusDays(1);
+    long afterId = Long.MAX_VALUE;
+    int written = 0;
+    List<ReminderCandidate> page;
+    do {
+      page = query.find(afterDate, afterId, to, shardCount, shardIndex, Limit.of(batchSize));
+      if (page.isEmpty()) {
+        break;
+      }
+      List<ReminderCandidate> candidates = page;
+      written += transactionTemplate.execute(status -> write(source, candidates, today));
+      ReminderCandidate last = page.get(page.size() - 1);
+      afterDate = last.dueDate();
+      afterId = last.id();
+    } while (page.size() == batchSize);
+    return written;
+  }
+
+  private int write(OccurrenceSource source, List<ReminderCandidate> candidates, LocalDate today) {
+    Set<ReminderKey> existing =
+        reminderRepository
+            .findBySourceAndItemIdInAndDueDateGreaterThanEqual(
+                source, candidates.stream().map(ReminderCandidate::id).toList(), today)
+            .stream()
+            .map(r -> new ReminderKey(r.getItemId(), r.getDueDate()))
+            .collect(Collectors.toSet());
+
+    LocalDateTime now = LocalDateTime.now();
+    List<Reminder> reminders = new ArrayList<>();
+    for (ReminderCandidate candidate : candidates) {
+      if (existing.contains(new ReminderKey(candidate.id(), candidate.dueDate()))) {
+        continue;
+      }
+      Reminder reminder = new Reminder();
+      reminder.setAppUserId(candidate.appUserId());
+      reminder.setSource(source);
+      reminder.setItemId(candidate.id());
+      reminder.setDueDate(candidate.dueDate());
+      reminder.setName(candidate.name());
+      reminder.setAmount(candidate.amount());
+      reminder.setCreatedAt(now);
+      reminders.add(reminder);
+    }
+    reminderRepository.saveAll(reminders);
+    return reminders.size();
+  }
+
+  /**
+   * Hands every undelivered reminder of the shard to the sink. Each page is claimed first: the
+   * attempt is counted in a transaction of its own, so no transaction or row lock is held while the
+   * sink works, and the outcomes are recorded in a second one. Delivery is at-least-once: if the
+   * outcome is not recorded, the reminder is delivered again on the next drain.
+   *
+   * @return number of reminders delivered
+   */
+  public int deliverPending(int shardCount, int shardIndex) {
+    long afterId = 0;
+    int delivered = 0;
+    List<Reminder> page;
+    do {
+      long after = afterId;
+      page = transactionTemplate.execute(status -> claim(after, shardCount, shardIndex));
+      if (page.isEmpty()) {
+        break;
+      }
+      List<Outcome> outcomes = page.stream().map(this::deliver).toList();
+      transactionTemplate.executeWithoutResult(status -> record(outcomes));
+      delivered += (int) outcomes.stream().filter(outcome -> outcome.error() == null).count();
+      afterId = page.get(page.size() - 1).getId();
+    } while (page.size() == batchSize);
+    return delivered;
+  }
+
+  private List<Reminder> claim(long afterId, int shardCount, int shardIndex) {
+    List<Reminder> pending =
+        reminderRepository.findPending(
+            maxAttempts, afterId, shardCount, shardIndex, Limit.of(batchSize));
+    pending.forEach(reminder -> reminder.setAttempts(reminder.getAttempts() + 1));
+    return pending;
+  }
+
+  private Outcome deliver(Reminder reminder) {
+    try {
+      reminderSink.deliver(reminder);
+      return new Outcome(reminder.getId(), LocalDateTime.now(), null);
+    } catch (RuntimeException e) {
+      log.warn(
+          "Could not deliver reminder {} (attempt {})",
+          reminder.getId(),
+          reminder.getAttempts(),
+          e);
+      String message = String.valueOf(e.getMessage());
+      return new Outcome(
+          reminder.getId(),
+          null,
+          message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+    }
+  }
+
+  private void record(List<Outcome> outcomes) {
+    Map<Long, Outcome> byId =
+        outcomes.stream().collect(Collectors.toMap(Outcome::reminderId, outcome -> outcome));
+    for (Reminder reminder : reminderRepository.findAllById(byId.keySet())) {
+      Outcome outcome = byId.get(reminder.getId());
+      reminder.setDeliveredAt(outcome.deliveredAt());
+      reminder.setLastError(outcome.error());
+    }
+  }
+
+  /**
+   * Deletes the shard's reminders delivered before {@code cutoff}, in bounded chunks that each
+   * commit on their own, like the expired refresh token cleanup.
+   *
+   * @return number of reminders deleted
+   */
+  public int deleteDelivered(LocalDateTime cutoff, int shardCount, int shardIndex) {
+    int deletedCount = 0;
+    int deleted;
+    do {
+      deleted = reminderRepository.deleteDeliveredBatch(cutoff, shardCount, shardIndex, batchSize);
+      deletedCount += deleted;
+    } while (deleted > 0 && deleted >= batchSize);
+    return deletedCount;
+  }
+
+  private record Outcome(Long reminderId, LocalDateTime deliveredAt, String error) {}
+
+  private record ReminderKey(Long itemId, LocalDate dueDate) {}
+
+  @FunctionalInterface
+  private interface DueItemQuery {
+    List<ReminderCandidate> find(
+        LocalDate afterDate,
+        long afterId,
+        LocalDate to,
+        int shardCount,
+        int shardIndex,
+        Limit limit);
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.Reminder;
+
+/**
+ * Delivers a reminder from the outbox, e.g. by e-mail or push notification. Throwing marks the
+ * attempt as failed; the reminder is retried on the next drain until the attempt limit is reached.
+ * To replace the default {@link LoggingReminderSink}, declare another implementation as
+ * {@code @Primary}.
+ */
+public interface ReminderSink {
+  void deliver(Reminder reminder);
+}
@@ -0,0 +1,270 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.BillSummary;
+import com.example.budgettracker.dto.IncomeSummary;
+import com.example.budgettracker.dto.SubscriptionSummary;
+import com.example.budgettracker.model.Bill;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Income;
+import com.example.budgettracker.model.MonthlyRollup;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.RollupKind;
+import com.example.budgettracker.model.Subscription;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Changes to one user's {@link MonthlyRollup} rows, collected while items are written and applied
+ * by {@link MonthlyRollupService}. Removing an item subtracts exactly what adding it contributed,
+ * so an update is a remove of the old state followed by an add of the new one.
+ */
+final class RollupDelta {
+
+  // Normalized amounts are rounded once per item, so a removal cancels its addition exactly
+  private static final int SCALE = 6;
+
+  // Matches ROUND() in the V20 backfill for the positive amounts stored here
+  private static final RoundingMode HALF_UP = RoundingMode.HALF_UP;
+
+  private static final BigDecimal TWELVE = BigDecimal.valueOf(12);
+
+  private final Long userId;
+  private final Map<MonthlyRollup.Key, Change> changes = new HashMap<>();
+
+  RollupDelta(Long userId) {
+    this.userId = userId;
+  }
+
+  Long getUserId() {
+    return userId;
+  }
+
+  RollupDelta add(Subscription subscription) {
+    return subscription(subscription, 1);
+  }
+
+  RollupDelta remove(Subscription subscription) {
+    return subscription(subscription, -1);
+  }
+
+  RollupDelta add(Bill bill) {
+    return bill(bill, 1);
+  }
+
+  RollupDelta remove(Bill bill) {
+    return bill(bill, -1);
+  }
+
+  RollupDelta add(Income income) {
+    return income(income, 1);
+  }
+
+  RollupDelta remove(Income income) {
+    return income(income, -1);
+  }
+
+  RollupDelta add(SubscriptionSummary s) {
+    return subscription(
+        s.price(),
+        s.period(),
+        chartedFrom(s.firstBillingDate(), s.nextBillingDate()),
+        s.active(),
+        s.categoryId(),
+        1);
+  }
+
+  RollupDelta add(BillSummary b) {
+    return bill(
+        b.amount(),
+        b.period(),
+        b.dueDate(),
+        chartedFrom(b.firstDueDate(), b.dueDate()),
+        b.active(),
+        b.categoryId(),
+        1);
+  }
+
+  RollupDelta add(IncomeSummary i) {
+    return income(i.amount(), i.period(), i.incomeDate(), i.categoryId(), 1);
+  }
+
+  boolean isEmpty() {
+    return changes.values().stream().allMatch(Change::isZero);
+  }
+
+  /** Net change per row; entries that cancelled out are left out. */
+  Map<MonthlyRollup.Key, Change> changes() {
+    Map<MonthlyRollup.Key, Change> result = new HashMap<>(changes);
+    result.values().removeIf(Change::isZero);
+    return result;
+  }
+
+  private RollupDelta subscription(Subscription s, int sign) {
+    return subscription(
+        s.getPrice(),
+        s.getPeriod(),
+        chartedFrom(s.getFirstBillingDate(), s.getNextBillingDate()),
+        s.isActive(),
+        categoryId(s),
+        sign);
+  }
+
+  private RollupDelta bill(Bill b, int sign) {
+    Long categoryId = b.getCategory() != null ? b.getCategory().getId() : null;
+    return bill(
+        b.getAmount(),
+        b.getPeriod(),
+        b.getDueDate(),
+        chartedFrom(b.getFirstDueDate(), b.getDueDate()),
+        b.isActive(),
+        categoryId,
+        sign);
+  }
+
+  private RollupDelta income(Income i, int sign) {
+    Long categoryId = i.getCategory() != null ? i.getCategory().getId() : null;
+    return income(i.getAmount(), i.getPeriod(), i.getIncomeDate(), categoryId, sign);
+  }
+
+  private RollupDelta subscription(
+      BigDecimal price,
+      Period period,
+      LocalDate firstBillingDate,
+      boolean active,
+      Long categoryId,
+      int sign) {
+    if (active) {
+      // One-time subscriptions still count as active items, with no monthly amount
+      record(
+          RollupKind.SUBSCRIPTION,
+          firstRecurringMonth(firstBillingDate),
+          categoryId,
+          monthly(price, period),
+          sign);
+    }
+    return this;
+  }
+
+  private RollupDelta bill(
+      BigDecimal amount,
+      Period period,
+      LocalDate dueDate,
+      LocalDate firstDueDate,
+      boolean active,
+      Long categoryId,
+      int sign) {
+    if (!active) {
+      return this;
+    }
+    if (period == Period.ONE_TIME) {
+      record(RollupKind.BILL_ONE_TIME, monthOf(dueDate), categoryId, exact(amount), sign);
+    } else {
+      record(
+          RollupKind.BILL_RECURRING,
+          firstRecurringMonth(firstDueDate),
+          categoryId,
+          monthly(amount, period),
+          sign);
+    }
+    return this;
+  }
+
+  private RollupDelta income(
+      BigDecimal amount, Period period, LocalDate incomeDate, Long categoryId, int sign) {
+    if (period == Period.ONE_TIME) {
+      record(RollupKind.INCOME_ONE_TIME, monthOf(incomeDate), categoryId, exact(amount), sign);
+    } else {
+      // Recurring income counts from the month it started
+      record(
+          RollupKind.INCOME_RECURRING,
+          monthOf(incomeDate),
+          categoryId,
+          monthly(amount, period),
+          sign);
+    }
+    return this;
+  }
+
+  private void record(
+      RollupKind kind, LocalDate month, Long categoryId, BigDecimal amount, int sign) {
+    MonthlyRollup.Key key =
+        new MonthlyRollup.Key(
+            userId, month, kind, categoryId != null ? categoryId : MonthlyRollup.UNCATEGORIZED);
+    changes.computeIfAbsent(key, k -> new Change()).add(sign > 0 ? amount : amount.negate(), sign);
+  }
+
+  private static Long categoryId(Subscription subscription) {
+    Category category = subscription.getCategory();
+    return category != null ? category.getId() : null;
+  }
+
+  // Recurring expenses are charted from the date the user entered, not from the rolled anchor;
+  // rows written before that date was recorded fall back to the anchor
+  private static LocalDate chartedFrom(LocalDate firstDate, LocalDate anchor) {
+    return firstDate != null ? firstDate : anchor;
+  }
+
+  private static LocalDate monthOf(LocalDate date) {
+    return date == null ? MonthlyRollup.UNDATED : date.withDayOfMonth(1);
+  }
+
+  /**
+   * First month a recurring expense is charted in. An expense counts in month {@code m} while its
+   * date is no later than {@code lastDayOf(m).plusMonths(1)}, i.e. it already shows up in the month
+   * before its date unless that month is too short to hold the date's day.
+   */
+  static LocalDate firstRecurringMonth(LocalDate date) {
+    if (date == null) {
+      return MonthlyRollup.UNDATED;
+    }
+    YearMonth previous = YearMonth.from(date).minusMonths(1);
+    YearMonth first =
+        date.getDayOfMonth() <= previous.lengthOfMonth() ? previous : previous.plusMonths(1);
+    return first.atDay(1);
+  }
+
+  /** Monthly equivalent of an amount; one-time amounts have none. */
+  static BigDecimal monthly(BigDecimal amount, Period period) {
+    BigDecimal value = amount != null ? amount : BigDecimal.ZERO;
+    return switch (period) {
+      case DAILY -> value.multiply(BigDecimal.valueOf(365)).divide(TWELVE, SCALE, HALF_UP);
+      case WEEKLY -> value.multiply(BigDecimal.valueOf(52)).divide(TWELVE, SCALE, HALF_UP);
+      case MONTHLY -> exact(value);
+      case QUARTERLY -> value.divide(BigDecimal.valueOf(3), SCALE, HALF_UP);
+      case YEARLY -> value.divide(TWELVE, SCALE, HALF_UP);
+      case ONE_TIME -> BigDecimal.ZERO.setScale(SCALE);
+    };
+  }
+
+  private static BigDecimal exact(BigDecimal amount) {
+    return (amount != null ? amount : BigDecimal.ZERO).setScale(SCALE, HALF_UP);
+  }
+
+  /** Net amount and item count change of one rollup row. */
+  static final class Change {
+
+    private BigDecimal amount = BigDecimal.ZERO.setScale(SCALE);
+    private int itemCount;
+
+    private void add(BigDecimal amount, int items) {
+      this.amount = this.amount.add(amount);
+      this.itemCount += items;
+    }
+
+    BigDecimal getAmount() {
+      return amount;
+    }
+
+    int getItemCount() {
+      return itemCount;
+    }
+
+    boolean isZero() {
+      return itemCount == 0 && amount.signum() == 0;
+    }
+  }
+}
@@ -1,10 +1,16 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BatchResponse;
 import com.example.budgettracker.dto.SubscriptionRequest;
+import com.example.budgettracker.dto.SubscriptionSummary;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Subscription;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 public interface SubscriptionService {
 
@@ -15,9 +21,26 @@ public interface SubscriptionService {
 
   void deleteSubscriptionForUser(Long subscriptionId, AppUser user);
 
+  /**
+   * Applies the batch's updates, deletes and creates of subscriptions in one transaction; any
+   * missing or foreign item rolls back the whole batch.
+   */
+  BatchResponse<Subscription> applySubscriptionBatch(
+      BatchRequest<SubscriptionRequest> batch, AppUser user);
+
   /** Returns all subscriptions that belong to the given user. */
   java.util.List<Subscription> getSubscriptionsForUser(AppUser user);
 
   /** Returns paginated subscriptions that belong to the given user. */
   Page<Subscription> getSubscriptionsForUser(AppUser user, Pageable pageable);
+
+  /** Returns a page of the user's subscriptions as read-only listing rows. */
+  Page<SubscriptionSummary> getSubscriptionSummariesForUser(AppUser user, Pageable pageable);
+
+  /** Returns the next keyset slice of the user's subscriptions, without counting them. */
+  Window<Subscription> scrollSubscriptionsForUser(
+      AppUser user, ScrollPosition position, Sort sort, int limit);
+
+  /** Returns how many subscriptions the user has, cached until their data changes. */
+  long countSubscriptionsForUser(AppUser user);
 }
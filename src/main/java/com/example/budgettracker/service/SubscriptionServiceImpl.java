@@ -1,15 +1,32 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BatchResponse;
 import com.example.budgettracker.dto.SubscriptionRequest;
+import com.example.budgettracker.dto.SubscriptionSummary;
 import com.example.budgettracker.exception.SubscriptionNotFoundException;
 import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.OccurrenceSource;
 import com.example.budgettracker.model.Subscription;
 import com.example.budgettracker.repository.SubscriptionRepository;
 import com.example.budgettracker.util.SecurityUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,19 +39,17 @@ public class SubscriptionServiceImpl implements SubscriptionService {
   private final SubscriptionRepository subscriptionRepository;
   private final CategoryService categoryService;
   private final SecurityUtils securityUtils;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ListingCountCache listingCountCache;
+  private final MonthlyRollupService monthlyRollupService;
+  private final OccurrenceIndexService occurrenceIndexService;
 
   @Override
   @Transactional
   public Subscription saveSubscriptionForUser(SubscriptionRequest request, AppUser user) {
     Subscription subscription = new Subscription();
-    subscription.setName(request.getName());
-    subscription.setPrice(request.getPrice());
-    subscription.setPeriod(request.getPeriod());
-    subscription.setNextBillingDate(request.getNextBillingDate());
-    subscription.setActive(request.isActive());
+    copyRequest(request, subscription);
     subscription.setAppUser(user);
-    // maintain bidirectional relationship
-    user.getSubscriptions().add(subscription);
 
     // If no category is specified, use the default subscription category
     Category category;
@@ -44,8 +59,19 @@ public class SubscriptionServiceImpl implements SubscriptionService {
       category = categoryService.findOrCreateCategory(DEFAULT_SUBSCRIPTION_CATEGORY, user);
     }
     subscription.setCategory(category);
+    // Maintain the bidirectional relationship only now: the collection cascades, so a flush during
+    // the category lookup would otherwise insert the subscription without its category and then
+    // update it. The resolved user is usually a lazy reference, and touching its collection would
+    // load the user and all of their subscriptions; the owning side is persisted by save anyway.
+    if (subscriptionsLoaded(user)) {
+      user.getSubscriptions().add(subscription);
+    }
 
-    return subscriptionRepository.save(subscription);
+    Subscription saved = subscriptionRepository.save(subscription);
+    monthlyRollupService.apply(new RollupDelta(user.getId()).add(saved));
+    occurrenceIndexService.indexSubscriptions(List.of(saved));
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+    return saved;
   }
 
   @Override
@@ -60,11 +86,8 @@ public class SubscriptionServiceImpl implements SubscriptionService {
     securityUtils.validateResourceOwnership(
         subscription.getAppUser(), user, "subscription", subscriptionId);
 
-    subscription.setName(request.getName());
-    subscription.setPrice(request.getPrice());
-    subscription.setPeriod(request.getPeriod());
-    subscription.setNextBillingDate(request.getNextBillingDate());
-    subscription.setActive(request.isActive());
+    RollupDelta rollup = new RollupDelta(user.getId()).remove(subscription);
+    copyRequest(request, subscription);
 
     if (request.getCategoryId() != null) {
       Category category = categoryService.findByIdAndUser(request.getCategoryId(), user);
@@ -76,7 +99,12 @@ public class SubscriptionServiceImpl implements SubscriptionService {
       subscription.setCategory(defaultCategory);
     }
 
-    return subscriptionRepository.save(subscription);
+    Subscription saved = subscriptionRepository.save(subscription);
+    monthlyRollupService.apply(rollup.add(saved));
+    occurrenceIndexService.remove(OccurrenceSource.SUBSCRIPTION, List.of(saved.getId()));
+    occurrenceIndexService.indexSubscriptions(List.of(saved));
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+    return saved;
   }
 
   @Override
@@ -91,11 +119,108 @@ public class SubscriptionServiceImpl implements SubscriptionService {
         subscription.getAppUser(), user, "subscription", subscriptionId);
 
     subscriptionRepository.delete(subscription);
+    monthlyRollupService.apply(new RollupDelta(user.getId()).remove(subscription));
+    occurrenceIndexService.remove(OccurrenceSource.SUBSCRIPTION, List.of(subscriptionId));
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
 
     // maintain bidirectional relationship
     user.getSubscriptions().remove(subscription);
   }
 
+  @Override
+  @Transactional
+  public BatchResponse<Subscription> applySubscriptionBatch(
+      BatchRequest<SubscriptionRequest> batch, AppUser user) {
+    BatchCategories categories =
+        BatchCategories.load(
+            categoryService,
+            user,
+            DEFAULT_SUBSCRIPTION_CATEGORY,
+            Stream.concat(
+                    batch.getCreate().stream(),
+                    batch.getUpdate().stream().map(BatchRequest.Update::getItem))
+                .map(SubscriptionRequest::getCategoryId)
+                .toList());
+
+    // One query for every item the batch touches, then an ownership check per item
+    List<Long> ids =
+        Stream.concat(
+                batch.getUpdate().stream().map(BatchRequest.Update::getId),
+                batch.getDelete().stream())
+            .distinct()
+            .toList();
+    Map<Long, Subscription> existing =
+        subscriptionRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Subscription::getId, Function.identity()));
+    for (Long id : ids) {
+      Subscription subscription = existing.get(id);
+      if (subscription == null) {
+        throw new SubscriptionNotFoundException(id);
+      }
+      securityUtils.validateResourceOwnership(subscription.getAppUser(), user, "subscription", id);
+    }
+
+    RollupDelta rollup = new RollupDelta(user.getId());
+    List<Subscription> updated = new ArrayList<>();
+    for (BatchRequest.Update<SubscriptionRequest> update : batch.getUpdate()) {
+      Subscription subscription = existing.get(update.getId());
+      rollup.remove(subscription);
+      copyRequest(update.getItem(), subscription);
+      subscription.setCategory(categories.forId(update.getItem().getCategoryId()));
+      rollup.add(subscription);
+      updated.add(subscription);
+    }
+
+    List<Subscription> deleted = batch.getDelete().stream().map(existing::get).toList();
+    subscriptionRepository.deleteAll(deleted);
+    deleted.forEach(rollup::remove);
+    // Only maintain the user's collection if it is already loaded; touching it would load it
+    if (subscriptionsLoaded(user)) {
+      user.getSubscriptions().removeAll(deleted);
+    }
+
+    List<Subscription> created = new ArrayList<>();
+    for (SubscriptionRequest request : batch.getCreate()) {
+      Subscription subscription = new Subscription();
+      copyRequest(request, subscription);
+      subscription.setAppUser(user);
+      subscription.setCategory(categories.forId(request.getCategoryId()));
+      created.add(subscription);
+    }
+    if (subscriptionsLoaded(user)) {
+      user.getSubscriptions().addAll(created);
+    }
+    subscriptionRepository.saveAll(created);
+    created.forEach(rollup::add);
+    monthlyRollupService.apply(rollup);
+    // Updated and deleted items lose their occurrences in one statement
+    occurrenceIndexService.remove(OccurrenceSource.SUBSCRIPTION, ids);
+    occurrenceIndexService.indexSubscriptions(
+        Stream.concat(updated.stream(), created.stream()).toList());
+
+    eventPublisher.publishEvent(new UserFinancialDataChangedEvent(user.getId()));
+    return new BatchResponse<>(created, updated, batch.getDelete());
+  }
+
+  // Reading the collection of an uninitialized proxy would itself load the user row
+  private static boolean subscriptionsLoaded(AppUser user) {
+    return Hibernate.isInitialized(user) && Hibernate.isInitialized(user.getSubscriptions());
+  }
+
+  private void copyRequest(SubscriptionRequest request, Subscription subscription) {
+    subscription.setName(request.getName());
+    subscription.setPrice(request.getPrice());
+    subscription.setPeriod(request.getPeriod());
+    // Sending back the stored (possibly rolled) date keeps the schedule; any other date restarts it
+    if (subscription.getFirstBillingDate() == null
+        || !Objects.equals(request.getNextBillingDate(), subscription.getNextBillingDate())) {
+      subscription.setFirstBillingDate(request.getNextBillingDate());
+      subscription.setLastBillingDate(null);
+    }
+    subscription.setNextBillingDate(request.getNextBillingDate());
+    subscription.setActive(request.isActive());
+  }
+
   @Override
   @Transactional(readOnly = true)
   public java.util.List<Subscription> getSubscriptionsForUser(AppUser user) {
@@ -108,4 +233,25 @@ public class SubscriptionServiceImpl implements SubscriptionService {
   public Page<Subscription> getSubscriptionsForUser(AppUser user, Pageable pageable) {
     return subscriptionRepository.findByAppUser(user, pageable);
   }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Page<SubscriptionSummary> getSubscriptionSummariesForUser(
+      AppUser user, Pageable pageable) {
+    return subscriptionRepository.findSummariesByAppUser(user, pageable);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Window<Subscription> scrollSubscriptionsForUser(
+      AppUser user, ScrollPosition position, Sort sort, int limit) {
+    return subscriptionRepository.findByAppUser(user, position, sort, Limit.of(limit));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long countSubscriptionsForUser(AppUser user) {
+    return listingCountCache.count(
+        user.getId(), "subscriptions", () -> subscriptionRepository.countByAppUser(user));
+  }
 }
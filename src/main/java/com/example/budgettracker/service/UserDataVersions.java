@@ -0,0 +1,38 @@
+package com.example.budgettracker.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * A per-user version that moves forward whenever the user's financial data changes. Caches of
+ * derived views put the version into their keys: a change makes every older entry unreachable in
+ * one step, without scanning the cache, and a value loaded from data read before the change is
+ * stored under the old version, so it is never served afterwards. Unreachable entries age out of
+ * the cache through its own size and expiry bounds.
+ */
+@Component
+public class UserDataVersions {
+
+  // One small entry per user who has written since startup
+  private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+  public long current(Long userId) {
+    return versions.getOrDefault(userId, 0L);
+  }
+
+  /** Makes every view cached under the user's current version stale. */
+  public void advance(Long userId) {
+    versions.merge(userId, 1L, Long::sum);
+  }
+
+  // Runs after the writing transaction has committed, so a load that sees the new version also
+  // sees the new data
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserFinancialDataChanged(UserFinancialDataChangedEvent event) {
+    if (event.getUserId() != null) {
+      advance(event.getUserId());
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.budgettracker.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published whenever a user's subscriptions, bills, incomes or categories are written, so derived
+ * views such as the dashboard can drop anything computed from the old data.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserFinancialDataChangedEvent {
+
+  private final Long userId;
+}
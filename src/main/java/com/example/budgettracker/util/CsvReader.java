@@ -0,0 +1,127 @@
+package com.example.budgettracker.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forward-only RFC 4180 reader that returns one record at a time, so arbitrarily large files are
+ * parsed in constant memory. Quoted fields may contain delimiters, doubled quotes and line breaks.
+ * The delimiter (comma, semicolon or tab) is detected from the first line, since bank exports
+ * differ by locale.
+ */
+public final class CsvReader implements Closeable {
+
+  private static final char[] CANDIDATE_DELIMITERS = {',', ';', '\t'};
+  private static final int DETECTION_LIMIT = 8192;
+
+  private final BufferedReader reader;
+  private final char delimiter;
+  private int records;
+
+  public CsvReader(Reader reader) throws IOException {
+    this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    skipByteOrderMark();
+    this.delimiter = detectDelimiter();
+  }
+
+  public char getDelimiter() {
+    return delimiter;
+  }
+
+  /** Number of records returned so far, header included. */
+  public int getRecordCount() {
+    return records;
+  }
+
+  /** Returns the next non-blank record, or {@code null} at the end of the input. */
+  public List<String> readRecord() throws IOException {
+    List<String> record;
+    do {
+      record = readRawRecord();
+    } while (record != null && record.size() == 1 && record.get(0).isBlank());
+    if (record != null) {
+      records++;
+    }
+    return record;
+  }
+
+  private List<String> readRawRecord() throws IOException {
+    int c = reader.read();
+    if (c == -1) {
+      return null;
+    }
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      if (c == -1) {
+        if (quoted) {
+          throw new IOException("Unterminated quoted field at end of input");
+        }
+        fields.add(field.toString());
+        return fields;
+      }
+      if (quoted) {
+        if (c == '"') {
+          int next = reader.read();
+          if (next != '"') {
+            quoted = false;
+            c = next;
+            continue;
+          }
+        }
+        field.append((char) c);
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else if (c == delimiter) {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n') {
+        fields.add(field.toString());
+        return fields;
+      } else if (c != '\r') {
+        field.append((char) c);
+      }
+      c = reader.read();
+    }
+  }
+
+  private void skipByteOrderMark() throws IOException {
+    reader.mark(1);
+    if (reader.read() != '\uFEFF') {
+      reader.reset();
+    }
+  }
+
+  private char detectDelimiter() throws IOException {
+    reader.mark(DETECTION_LIMIT);
+    char[] buffer = new char[DETECTION_LIMIT];
+    int length = reader.read(buffer, 0, DETECTION_LIMIT);
+    reader.reset();
+
+    char best = ',';
+    int bestCount = 0;
+    for (char candidate : CANDIDATE_DELIMITERS) {
+      int count = 0;
+      for (int i = 0; i < length && buffer[i] != '\n'; i++) {
+        if (buffer[i] == candidate) {
+          count++;
+        }
+      }
+      if (count > bestCount) {
+        best = candidate;
+        bestCount = count;
+      }
+    }
+    return best;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
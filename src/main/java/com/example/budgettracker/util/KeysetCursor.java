@@ -0,0 +1,95 @@
+package com.example.budgettracker.util;
+
+import com.example.budgettracker.dto.CursorPage;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Opaque continuation tokens for keyset pagination. A token carries the sort property and direction
+ * it was issued for plus the (sort value, id) of the last item returned, so the next slice starts
+ * with {@code WHERE (sortKey, id) > (:value, :id)} instead of an {@code OFFSET} scan.
+ */
+public final class KeysetCursor {
+
+  public static final int DEFAULT_SIZE = 20;
+  public static final int MAX_SIZE = 100;
+
+  private static final String ID = "id";
+  private static final String SEPARATOR = "\u0000";
+
+  private KeysetCursor() {}
+
+  /**
+   * How to read a sort property's value from an entity and how to parse it back from a token.
+   * Declared per listing through {@link SortRegistry#withKeyset}.
+   */
+  public record SortKey<T>(Function<String, Object> parser, Function<T, Object> extractor) {}
+
+  public static int clampSize(int size) {
+    return Math.max(1, Math.min(size, MAX_SIZE));
+  }
+
+  /** Decodes a token into a scroll position; {@code null} or blank starts from the beginning. */
+  public static ScrollPosition decode(
+      String cursor, String property, Sort.Direction direction, SortKey<?> sortKey) {
+    if (cursor == null || cursor.isBlank()) {
+      return ScrollPosition.keyset();
+    }
+    try {
+      String[] parts =
+          new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+              .split(SEPARATOR, 4);
+      if (parts.length != 4 || !parts[0].equals(property) || !parts[1].equals(direction.name())) {
+        throw invalidCursor();
+      }
+      Map<String, Object> keys = new LinkedHashMap<>();
+      keys.put(property, sortKey.parser().apply(parts[3]));
+      keys.put(ID, Long.valueOf(parts[2]));
+      return ScrollPosition.forward(keys);
+    } catch (IllegalArgumentException | DateTimeException e) {
+      throw invalidCursor();
+    }
+  }
+
+  private static ResponseStatusException invalidCursor() {
+    return new ResponseStatusException(
+        HttpStatus.BAD_REQUEST, "Invalid cursor for the requested sort order");
+  }
+
+  public static String encode(String property, Sort.Direction direction, Object value, Long id) {
+    String raw =
+        String.join(SEPARATOR, property, direction.name(), id.toString(), value.toString());
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Maps a window to a response slice, issuing the token for the slice after it. */
+  public static <T, R> CursorPage<R> toPage(
+      Window<T> window,
+      String property,
+      Sort.Direction direction,
+      SortKey<T> sortKey,
+      Function<T, Long> idExtractor,
+      Function<T, R> mapper,
+      Long totalElements) {
+    List<R> content = window.getContent().stream().map(mapper).toList();
+    String nextCursor = null;
+    if (window.hasNext() && !window.isEmpty()) {
+      T last = window.getContent().get(window.size() - 1);
+      nextCursor =
+          encode(property, direction, sortKey.extractor().apply(last), idExtractor.apply(last));
+    }
+    return new CursorPage<>(content, nextCursor, window.hasNext(), totalElements);
+  }
+}
@@ -0,0 +1,105 @@
+package com.example.budgettracker.util;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The sort keys a listing accepts. Each key is backed by a composite {@code (app_user_id, key, id)}
+ * index, so a sorted page is an index range scan rather than a sort over all of the user's rows.
+ * Keys that can also drive keyset pagination carry a {@link KeysetCursor.SortKey}, so the paged and
+ * the scrolling listing share one whitelist. Anything else is rejected with 400 before it reaches
+ * JPA.
+ *
+ * @param <T> the entity a scrolling listing returns
+ */
+public final class SortRegistry<T> {
+
+  private static final String ID = "id";
+
+  private final Set<String> keys;
+  private final Sort.Order defaultOrder;
+  private final Map<String, KeysetCursor.SortKey<T>> keysetKeys;
+
+  private SortRegistry(
+      Set<String> keys, Sort.Order defaultOrder, Map<String, KeysetCursor.SortKey<T>> keysetKeys) {
+    this.keys = keys;
+    this.defaultOrder = defaultOrder;
+    this.keysetKeys = keysetKeys;
+  }
+
+  /** Declares the allowed keys; the default order's property must be one of them. */
+  public static <T> SortRegistry<T> of(Sort.Order defaultOrder, String... keys) {
+    Set<String> allowed = Set.of(keys);
+    if (!allowed.contains(defaultOrder.getProperty())) {
+      throw new IllegalArgumentException(
+          "Default sort '" + defaultOrder.getProperty() + "' is not one of " + allowed);
+    }
+    return new SortRegistry<>(allowed, defaultOrder, Map.of());
+  }
+
+  /**
+   * Allows scrolling by one of the declared keys. Only non-null columns are suitable, since keyset
+   * comparisons skip null values.
+   */
+  public SortRegistry<T> withKeyset(
+      String key, Function<String, Object> parser, Function<T, Object> extractor) {
+    if (!keys.contains(key)) {
+      throw new IllegalArgumentException("Keyset sort '" + key + "' is not one of " + keys);
+    }
+    Map<String, KeysetCursor.SortKey<T>> scrollable = new HashMap<>(keysetKeys);
+    scrollable.put(key, new KeysetCursor.SortKey<>(parser, extractor));
+    return new SortRegistry<>(keys, defaultOrder, Map.copyOf(scrollable));
+  }
+
+  /** Parses {@code asc}/{@code desc} case-insensitively, rejecting anything else with 400. */
+  public static Sort.Direction direction(String value) {
+    return Sort.Direction.fromOptionalString(value)
+        .orElseThrow(
+            () ->
+                new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Unsupported sort direction '" + value + "'"));
+  }
+
+  /** Sort by the given key with the id as tie-breaker, matching the backing index. */
+  public Sort resolve(String key, Sort.Direction direction) {
+    if (!keys.contains(key)) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "Unsupported sort property '" + key + "', expected one of " + keys);
+    }
+    return Sort.by(new Sort.Order(direction, key), new Sort.Order(direction, ID));
+  }
+
+  /** Re-targets a bound pageable at an allowed sort; an unsorted request gets the default. */
+  public Pageable resolve(Pageable pageable) {
+    List<Sort.Order> orders = pageable.getSort().toList();
+    if (orders.size() > 1) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Only one sort property is supported");
+    }
+    Sort.Order order = orders.isEmpty() ? defaultOrder : orders.get(0);
+    return PageRequest.of(
+        pageable.getPageNumber(),
+        pageable.getPageSize(),
+        resolve(order.getProperty(), order.getDirection()));
+  }
+
+  /** Resolves a key declared with {@link #withKeyset}, rejecting anything else with 400. */
+  public KeysetCursor.SortKey<T> keysetKey(String key) {
+    KeysetCursor.SortKey<T> sortKey = keysetKeys.get(key);
+    if (sortKey == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "Unsupported sort property '" + key + "', expected one of " + keysetKeys.keySet());
+    }
+    return sortKey;
+  }
+}
@@ -0,0 +1,19 @@
+-- Composite indexes backing the whitelisted listing sorts. Each listing filters by
+-- app_user_id and orders by (key, id), so a page becomes an index range scan.
+
+CREATE INDEX idx_subscription_user_name ON subscription(app_user_id, name, id);
+CREATE INDEX idx_subscription_user_price ON subscription(app_user_id, price, id);
+CREATE INDEX idx_subscription_user_next_billing ON subscription(app_user_id, next_billing_date, id);
+
+CREATE INDEX idx_bill_user_name ON bill(app_user_id, name, id);
+CREATE INDEX idx_bill_user_amount ON bill(app_user_id, amount, id);
+CREATE INDEX idx_bill_user_due_date ON bill(app_user_id, due_date, id);
+
+CREATE INDEX idx_income_user_date ON income(app_user_id, income_date, id);
+CREATE INDEX idx_income_user_name ON income(app_user_id, name, id);
+CREATE INDEX idx_income_user_amount ON income(app_user_id, amount, id);
+
+-- The composites lead with app_user_id, so the single-column user indexes are redundant
+DROP INDEX IF EXISTS idx_subscription_user;
+DROP INDEX IF EXISTS idx_bill_user;
+DROP INDEX IF EXISTS idx_income_user;
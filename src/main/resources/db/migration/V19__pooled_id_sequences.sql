@@ -0,0 +1,6 @@
+-- Subscription, bill and income ids are now allocated by Hibernate in blocks of 50 from the
+-- existing BIGSERIAL sequences, so inserts can be sent as JDBC batches. The allocation size in
+-- the entity mappings must match the increment here.
+ALTER SEQUENCE subscription_id_seq INCREMENT BY 50;
+ALTER SEQUENCE bill_id_seq INCREMENT BY 50;
+ALTER SEQUENCE income_id_seq INCREMENT BY 50;
@@ -0,0 +1,80 @@
+-- Per-user dashboard totals by month, kind and category, maintained by deltas on every write
+-- (see MonthlyRollupService). Recurring kinds hold monthly-normalized amounts under the month the
+-- item starts to apply; one-time kinds hold raw amounts under their own month. Undated items are
+-- filed under 1970-01-01 and uncategorized ones under category 0, so the key never holds NULLs.
+CREATE TABLE monthly_rollup (
+    app_user_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    kind VARCHAR(32) NOT NULL,
+    category_id BIGINT NOT NULL,
+    amount NUMERIC(19,6) NOT NULL,
+    item_count INTEGER NOT NULL,
+    PRIMARY KEY (app_user_id, month_start, kind, category_id),
+    FOREIGN KEY (app_user_id) REFERENCES app_user(id) ON DELETE CASCADE
+);
+
+-- Backfill from existing items. Normalization and rounding match RollupDelta, so later deltas
+-- cancel these amounts exactly.
+INSERT INTO monthly_rollup (app_user_id, month_start, kind, category_id, amount, item_count)
+SELECT app_user_id, month_start, kind, category_id, SUM(amount), COUNT(*)
+FROM (
+    SELECT s.app_user_id,
+           CASE
+               WHEN s.next_billing_date IS NULL THEN DATE '1970-01-01'
+               WHEN EXTRACT(DAY FROM s.next_billing_date)
+                    <= EXTRACT(DAY FROM date_trunc('month', s.next_billing_date) - INTERVAL '1 day')
+                   THEN CAST(date_trunc('month', s.next_billing_date) - INTERVAL '1 month' AS DATE)
+               ELSE CAST(date_trunc('month', s.next_billing_date) AS DATE)
+           END AS month_start,
+           'SUBSCRIPTION' AS kind,
+           COALESCE(s.category_id, 0) AS category_id,
+           CASE s.period
+               WHEN 'DAILY' THEN ROUND(COALESCE(s.price, 0) * 365 / 12, 6)
+               WHEN 'WEEKLY' THEN ROUND(COALESCE(s.price, 0) * 52 / 12, 6)
+               WHEN 'MONTHLY' THEN COALESCE(s.price, 0)
+               WHEN 'QUARTERLY' THEN ROUND(COALESCE(s.price, 0) / 3, 6)
+               WHEN 'YEARLY' THEN ROUND(COALESCE(s.price, 0) / 12, 6)
+               ELSE 0
+           END AS amount
+    FROM subscription s
+    WHERE s.is_active
+
+    UNION ALL
+
+    SELECT b.app_user_id,
+           CASE
+               WHEN b.due_date IS NULL THEN DATE '1970-01-01'
+               WHEN b.period = 'ONE_TIME' THEN CAST(date_trunc('month', b.due_date) AS DATE)
+               WHEN EXTRACT(DAY FROM b.due_date)
+                    <= EXTRACT(DAY FROM date_trunc('month', b.due_date) - INTERVAL '1 day')
+                   THEN CAST(date_trunc('month', b.due_date) - INTERVAL '1 month' AS DATE)
+               ELSE CAST(date_trunc('month', b.due_date) AS DATE)
+           END,
+           CASE WHEN b.period = 'ONE_TIME' THEN 'BILL_ONE_TIME' ELSE 'BILL_RECURRING' END,
+           COALESCE(b.category_id, 0),
+           CASE b.period
+               WHEN 'DAILY' THEN ROUND(COALESCE(b.amount, 0) * 365 / 12, 6)
+               WHEN 'WEEKLY' THEN ROUND(COALESCE(b.amount, 0) * 52 / 12, 6)
+               WHEN 'QUARTERLY' THEN ROUND(COALESCE(b.amount, 0) / 3, 6)
+               WHEN 'YEARLY' THEN ROUND(COALESCE(b.amount, 0) / 12, 6)
+               ELSE COALESCE(b.amount, 0)
+           END
+    FROM bill b
+    WHERE b.is_active
+
+    UNION ALL
+
+    SELECT i.app_user_id,
+           CAST(date_trunc('month', i.income_date) AS DATE),
+           CASE WHEN i.period = 'ONE_TIME' THEN 'INCOME_ONE_TIME' ELSE 'INCOME_RECURRING' END,
+           COALESCE(i.category_id, 0),
+           CASE i.period
+               WHEN 'DAILY' THEN ROUND(i.amount * 365 / 12, 6)
+               WHEN 'WEEKLY' THEN ROUND(i.amount * 52 / 12, 6)
+               WHEN 'QUARTERLY' THEN ROUND(i.amount / 3, 6)
+               WHEN 'YEARLY' THEN ROUND(i.amount / 12, 6)
+               ELSE i.amount
+           END
+    FROM income i
+) items
+GROUP BY app_user_id, month_start, kind, category_id;
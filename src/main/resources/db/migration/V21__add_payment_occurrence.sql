@@ -0,0 +1,20 @@
+-- Upcoming due dates of subscriptions and bills and expected income dates, precomputed from today
+-- over the calendar horizon (see OccurrenceIndexService). Ids come from a pooled sequence so the
+-- rows of a re-indexed item are inserted as one JDBC batch. Recurrence math is not expressible
+-- here, so the table starts empty and OccurrenceIndexAdvancer fills it when the application starts.
+CREATE SEQUENCE payment_occurrence_id_seq INCREMENT BY 50;
+
+CREATE TABLE payment_occurrence (
+    id BIGINT PRIMARY KEY,
+    app_user_id BIGINT NOT NULL,
+    occurs_on DATE NOT NULL,
+    source VARCHAR(16) NOT NULL,
+    item_id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    amount NUMERIC(10,2) NOT NULL,
+    category_id BIGINT,
+    FOREIGN KEY (app_user_id) REFERENCES app_user(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_payment_occurrence_user_date ON payment_occurrence(app_user_id, occurs_on);
+CREATE INDEX idx_payment_occurrence_item ON payment_occurrence(source, item_id);
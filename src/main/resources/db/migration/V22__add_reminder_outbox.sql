@@ -0,0 +1,22 @@
+-- Outbox of due-date reminders (see ReminderService). The unique key lets the scan run repeatedly
+-- without queueing the same due date twice.
+CREATE SEQUENCE reminder_id_seq INCREMENT BY 50;
+
+CREATE TABLE reminder (
+    id BIGINT PRIMARY KEY,
+    app_user_id BIGINT NOT NULL,
+    source VARCHAR(16) NOT NULL,
+    item_id BIGINT NOT NULL,
+    due_date DATE NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    amount NUMERIC(10,2),
+    created_at TIMESTAMP NOT NULL,
+    delivered_at TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    CONSTRAINT uk_reminder_item_due_date UNIQUE (source, item_id, due_date),
+    FOREIGN KEY (app_user_id) REFERENCES app_user(id) ON DELETE CASCADE
+);
+
+-- The drain only ever reads undelivered rows in id order; keep that index small
+CREATE INDEX idx_reminder_pending ON reminder(id) WHERE delivered_at IS NULL;
@@ -0,0 +1,11 @@
+-- The anchor roller (RecurrenceAnchorRoller) moves past-due next_billing_date / due_date values
+-- forward and keeps the occurrence before them in last_*. first_* keeps the date the user entered,
+-- which the monthly rollup charts recurring expenses from. The backfill makes first_* equal to
+-- the anchor the V20 rollup backfill used, so existing rollup rows stay exact.
+ALTER TABLE subscription ADD COLUMN first_billing_date DATE;
+ALTER TABLE subscription ADD COLUMN last_billing_date DATE;
+UPDATE subscription SET first_billing_date = next_billing_date;
+
+ALTER TABLE bill ADD COLUMN first_due_date DATE;
+ALTER TABLE bill ADD COLUMN last_due_date DATE;
+UPDATE bill SET first_due_date = due_date;
@@ -0,0 +1,3 @@
+-- The retention cleanup (ReminderService.deleteDelivered) deletes delivered reminders by age;
+-- pending rows are covered by idx_reminder_pending, so only delivered rows are indexed here
+CREATE INDEX idx_reminder_delivered_at ON reminder(delivered_at) WHERE delivered_at IS NOT NULL;
@@ -2,7 +2,9 @@ package com.example.budgettracker;
 
 import com.example.budgettracker.dto.SubscriptionRequest;
 import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Bill;
 import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Income;
 import com.example.budgettracker.model.Period;
 import com.example.budgettracker.model.Subscription;
 import java.math.BigDecimal;
@@ -71,4 +73,36 @@ public final class TestDataBuilder {
     subscription.setCategory(category);
     return subscription;
   }
+
+  public static Bill createTestBill(
+      Long id,
+      String name,
+      BigDecimal amount,
+      Period period,
+      LocalDate dueDate,
+      AppUser user,
+      Category category) {
+    Bill bill = new Bill();
+    bill.setId(id);
+    bill.setName(name);
+    bill.setAmount(amount);
+    bill.setPeriod(period);
+    bill.setDueDate(dueDate);
+    bill.setActive(true);
+    bill.setAppUser(user);
+    bill.setCategory(category);
+    return bill;
+  }
+
+  public static Income createTestIncome(
+      Long id, String name, BigDecimal amount, Period period, LocalDate incomeDate, AppUser user) {
+    Income income = new Income();
+    income.setId(id);
+    income.setName(name);
+    income.setAmount(amount);
+    income.setPeriod(period);
+    income.setIncomeDate(incomeDate);
+    income.setAppUser(user);
+    return income;
+  }
 }
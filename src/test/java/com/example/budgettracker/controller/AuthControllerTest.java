@@ -31,6 +31,8 @@ class AuthControllerTest {
 
   @MockitoBean private com.example.budgettracker.service.JwtService jwtService;
 
+  @MockitoBean private com.example.budgettracker.security.KnownUserCache knownUserCache;
+
   @Test
   @WithMockUser(username = "test@example.com")
   void testAuthStatusWhenAuthenticated() throws Exception {
@@ -50,6 +50,8 @@ class SubscriptionControllerTest {
 
   @MockitoBean private com.example.budgettracker.service.JwtService jwtService;
 
+  @MockitoBean private com.example.budgettracker.security.KnownUserCache knownUserCache;
+
   private Jwt mockJwt;
   private AppUser mockAppUser;
   private SubscriptionRequest validRequest;
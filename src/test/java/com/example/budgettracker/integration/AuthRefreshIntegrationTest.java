@@ -0,0 +1,108 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.dto.TokenPair;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.RefreshToken;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.RefreshTokenRepository;
+import com.example.budgettracker.service.RefreshTokenService;
+import jakarta.servlet.http.Cookie;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class AuthRefreshIntegrationTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private RefreshTokenService refreshTokenService;
+
+  @Autowired private RefreshTokenRepository refreshTokenRepository;
+
+  private AppUser testUser;
+  private TokenPair tokenPair;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser("refresh-google-sub", "Refresh User", "refresh@example.com", "pic.jpg"));
+    tokenPair = refreshTokenService.generateTokenPair(testUser, "test-agent", "127.0.0.1");
+  }
+
+  @Test
+  void shouldRefreshAndReturnUserInfo() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/auth/refresh")
+                .header("User-Agent", "test-agent")
+                .cookie(new Cookie("refresh_token", tokenPair.getRefreshToken())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.accessToken").isNotEmpty())
+        .andExpect(jsonPath("$.user.id").value(testUser.getId()))
+        .andExpect(jsonPath("$.user.email").value("refresh@example.com"));
+  }
+
+  @Test
+  void shouldRejectReplayedRefreshToken() throws Exception {
+    Cookie used = new Cookie("refresh_token", tokenPair.getRefreshToken());
+    mockMvc
+        .perform(post("/api/auth/refresh").header("User-Agent", "test-agent").cookie(used))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(post("/api/auth/refresh").header("User-Agent", "test-agent").cookie(used))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void shouldKeepOnlyNewestTokensPerUser() {
+    for (int i = 0; i < 7; i++) {
+      refreshTokenService.generateTokenPair(testUser, "test-agent", "127.0.0.1");
+    }
+
+    assertThat(refreshTokenRepository.findAll())
+        .filteredOn(token -> token.getAppUser().getId().equals(testUser.getId()))
+        .hasSize(5);
+  }
+
+  @Test
+  void shouldDeleteExpiredTokensInChunks() {
+    for (int i = 0; i < 3; i++) {
+      refreshTokenRepository.save(
+          new RefreshToken(
+              "expired-" + i, testUser, LocalDateTime.now().minusDays(1), "agent", "127.0.0.1"));
+    }
+
+    assertThat(refreshTokenRepository.deleteExpiredTokensBatch(LocalDateTime.now(), 2))
+        .isEqualTo(2);
+    refreshTokenService.cleanupExpiredTokens();
+
+    assertThat(refreshTokenRepository.findAll())
+        .noneMatch(token -> token.getTokenHash().startsWith("expired-"));
+  }
+
+  @Test
+  void shouldRejectUnknownRefreshToken() throws Exception {
+    mockMvc
+        .perform(post("/api/auth/refresh").cookie(new Cookie("refresh_token", "unknown")))
+        .andExpect(status().isUnauthorized());
+  }
+}
@@ -0,0 +1,194 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.dto.ImportJobResponse;
+import com.example.budgettracker.dto.ImportJobResponse.RowError;
+import com.example.budgettracker.metrics.QueryCounter;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Income;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.service.BankStatementImportService;
+import jakarta.persistence.EntityManager;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class BankStatementImportIntegrationTest {
+
+  private static final String GOOGLE_SUB = "import-google-sub";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private BankStatementImportService importService;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private CategoryRepository categoryRepository;
+
+  @Autowired private IncomeRepository incomeRepository;
+
+  @Autowired private BillRepository billRepository;
+
+  private AppUser testUser;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser(GOOGLE_SUB, "Import User", "import@example.com", "pic.jpg"));
+    categoryRepository.save(new Category("Groceries", testUser));
+  }
+
+  @Nested
+  @DisplayName("Statement parsing")
+  class Parsing {
+
+    @Test
+    @DisplayName("Should import credits as income and debits as bills")
+    void shouldImportCreditsAndDebits() {
+      String csv =
+          """
+          Booking Date;Payee;Amount;Category
+          2024-01-31;Employer Ltd;3.000,00;Salary
+          15.01.2024;"Corner Shop; Main St";-42,10;groceries
+          2024-01-16;Cinema;-12,00;
+          """;
+
+      ImportJobResponse result = importStatement(csv);
+
+      assertThat(result.getStatus()).isEqualTo(ImportJobResponse.Status.COMPLETED);
+      assertThat(result.getRowsProcessed()).isEqualTo(3);
+      assertThat(result.getIncomesImported()).isEqualTo(1);
+      assertThat(result.getBillsImported()).isEqualTo(2);
+      assertThat(result.getRowsFailed()).isZero();
+
+      Income income = incomeRepository.findByAppUser(testUser).get(0);
+      assertThat(income.getAmount()).isEqualByComparingTo("3000.00");
+      assertThat(income.getIncomeDate()).isEqualTo(LocalDate.of(2024, 1, 31));
+      assertThat(income.getCategory().getName()).isEqualTo("Salary");
+      assertThat(billRepository.findByAppUser(testUser))
+          .anySatisfy(
+              bill -> {
+                assertThat(bill.getName()).isEqualTo("Corner Shop; Main St");
+                assertThat(bill.getAmount()).isEqualByComparingTo(new BigDecimal("42.10"));
+                assertThat(bill.getCategory().getName()).isEqualTo("Groceries");
+              });
+    }
+
+    @Test
+    @DisplayName("Should skip invalid rows and report them by row number")
+    void shouldReportInvalidRows() {
+      String csv =
+          """
+          date,description,amount
+          2024-01-01,Refund,10.00
+          yesterday,Coffee,-3.50
+          2024-01-02,Nothing,0
+          2024-01-03,,-5.00
+          2024-01-04,Rent,-1200.00
+          """;
+
+      ImportJobResponse result = importStatement(csv);
+
+      assertThat(result.getStatus()).isEqualTo(ImportJobResponse.Status.COMPLETED);
+      assertThat(result.getIncomesImported()).isEqualTo(1);
+      assertThat(result.getBillsImported()).isEqualTo(1);
+      assertThat(result.getRowsFailed()).isEqualTo(3);
+      assertThat(result.getErrors()).extracting(RowError::getRow).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    @DisplayName("Should fail the import when a required column is missing")
+    void shouldFailWithoutRequiredColumns() {
+      ImportJobResponse result = importStatement("date,amount\n2024-01-01,10.00\n");
+
+      assertThat(result.getStatus()).isEqualTo(ImportJobResponse.Status.FAILED);
+      assertThat(result.getMessage()).isEqualTo("Missing a name column");
+      assertThat(incomeRepository.findByAppUser(testUser)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should persist large files in chunks with batched inserts")
+    void shouldPersistInChunks() {
+      StringBuilder csv = new StringBuilder("date,description,amount,category\n");
+      for (int i = 0; i < 1200; i++) {
+        csv.append("2024-02-01,Row ")
+            .append(i)
+            .append(',')
+            .append(i % 2 == 0 ? "25.00" : "-25.00")
+            .append(",Groceries\n");
+      }
+
+      try (QueryCounter.Scope queries = QueryCounter.open()) {
+        ImportJobResponse result = importStatement(csv.toString());
+        entityManager.flush();
+
+        assertThat(result.getIncomesImported()).isEqualTo(600);
+        assertThat(result.getBillsImported()).isEqualTo(600);
+        // Categories are resolved from the per-import cache, so statements scale with chunks
+        assertThat(queries.count()).isLessThan(120);
+      }
+      assertThat(billRepository.countByAppUser(testUser)).isEqualTo(600);
+    }
+  }
+
+  @Nested
+  @DisplayName("Import endpoints")
+  class Endpoints {
+
+    @Test
+    @DisplayName("Should reject an empty upload")
+    void shouldRejectEmptyUpload() throws Exception {
+      mockMvc
+          .perform(
+              multipart("/api/import/bank-statement")
+                  .file(new MockMultipartFile("file", "statement.csv", "text/csv", new byte[0]))
+                  .with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+          .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for unknown imports")
+    void shouldReturnNotFoundForUnknownImport() throws Exception {
+      mockMvc
+          .perform(
+              get("/api/import/{id}", UUID.randomUUID())
+                  .with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+          .andExpect(status().isNotFound());
+    }
+  }
+
+  private ImportJobResponse importStatement(String csv) {
+    ImportJobResponse result = importService.importStatement(testUser, new StringReader(csv));
+    entityManager.flush();
+    entityManager.clear();
+    return result;
+  }
+}
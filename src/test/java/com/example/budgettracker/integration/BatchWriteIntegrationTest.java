@@ -0,0 +1,206 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.TestDataBuilder;
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.IncomeRequest;
+import com.example.budgettracker.dto.SubscriptionRequest;
+import com.example.budgettracker.metrics.QueryCounter;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.service.SubscriptionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class BatchWriteIntegrationTest {
+
+  private static final String GOOGLE_SUB = "batch-google-sub";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private CategoryRepository categoryRepository;
+
+  @Autowired private SubscriptionRepository subscriptionRepository;
+
+  @Autowired private IncomeRepository incomeRepository;
+
+  @Autowired private SubscriptionService subscriptionService;
+
+  private AppUser testUser;
+  private Category category;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser(GOOGLE_SUB, "Batch User", "batch@example.com", "pic.jpg"));
+    category = categoryRepository.save(new Category("Streaming", testUser));
+  }
+
+  @Nested
+  @DisplayName("Subscription batches")
+  class SubscriptionBatches {
+
+    @Test
+    @DisplayName("Should apply creates, updates and deletes together")
+    void shouldApplyCreatesUpdatesAndDeletes() throws Exception {
+      Subscription kept = saveSubscription("Kept");
+      Subscription removed = saveSubscription("Removed");
+
+      BatchRequest<SubscriptionRequest> batch = new BatchRequest<>();
+      batch.setCreate(List.of(subscriptionRequest("New A"), subscriptionRequest("New B")));
+      BatchRequest.Update<SubscriptionRequest> update = new BatchRequest.Update<>();
+      update.setId(kept.getId());
+      update.setItem(subscriptionRequest("Renamed"));
+      batch.setUpdate(List.of(update));
+      batch.setDelete(List.of(removed.getId()));
+
+      postBatch("/api/subscriptions/batch", batch)
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.created.length()").value(2))
+          .andExpect(jsonPath("$.created[0].id").isNumber())
+          .andExpect(jsonPath("$.created[0].categoryName").value("Streaming"))
+          .andExpect(jsonPath("$.updated[0].name").value("Renamed"))
+          .andExpect(jsonPath("$.deleted[0]").value(removed.getId()));
+
+      entityManager.flush();
+      entityManager.clear();
+      assertThat(subscriptionRepository.findByAppUser(testUser))
+          .extracting(Subscription::getName)
+          .containsExactlyInAnyOrder("Renamed", "New A", "New B");
+    }
+
+    @Test
+    @DisplayName("Should insert hundreds of items with batched statements")
+    void shouldBatchInserts() throws Exception {
+      BatchRequest<SubscriptionRequest> batch = new BatchRequest<>();
+      batch.setCreate(
+          IntStream.range(0, 200).mapToObj(i -> subscriptionRequest("Item " + i)).toList());
+
+      try (QueryCounter.Scope queries = QueryCounter.open()) {
+        postBatch("/api/subscriptions/batch", batch)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created.length()").value(200));
+        entityManager.flush();
+
+        // User and category lookups, a handful of sequence calls and one statement per JDBC batch,
+        // for the subscriptions and for their 600 calendar occurrences
+        assertThat(queries.count()).isLessThan(30);
+      }
+      assertThat(subscriptionRepository.countByAppUser(testUser)).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should leave a lazily referenced user unloaded")
+    void shouldNotLoadReferencedUser() {
+      entityManager.flush();
+      entityManager.clear();
+      AppUser reference = appUserRepository.getReferenceById(testUser.getId());
+      BatchRequest<SubscriptionRequest> batch = new BatchRequest<>();
+      batch.setCreate(List.of(subscriptionRequest("New A"), subscriptionRequest("New B")));
+
+      subscriptionService.applySubscriptionBatch(batch, reference);
+      subscriptionService.saveSubscriptionForUser(subscriptionRequest("Single"), reference);
+
+      assertThat(Hibernate.isInitialized(reference)).isFalse();
+      assertThat(subscriptionRepository.countByAppUser(testUser)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject batches over the item limit")
+    void shouldRejectOversizedBatch() throws Exception {
+      BatchRequest<SubscriptionRequest> batch = new BatchRequest<>();
+      batch.setCreate(
+          IntStream.range(0, BatchRequest.MAX_ITEMS + 1)
+              .mapToObj(i -> subscriptionRequest("Item " + i))
+              .toList());
+
+      postBatch("/api/subscriptions/batch", batch).andExpect(status().isBadRequest());
+    }
+  }
+
+  @Nested
+  @DisplayName("Income batches")
+  class IncomeBatches {
+
+    @Test
+    @DisplayName("Should reject the whole batch when an entry is missing")
+    void shouldRejectBatchWithMissingEntry() throws Exception {
+      BatchRequest<IncomeRequest> batch = new BatchRequest<>();
+      IncomeRequest request = new IncomeRequest();
+      request.setName("Salary");
+      request.setAmount(new BigDecimal("3000.00"));
+      request.setIncomeDate(LocalDate.now());
+      request.setPeriod(Period.MONTHLY);
+      batch.setCreate(List.of(request));
+      batch.setDelete(List.of(Long.MAX_VALUE));
+
+      postBatch("/api/income/batch", batch).andExpect(status().isNotFound());
+
+      assertThat(incomeRepository.findByAppUser(testUser)).isEmpty();
+    }
+  }
+
+  private ResultActions postBatch(String path, BatchRequest<?> batch) throws Exception {
+    return mockMvc.perform(
+        post(path)
+            .with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB)))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(batch)));
+  }
+
+  private Subscription saveSubscription(String name) {
+    return subscriptionRepository.save(
+        TestDataBuilder.createTestSubscription(
+            null, name, new BigDecimal("9.99"), Period.MONTHLY, testUser, category));
+  }
+
+  private SubscriptionRequest subscriptionRequest(String name) {
+    SubscriptionRequest request = new SubscriptionRequest();
+    request.setName(name);
+    request.setPrice(new BigDecimal("9.99"));
+    request.setPeriod(Period.MONTHLY);
+    request.setNextBillingDate(LocalDate.now().plusDays(10));
+    request.setActive(true);
+    request.setCategoryId(category.getId());
+    return request;
+  }
+}
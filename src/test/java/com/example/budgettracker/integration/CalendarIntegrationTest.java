@@ -0,0 +1,258 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BillRequest;
+import com.example.budgettracker.dto.CalendarEntry;
+import com.example.budgettracker.dto.IncomeRequest;
+import com.example.budgettracker.dto.SubscriptionRequest;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Bill;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.PaymentOccurrenceRepository;
+import com.example.budgettracker.service.BillService;
+import com.example.budgettracker.service.IncomeService;
+import com.example.budgettracker.service.OccurrenceIndexAdvancer;
+import com.example.budgettracker.service.OccurrenceIndexService;
+import com.example.budgettracker.service.SubscriptionService;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class CalendarIntegrationTest {
+
+  private static final String GOOGLE_SUB = "calendar-google-sub";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private PaymentOccurrenceRepository paymentOccurrenceRepository;
+
+  @Autowired private OccurrenceIndexService occurrenceIndexService;
+
+  @Autowired private SubscriptionService subscriptionService;
+
+  @Autowired private BillService billService;
+
+  @Autowired private IncomeService incomeService;
+
+  private AppUser testUser;
+  private LocalDate today;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser(GOOGLE_SUB, "Calendar User", "calendar@example.com", "pic.jpg"));
+    today = LocalDate.now();
+  }
+
+  @Nested
+  @DisplayName("GET /api/calendar")
+  class GetCalendar {
+
+    @Test
+    @DisplayName("Should list occurrences in the range ordered by date with totals")
+    void shouldListUpcomingOccurrences() throws Exception {
+      subscriptionService.saveSubscriptionForUser(
+          subscription("Netflix", "15.00", Period.MONTHLY, today.plusDays(3)), testUser);
+      billService.saveBillForUser(bill("Gym", "20.00", Period.WEEKLY, today.plusDays(1)), testUser);
+      billService.saveBillForUser(
+          bill("Insurance", "300.00", Period.YEARLY, today.plusDays(200)), testUser);
+      incomeService.saveIncomeForUser(
+          income("Salary", "3000.00", Period.MONTHLY, today.plusDays(10)), testUser);
+      entityManager.flush();
+
+      mockMvc
+          .perform(
+              get("/api/calendar").param("days", "14").with(jwt().jwt(j -> j.subject(GOOGLE_SUB))))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.from").value(today.toString()))
+          .andExpect(jsonPath("$.to").value(today.plusDays(13).toString()))
+          .andExpect(jsonPath("$.entries", hasSize(4)))
+          .andExpect(jsonPath("$.entries[0].name").value("Gym"))
+          .andExpect(jsonPath("$.entries[0].date").value(today.plusDays(1).toString()))
+          .andExpect(jsonPath("$.entries[1].name").value("Netflix"))
+          .andExpect(jsonPath("$.entries[1].source").value("SUBSCRIPTION"))
+          .andExpect(jsonPath("$.entries[2].name").value("Gym"))
+          .andExpect(jsonPath("$.entries[3].name").value("Salary"))
+          .andExpect(jsonPath("$.totalDue").value(55.0))
+          .andExpect(jsonPath("$.totalIncome").value(3000.0));
+    }
+
+    @Test
+    @DisplayName("Should cap the range at the indexed horizon")
+    void shouldCapRangeAtHorizon() throws Exception {
+      mockMvc
+          .perform(
+              get("/api/calendar")
+                  .param("days", "10000")
+                  .with(jwt().jwt(j -> j.subject(GOOGLE_SUB))))
+          .andExpect(status().isOk())
+          .andExpect(
+              jsonPath("$.to")
+                  .value(today.plusDays(occurrenceIndexService.getHorizonDays() - 1L).toString()));
+    }
+
+    @Test
+    @DisplayName("Should return 401 when not authenticated")
+    void shouldRejectAnonymous() throws Exception {
+      mockMvc.perform(get("/api/calendar")).andExpect(status().isUnauthorized());
+    }
+  }
+
+  @Nested
+  @DisplayName("Index maintenance")
+  class Maintenance {
+
+    @Test
+    @DisplayName("Should re-index items when they are updated, paused or deleted")
+    void shouldFollowItemWrites() {
+      Subscription netflix =
+          subscriptionService.saveSubscriptionForUser(
+              subscription("Netflix", "15.00", Period.MONTHLY, today.plusDays(3)), testUser);
+      Bill gym = billService.saveBillForUser(bill("Gym", "20.00", Period.WEEKLY, today), testUser);
+      assertThat(indexedCount()).isEqualTo(3 + 13);
+
+      SubscriptionRequest paused = subscription("Netflix", "15.00", Period.MONTHLY, today);
+      paused.setActive(false);
+      subscriptionService.updateSubscriptionForUser(netflix.getId(), paused, testUser);
+      assertThat(indexedCount()).isEqualTo(13);
+
+      billService.deleteBillForUser(gym.getId(), testUser);
+      assertThat(indexedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should index batch writes and match a full rebuild")
+    void shouldMatchRebuildAfterBatch() {
+      BatchRequest<BillRequest> batch = new BatchRequest<>();
+      batch.setCreate(
+          List.of(
+              bill("Insurance", "300.00", Period.YEARLY, today.minusYears(1).plusDays(10)),
+              bill("Repair", "80.00", Period.ONE_TIME, today.plusDays(5)),
+              bill("Old repair", "40.00", Period.ONE_TIME, today.minusDays(5))));
+      billService.applyBillBatch(batch, testUser);
+      long indexed = indexedCount();
+      assertThat(indexed).isEqualTo(2);
+
+      assertThat(occurrenceIndexService.rebuildUser(testUser.getId())).isEqualTo(indexed);
+      assertThat(indexedCount()).isEqualTo(indexed);
+    }
+
+    @Test
+    @DisplayName("Should advance the window by the new days only and match a full rebuild")
+    void shouldAdvanceIncrementally() {
+      subscriptionService.saveSubscriptionForUser(
+          subscription("Netflix", "15.00", Period.MONTHLY, today.minusDays(20)), testUser);
+      billService.saveBillForUser(
+          bill("Gym", "20.00", Period.WEEKLY, today.minusDays(1)), testUser);
+      incomeService.saveIncomeForUser(
+          income("Salary", "3000.00", Period.DAILY, today.minusDays(3)), testUser);
+      int horizon = occurrenceIndexService.getHorizonDays();
+      Long userId = testUser.getId();
+      occurrenceIndexService.rebuildUser(userId, today);
+
+      // Three days later: the days that passed drop out and three new ones are indexed
+      LocalDate later = today.plusDays(3);
+      int added = occurrenceIndexService.advanceUser(userId, later, today.plusDays(horizon));
+      List<CalendarEntry> advanced = allEntries();
+      occurrenceIndexService.rebuildUser(userId, later);
+
+      assertThat(added)
+          .isEqualTo(
+              advanced.stream().filter(e -> e.date().isAfter(today.plusDays(horizon))).count());
+      assertThat(advanced).isNotEmpty().isEqualTo(allEntries());
+    }
+
+    @Test
+    @DisplayName("Should rebuild an index left behind by missed nightly runs on start")
+    void shouldRebuildStaleIndexOnStart() {
+      incomeService.saveIncomeForUser(
+          income("Salary", "3000.00", Period.DAILY, today.minusDays(10)), testUser);
+      Long userId = testUser.getId();
+      int horizon = occurrenceIndexService.getHorizonDays();
+      // As left by a last run three days ago
+      occurrenceIndexService.rebuildUser(userId, today.minusDays(3));
+      assertThat(allEntries()).noneMatch(e -> e.date().isAfter(today.plusDays(horizon - 3)));
+
+      OccurrenceIndexAdvancer restarted =
+          new OccurrenceIndexAdvancer(appUserRepository, occurrenceIndexService);
+      ReflectionTestUtils.setField(restarted, "batchSize", 500);
+      restarted.rebuildOnStart();
+      List<CalendarEntry> started = allEntries();
+      occurrenceIndexService.rebuildUser(userId, today);
+
+      assertThat(started).isNotEmpty().isEqualTo(allEntries());
+    }
+  }
+
+  private List<CalendarEntry> allEntries() {
+    entityManager.flush();
+    return paymentOccurrenceRepository.findEntriesByUserIdBetween(
+        testUser.getId(), today.minusYears(1), today.plusYears(1));
+  }
+
+  private long indexedCount() {
+    entityManager.flush();
+    return paymentOccurrenceRepository
+        .findEntriesByUserIdBetween(testUser.getId(), today, today.plusDays(89))
+        .size();
+  }
+
+  private SubscriptionRequest subscription(
+      String name, String price, Period period, LocalDate nextBillingDate) {
+    SubscriptionRequest request = new SubscriptionRequest();
+    request.setName(name);
+    request.setPrice(new BigDecimal(price));
+    request.setPeriod(period);
+    request.setNextBillingDate(nextBillingDate);
+    request.setActive(true);
+    return request;
+  }
+
+  private BillRequest bill(String name, String amount, Period period, LocalDate dueDate) {
+    BillRequest request = new BillRequest();
+    request.setName(name);
+    request.setAmount(new BigDecimal(amount));
+    request.setPeriod(period);
+    request.setDueDate(dueDate);
+    return request;
+  }
+
+  private IncomeRequest income(String name, String amount, Period period, LocalDate incomeDate) {
+    IncomeRequest request = new IncomeRequest();
+    request.setName(name);
+    request.setAmount(new BigDecimal(amount));
+    request.setPeriod(period);
+    request.setIncomeDate(incomeDate);
+    return request;
+  }
+}
@@ -0,0 +1,136 @@
+package com.example.budgettracker.integration;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Bill;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Income;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.service.MonthlyRollupService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class DashboardIntegrationTest {
+
+  private static final String GOOGLE_SUB = "dashboard-google-sub";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private CategoryRepository categoryRepository;
+
+  @Autowired private SubscriptionRepository subscriptionRepository;
+
+  @Autowired private BillRepository billRepository;
+
+  @Autowired private IncomeRepository incomeRepository;
+
+  @Autowired private MonthlyRollupService monthlyRollupService;
+
+  private AppUser testUser;
+  private Category testCategory;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser(GOOGLE_SUB, "Dashboard User", "dash@example.com", "pic.jpg"));
+    testCategory = categoryRepository.save(new Category("Housing", testUser));
+
+    saveSubscription("Netflix", "15.00", Period.MONTHLY, true);
+    saveSubscription("Cloud", "120.00", Period.YEARLY, true);
+    saveSubscription("Cancelled", "50.00", Period.MONTHLY, false);
+
+    saveBill("Rent", "1000.00", Period.MONTHLY, LocalDate.now().minusMonths(3));
+    saveBill("Repair", "200.00", Period.ONE_TIME, LocalDate.now());
+    saveBill("Old repair", "80.00", Period.ONE_TIME, LocalDate.now().minusYears(1));
+
+    saveIncome("Salary", "3000.00", Period.MONTHLY, LocalDate.now().minusYears(1));
+    saveIncome("Bonus", "500.00", Period.ONE_TIME, LocalDate.now());
+    saveIncome("Old bonus", "700.00", Period.ONE_TIME, LocalDate.now().minusYears(1));
+
+    // Items were saved through the repositories, bypassing the deltas the services apply
+    monthlyRollupService.reconcileUser(testUser.getId());
+  }
+
+  @Test
+  void shouldAggregateOverviewInDatabase() throws Exception {
+    mockMvc
+        .perform(get("/api/dashboard/overview").with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalIncome").value(3500.0))
+        .andExpect(jsonPath("$.subscriptionExpenses").value(25.0))
+        .andExpect(jsonPath("$.billExpenses").value(1200.0))
+        .andExpect(jsonPath("$.totalExpenses").value(1225.0))
+        .andExpect(jsonPath("$.activeSubscriptions").value(2))
+        .andExpect(jsonPath("$.activeBills").value(3));
+  }
+
+  @Test
+  void shouldReturnCategoryBreakdown() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/dashboard/category-breakdown")
+                .with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalExpenses").value(1025.0))
+        .andExpect(jsonPath("$.expenses[0].categoryName").value("Housing"))
+        .andExpect(jsonPath("$.expenses[0].itemCount").value(3));
+  }
+
+  private void saveSubscription(String name, String price, Period period, boolean active) {
+    Subscription subscription = new Subscription();
+    subscription.setName(name);
+    subscription.setPrice(new BigDecimal(price));
+    subscription.setPeriod(period);
+    subscription.setNextBillingDate(LocalDate.now().plusDays(5));
+    subscription.setActive(active);
+    subscription.setCategory(testCategory);
+    subscription.setAppUser(testUser);
+    subscriptionRepository.save(subscription);
+  }
+
+  private void saveBill(String name, String amount, Period period, LocalDate dueDate) {
+    Bill bill = new Bill();
+    bill.setName(name);
+    bill.setAmount(new BigDecimal(amount));
+    bill.setPeriod(period);
+    bill.setDueDate(dueDate);
+    bill.setCategory(testCategory);
+    bill.setAppUser(testUser);
+    billRepository.save(bill);
+  }
+
+  private void saveIncome(String name, String amount, Period period, LocalDate incomeDate) {
+    Income income = new Income();
+    income.setName(name);
+    income.setAmount(new BigDecimal(amount));
+    income.setPeriod(period);
+    income.setIncomeDate(incomeDate);
+    income.setAppUser(testUser);
+    incomeRepository.save(income);
+  }
+}
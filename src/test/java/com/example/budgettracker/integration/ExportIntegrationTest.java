@@ -0,0 +1,205 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.TestDataBuilder;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.service.ExportFormat;
+import com.example.budgettracker.service.ExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class ExportIntegrationTest {
+
+  private static final String GOOGLE_SUB = "export-google-sub";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired private ExportService exportService;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private CategoryRepository categoryRepository;
+
+  @Autowired private SubscriptionRepository subscriptionRepository;
+
+  @Autowired private BillRepository billRepository;
+
+  @Autowired private IncomeRepository incomeRepository;
+
+  private AppUser testUser;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser(GOOGLE_SUB, "Export User", "export@example.com", "pic.jpg"));
+    Category category = categoryRepository.save(new Category("Streaming", testUser));
+    LocalDate date = LocalDate.of(2024, 1, 15);
+    subscriptionRepository.save(
+        TestDataBuilder.createTestSubscription(
+            null,
+            "Music, \"Family\"",
+            new BigDecimal("14.99"),
+            Period.MONTHLY,
+            testUser,
+            category));
+    billRepository.save(
+        TestDataBuilder.createTestBill(
+            null, "=Rent", new BigDecimal("1200.00"), Period.MONTHLY, date, testUser, category));
+    for (int i = 0; i < 3; i++) {
+      incomeRepository.save(
+          TestDataBuilder.createTestIncome(
+              null,
+              "Salary " + i,
+              new BigDecimal("3000.00"),
+              Period.MONTHLY,
+              date.plusMonths(i),
+              testUser));
+    }
+  }
+
+  @Nested
+  @DisplayName("Export formats")
+  class Formats {
+
+    @Test
+    @DisplayName("Should write every record as an escaped CSV line")
+    void shouldWriteCsv() throws Exception {
+      List<String> lines = List.of(export(ExportFormat.CSV).split("\r\n"));
+
+      assertThat(lines.get(0))
+          .isEqualTo("type,id,name,amount,period,date,active,category,categoryType,description");
+      assertThat(lines).filteredOn(line -> line.startsWith("income,")).hasSize(3);
+      assertThat(lines)
+          .anySatisfy(
+              line ->
+                  assertThat(line)
+                      .startsWith("subscription,")
+                      .contains(",\"Music, \"\"Family\"\"\",14.99,MONTHLY,"))
+          .anySatisfy(line -> assertThat(line).startsWith("bill,").contains(",'=Rent,"));
+    }
+
+    @Test
+    @DisplayName("Should guard text starting with a tab or carriage return as a formula")
+    void shouldGuardLeadingWhitespaceFormula() throws Exception {
+      Category category = categoryRepository.save(new Category("Utilities", testUser));
+      LocalDate date = LocalDate.of(2024, 1, 20);
+      billRepository.save(
+          TestDataBuilder.createTestBill(
+              null, "\t=1+1", new BigDecimal("10.00"), Period.MONTHLY, date, testUser, category));
+      billRepository.save(
+          TestDataBuilder.createTestBill(
+              null,
+              "\r@SUM(A1)",
+              new BigDecimal("20.00"),
+              Period.MONTHLY,
+              date,
+              testUser,
+              category));
+
+      List<String> lines = List.of(export(ExportFormat.CSV).split("\r\n"));
+
+      assertThat(lines)
+          .anySatisfy(line -> assertThat(line).startsWith("bill,").contains(",'\t=1+1,"))
+          .anySatisfy(line -> assertThat(line).startsWith("bill,").contains(",\"'\r@SUM(A1)\","));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void shouldWriteNdjson() throws Exception {
+      List<JsonNode> rows = new ArrayList<>();
+      for (String line : export(ExportFormat.NDJSON).split("\n")) {
+        rows.add(objectMapper.readTree(line));
+      }
+
+      assertThat(rows).extracting(row -> row.get("type").asText()).contains("category", "bill");
+      assertThat(rows)
+          .filteredOn(row -> row.get("type").asText().equals("income"))
+          .extracting(row -> row.get("date").asText())
+          .containsExactly("2024-01-15", "2024-02-15", "2024-03-15");
+    }
+  }
+
+  @Nested
+  @DisplayName("GET /api/export")
+  class Endpoint {
+
+    @Test
+    @DisplayName("Should stream the export as a download")
+    void shouldStreamDownload() throws Exception {
+      MvcResult started =
+          mockMvc
+              .perform(
+                  get("/api/export")
+                      .param("format", "csv")
+                      .with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+              .andExpect(request().asyncStarted())
+              .andReturn();
+
+      mockMvc
+          .perform(asyncDispatch(started))
+          .andExpect(status().isOk())
+          .andExpect(content().contentTypeCompatibleWith("text/csv"))
+          .andExpect(
+              header()
+                  .string(
+                      "Content-Disposition",
+                      "attachment; filename=\"budget-export-" + LocalDate.now() + ".csv\""));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formats")
+    void shouldRejectUnknownFormat() throws Exception {
+      mockMvc
+          .perform(
+              get("/api/export")
+                  .param("format", "xml")
+                  .with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+          .andExpect(status().isBadRequest());
+    }
+  }
+
+  private String export(ExportFormat format) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exportService.exportForUser(testUser, format, out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+}
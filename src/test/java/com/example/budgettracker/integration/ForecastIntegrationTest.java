@@ -0,0 +1,204 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.TestDataBuilder;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.service.CashFlowProjection;
+import com.example.budgettracker.service.ForecastService;
+import com.example.budgettracker.service.PeriodCalculationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class ForecastIntegrationTest {
+
+  private static final String GOOGLE_SUB = "forecast-google-sub";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired private ForecastService forecastService;
+
+  @Autowired private PeriodCalculationService periodCalculationService;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private SubscriptionRepository subscriptionRepository;
+
+  @Autowired private BillRepository billRepository;
+
+  @Autowired private IncomeRepository incomeRepository;
+
+  private AppUser testUser;
+  private LocalDate today;
+  private LocalDate to;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser(GOOGLE_SUB, "Forecast User", "forecast@example.com", "pic.jpg"));
+    today = LocalDate.now();
+    to = today.plusMonths(3).minusDays(1);
+  }
+
+  @Nested
+  @DisplayName("Projection")
+  class Projection {
+
+    @Test
+    @DisplayName("Should add income as inflow and active subscriptions and bills as outflow")
+    void shouldProjectDailyFlows() {
+      incomeRepository.save(
+          TestDataBuilder.createTestIncome(
+              null, "Salary", new BigDecimal("3000.00"), Period.MONTHLY, today, testUser));
+      billRepository.save(
+          TestDataBuilder.createTestBill(
+              null, "Gym", new BigDecimal("20.00"), Period.WEEKLY, today, testUser, null));
+      billRepository.save(
+          TestDataBuilder.createTestBill(
+              null,
+              "Repair",
+              new BigDecimal("100.50"),
+              Period.ONE_TIME,
+              today.plusDays(10),
+              testUser,
+              null));
+      Subscription paused =
+          TestDataBuilder.createTestSubscription(
+              null, "Paused", new BigDecimal("50.00"), Period.MONTHLY, testUser, null);
+      paused.setActive(false);
+      subscriptionRepository.save(paused);
+
+      CashFlowProjection projection = forecastService.project(testUser, 3);
+
+      assertThat(projection.getFrom()).isEqualTo(today);
+      assertThat(projection.getTo()).isEqualTo(to);
+      assertThat(projection.getInflowCents(0)).isEqualTo(300000);
+      assertThat(projection.getOutflowCents(0)).isEqualTo(2000);
+      assertThat(projection.getOutflowCents(10)).isEqualTo(10050);
+      assertThat(totalInflow(projection)).isEqualTo(300000L * occurrences(Period.MONTHLY));
+      assertThat(totalOutflow(projection)).isEqualTo(2000L * occurrences(Period.WEEKLY) + 10050);
+    }
+
+    // The test profile's parallel threshold puts these on the fork-join pool
+    @Test
+    @DisplayName("Should sum the partitions of a large item set")
+    void shouldMergeParallelPartitions() {
+      for (int i = 1; i <= 40; i++) {
+        billRepository.save(
+            TestDataBuilder.createTestBill(
+                null, "Bill " + i, BigDecimal.valueOf(i), Period.WEEKLY, today, testUser, null));
+      }
+
+      CashFlowProjection projection = forecastService.project(testUser, 3);
+
+      // 1 + 2 + ... + 40 = 820 units every week
+      assertThat(projection.getOutflowCents(0)).isEqualTo(82000);
+      assertThat(projection.getOutflowCents(1)).isZero();
+      assertThat(totalOutflow(projection)).isEqualTo(82000L * occurrences(Period.WEEKLY));
+    }
+  }
+
+  @Nested
+  @DisplayName("GET /api/forecast")
+  class Endpoint {
+
+    @Test
+    @DisplayName("Should stream one entry per day with a running balance")
+    void shouldStreamDays() throws Exception {
+      billRepository.save(
+          TestDataBuilder.createTestBill(
+              null, "Rent", new BigDecimal("1200.00"), Period.MONTHLY, today, testUser, null));
+
+      MvcResult started =
+          mockMvc
+              .perform(
+                  get("/api/forecast")
+                      .param("months", "3")
+                      .param("openingBalance", "2000")
+                      .with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+              .andExpect(request().asyncStarted())
+              .andReturn();
+      String body =
+          mockMvc
+              .perform(asyncDispatch(started))
+              .andExpect(status().isOk())
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+
+      JsonNode forecast = objectMapper.readTree(body);
+      JsonNode days = forecast.get("days");
+      assertThat(days).hasSize((int) ChronoUnit.DAYS.between(today, to) + 1);
+      assertThat(days.get(0).get("date").asText()).isEqualTo(today.toString());
+      assertThat(days.get(0).get("balance").decimalValue()).isEqualByComparingTo("800.00");
+      assertThat(days.get(days.size() - 1).get("balance").decimalValue())
+          .isEqualByComparingTo(forecast.get("closingBalance").decimalValue());
+      assertThat(forecast.get("totalOutflow").decimalValue())
+          .isEqualByComparingTo(
+              new BigDecimal("1200.00").multiply(BigDecimal.valueOf(occurrences(Period.MONTHLY))));
+    }
+
+    @Test
+    @DisplayName("Should reject horizons outside 3 to 24 months")
+    void shouldRejectHorizonOutOfRange() throws Exception {
+      mockMvc
+          .perform(
+              get("/api/forecast")
+                  .param("months", "25")
+                  .with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+          .andExpect(status().isBadRequest());
+    }
+  }
+
+  private int occurrences(Period period) {
+    return periodCalculationService.getOccurrencesInRange(today, period, today, to).length;
+  }
+
+  private static long totalInflow(CashFlowProjection projection) {
+    long total = 0;
+    for (int day = 0; day < projection.getDays(); day++) {
+      total += projection.getInflowCents(day);
+    }
+    return total;
+  }
+
+  private static long totalOutflow(CashFlowProjection projection) {
+    long total = 0;
+    for (int day = 0; day < projection.getDays(); day++) {
+      total += projection.getOutflowCents(day);
+    }
+    return total;
+  }
+}
@@ -0,0 +1,228 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.TestDataBuilder;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class KeysetPaginationIntegrationTest {
+
+  private static final String GOOGLE_SUB = "keyset-google-sub";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private CategoryRepository categoryRepository;
+
+  @Autowired private SubscriptionRepository subscriptionRepository;
+
+  @Autowired private IncomeRepository incomeRepository;
+
+  private AppUser testUser;
+  private Category category;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser(GOOGLE_SUB, "Keyset User", "keyset@example.com", "pic.jpg"));
+    category = categoryRepository.save(new Category("Streaming", testUser));
+  }
+
+  @Nested
+  @DisplayName("Scrolling subscriptions")
+  class ScrollSubscriptions {
+
+    @Test
+    @DisplayName("Should visit every subscription exactly once in name order")
+    void shouldVisitEverySubscriptionOnce() throws Exception {
+      for (int i = 0; i < 12; i++) {
+        // Every name appears twice so the id tie-breaker is exercised
+        subscriptionRepository.save(
+            TestDataBuilder.createTestSubscription(
+                null,
+                "Subscription " + (char) ('A' + i / 2),
+                new BigDecimal("9.99"),
+                Period.MONTHLY,
+                testUser,
+                category));
+      }
+
+      List<String> names = scrollAll("/api/subscriptions/scroll", "name", "asc", 5);
+
+      assertThat(names).hasSize(12).isSorted();
+    }
+
+    @Test
+    @DisplayName("Should return the total only when requested")
+    void shouldReturnTotalOnlyWhenRequested() throws Exception {
+      for (int i = 0; i < 3; i++) {
+        subscriptionRepository.save(
+            TestDataBuilder.createTestSubscription(
+                null,
+                "Subscription " + i,
+                new BigDecimal("9.99"),
+                Period.MONTHLY,
+                testUser,
+                category));
+      }
+
+      mockMvc
+          .perform(authenticated(get("/api/subscriptions/scroll").param("size", "2")))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.content.length()").value(2))
+          .andExpect(jsonPath("$.hasNext").value(true))
+          .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+      mockMvc
+          .perform(
+              authenticated(
+                  get("/api/subscriptions/scroll")
+                      .param("size", "2")
+                      .param("includeTotal", "true")))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported sort properties")
+    void shouldRejectUnsupportedSort() throws Exception {
+      mockMvc
+          .perform(authenticated(get("/api/subscriptions/scroll").param("sort", "amount")))
+          .andExpect(status().isBadRequest());
+    }
+  }
+
+  @Nested
+  @DisplayName("Scrolling income")
+  class ScrollIncome {
+
+    @Test
+    @DisplayName("Should page through duplicate dates without gaps, newest first")
+    void shouldPageThroughDuplicateDates() throws Exception {
+      LocalDate today = LocalDate.now();
+      for (int i = 0; i < 9; i++) {
+        incomeRepository.save(
+            TestDataBuilder.createTestIncome(
+                null,
+                "Income " + i,
+                new BigDecimal("100.00"),
+                Period.MONTHLY,
+                today.minusDays(i / 3),
+                testUser));
+      }
+
+      List<String> names = scrollAll("/api/income/scroll", "incomeDate", "desc", 2);
+
+      assertThat(names).hasSize(9).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown sort directions on both income listings")
+    void shouldRejectUnknownSortDirection() throws Exception {
+      mockMvc
+          .perform(authenticated(get("/api/income").param("sortDir", "sideways")))
+          .andExpect(status().isBadRequest());
+      mockMvc
+          .perform(authenticated(get("/api/income/scroll").param("direction", "sideways")))
+          .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for a different sort order")
+    void shouldRejectMismatchedCursor() throws Exception {
+      for (int i = 0; i < 3; i++) {
+        incomeRepository.save(
+            TestDataBuilder.createTestIncome(
+                null,
+                "Income " + i,
+                new BigDecimal("100.00"),
+                Period.MONTHLY,
+                LocalDate.now().minusDays(i),
+                testUser));
+      }
+      JsonNode first =
+          fetch(get("/api/income/scroll").param("size", "1").param("sort", "incomeDate"));
+
+      mockMvc
+          .perform(
+              authenticated(
+                  get("/api/income/scroll")
+                      .param("sort", "name")
+                      .param("cursor", first.get("nextCursor").asText())))
+          .andExpect(status().isBadRequest());
+      mockMvc
+          .perform(authenticated(get("/api/income/scroll").param("cursor", "not-a-cursor")))
+          .andExpect(status().isBadRequest());
+    }
+  }
+
+  private List<String> scrollAll(String path, String sort, String direction, int size)
+      throws Exception {
+    List<String> names = new ArrayList<>();
+    String cursor = null;
+    do {
+      MockHttpServletRequestBuilder request =
+          get(path)
+              .param("sort", sort)
+              .param("direction", direction)
+              .param("size", String.valueOf(size));
+      if (cursor != null) {
+        request.param("cursor", cursor);
+      }
+      JsonNode page = fetch(request);
+      page.get("content").forEach(item -> names.add(item.get("name").asText()));
+      cursor = page.get("hasNext").asBoolean() ? page.get("nextCursor").asText() : null;
+    } while (cursor != null);
+    return names;
+  }
+
+  private JsonNode fetch(MockHttpServletRequestBuilder request) throws Exception {
+    String body =
+        mockMvc
+            .perform(authenticated(request))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    return objectMapper.readTree(body);
+  }
+
+  private MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+    return request.with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB)));
+  }
+}
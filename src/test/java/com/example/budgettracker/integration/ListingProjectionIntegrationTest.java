@@ -0,0 +1,107 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.TestDataBuilder;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/** The offset listings select DTO rows directly, so serving a page must not load any entity. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class ListingProjectionIntegrationTest {
+
+  private static final String GOOGLE_SUB = "projection-google-sub";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private CategoryRepository categoryRepository;
+
+  @Autowired private SubscriptionRepository subscriptionRepository;
+
+  @Autowired private BillRepository billRepository;
+
+  @Autowired private IncomeRepository incomeRepository;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    AppUser user =
+        appUserRepository.save(
+            new AppUser(GOOGLE_SUB, "Projection User", "projection@example.com", "pic.jpg"));
+    Category category = categoryRepository.save(new Category("Household", user));
+    LocalDate date = LocalDate.now().minusDays(3);
+    subscriptionRepository.save(
+        TestDataBuilder.createTestSubscription(
+            null, "Music", new BigDecimal("9.99"), Period.MONTHLY, user, category));
+    billRepository.save(
+        TestDataBuilder.createTestBill(
+            null, "Rent", new BigDecimal("1200.00"), Period.MONTHLY, date, user, category));
+    incomeRepository.save(
+        TestDataBuilder.createTestIncome(
+            null, "Salary", new BigDecimal("3000.00"), Period.MONTHLY, date, user));
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    statistics.setStatisticsEnabled(false);
+  }
+
+  @ParameterizedTest(name = "{0} is served without loading entities")
+  @CsvSource({
+    "/api/subscriptions, Music",
+    "/api/bills, Rent",
+    "/api/income, Salary",
+  })
+  void shouldServeListingWithoutLoadingEntities(String path, String name) throws Exception {
+    mockMvc
+        .perform(get(path).with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalElements").value(1))
+        .andExpect(jsonPath("$.content[0].name").value(name));
+
+    // The authenticated user is the only entity a listing request may load
+    assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(1);
+  }
+}
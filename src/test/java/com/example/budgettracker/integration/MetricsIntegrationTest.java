@@ -0,0 +1,106 @@
+package com.example.budgettracker.integration;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+      "management.endpoints.web.exposure.include=health,metrics,prometheus",
+      "management.observations.annotations.enabled=true",
+      "app.management.username=scraper",
+      "app.management.password=scrape-secret"
+    })
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@Transactional
+public class MetricsIntegrationTest {
+
+  private static final String GOOGLE_SUB = "metrics-google-sub";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private JwtService jwtService;
+
+  private AppUser testUser;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser(GOOGLE_SUB, "Metrics User", "metrics@example.com", "pic.jpg"));
+  }
+
+  @Test
+  void shouldKeepHealthPublic() throws Exception {
+    mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+  }
+
+  @Test
+  void shouldRequireManagementCredentialsForPrometheus() throws Exception {
+    mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+    mockMvc
+        .perform(get("/actuator/prometheus").with(httpBasic("scraper", "wrong")))
+        .andExpect(status().isUnauthorized());
+    // An API user is authenticated but doesn't hold the metrics role
+    mockMvc
+        .perform(get("/actuator/prometheus").with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void shouldNotAcceptManagementCredentialsForApi() throws Exception {
+    mockMvc
+        .perform(get("/api/dashboard/overview").with(httpBasic("scraper", "scrape-secret")))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void shouldPublishServiceRepositoryAndJwtMetrics() throws Exception {
+    mockMvc
+        .perform(get("/api/dashboard/overview").with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(
+            get("/api/dashboard/category-breakdown")
+                .with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+        .andExpect(status().isOk());
+    jwtService.validateToken(jwtService.generateToken(testUser));
+
+    mockMvc
+        .perform(get("/actuator/prometheus").with(httpBasic("scraper", "scrape-secret")))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString("dashboard_requests_seconds_count")))
+        .andExpect(content().string(containsString("dashboard_compute_seconds_count")))
+        .andExpect(content().string(containsString("spring_data_repository_invocations_seconds")))
+        .andExpect(
+            content()
+                .string(
+                    containsString(
+                        "repository_query_rows_count{method=\"findRowsByUserId\","
+                            + "repository=\"MonthlyRollupRepository\"")))
+        .andExpect(content().string(containsString("jwt_encode_seconds_count")))
+        .andExpect(
+            content().string(containsString("jwt_verify_seconds_count{outcome=\"success\"")));
+  }
+}
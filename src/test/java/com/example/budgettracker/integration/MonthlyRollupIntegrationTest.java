@@ -0,0 +1,180 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.example.budgettracker.dto.BatchRequest;
+import com.example.budgettracker.dto.BillRequest;
+import com.example.budgettracker.dto.DashboardOverviewResponse;
+import com.example.budgettracker.dto.IncomeRequest;
+import com.example.budgettracker.dto.SubscriptionRequest;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Bill;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Income;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.MonthlyRollupRepository;
+import com.example.budgettracker.service.BillService;
+import com.example.budgettracker.service.DashboardServiceImpl;
+import com.example.budgettracker.service.IncomeService;
+import com.example.budgettracker.service.MonthlyRollupService;
+import com.example.budgettracker.service.SubscriptionService;
+import com.example.budgettracker.service.UserFinancialDataChangedEvent;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@RecordApplicationEvents
+public class MonthlyRollupIntegrationTest {
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private CategoryRepository categoryRepository;
+
+  @Autowired private MonthlyRollupRepository monthlyRollupRepository;
+
+  @Autowired private MonthlyRollupService monthlyRollupService;
+
+  @Autowired private SubscriptionService subscriptionService;
+
+  @Autowired private BillService billService;
+
+  @Autowired private IncomeService incomeService;
+
+  @Autowired private DashboardServiceImpl dashboardService;
+
+  @Autowired private ApplicationEvents events;
+
+  private AppUser testUser;
+  private Category housing;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser("rollup-google-sub", "Rollup User", "rollup@example.com", "pic.jpg"));
+    housing = categoryRepository.save(new Category("Housing", testUser));
+  }
+
+  @Nested
+  @DisplayName("Incremental maintenance")
+  class Maintenance {
+
+    @Test
+    @DisplayName("Should keep the rollup equal to a full rebuild across creates, updates, deletes")
+    void shouldMatchRebuildAfterWrites() {
+      Subscription netflix =
+          subscriptionService.saveSubscriptionForUser(subscription("15.00"), testUser);
+      Bill rent =
+          billService.saveBillForUser(
+              bill("1000.00", Period.MONTHLY, LocalDate.now().minusMonths(2)), testUser);
+      Income salary =
+          incomeService.saveIncomeForUser(
+              income("3000.00", Period.MONTHLY, LocalDate.now().minusMonths(6)), testUser);
+      incomeService.saveIncomeForUser(income("500.00", Period.ONE_TIME, LocalDate.now()), testUser);
+
+      subscriptionService.updateSubscriptionForUser(
+          netflix.getId(), subscription("18.00"), testUser);
+      billService.updateBillForUser(
+          rent.getId(), bill("1200.00", Period.QUARTERLY, LocalDate.now()), testUser);
+      incomeService.deleteIncomeForUser(salary.getId(), testUser);
+
+      DashboardOverviewResponse overview = overview();
+      assertThat(overview.getTotalIncome()).isCloseTo(500.0, within(0.001));
+      assertThat(overview.getSubscriptionExpenses()).isCloseTo(18.0, within(0.001));
+      assertThat(overview.getBillExpenses()).isCloseTo(400.0, within(0.001));
+      assertThat(monthlyRollupService.reconcileUser(testUser.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply batch writes as one delta")
+    void shouldApplyBatchDeltas() {
+      BatchRequest<BillRequest> batch = new BatchRequest<>();
+      batch.setCreate(
+          List.of(
+              bill("100.00", Period.MONTHLY, LocalDate.now()),
+              bill("60.00", Period.YEARLY, LocalDate.now()),
+              bill("25.00", Period.ONE_TIME, LocalDate.now())));
+      billService.applyBillBatch(batch, testUser);
+
+      assertThat(overview().getBillExpenses()).isCloseTo(130.0, within(0.001));
+      assertThat(overview().getActiveBills()).isEqualTo(3);
+      assertThat(monthlyRollupService.reconcileUser(testUser.getId())).isZero();
+    }
+  }
+
+  @Test
+  @DisplayName("Should repair rows that drifted from the items")
+  void shouldReconcileDrift() {
+    subscriptionService.saveSubscriptionForUser(subscription("15.00"), testUser);
+    billService.saveBillForUser(bill("1000.00", Period.MONTHLY, LocalDate.now()), testUser);
+    entityManager.flush();
+    monthlyRollupRepository.deleteAll(monthlyRollupRepository.findByIdAppUserId(testUser.getId()));
+    entityManager.flush();
+    assertThat(overview().getTotalExpenses()).isZero();
+    events.clear();
+
+    assertThat(monthlyRollupService.reconcileUser(testUser.getId())).isEqualTo(2);
+    entityManager.flush();
+    assertThat(monthlyRollupService.reconcileUser(testUser.getId())).isZero();
+
+    assertThat(overview().getTotalExpenses()).isCloseTo(1015.0, within(0.001));
+    // Only the run that repaired something tells the caches to drop their views
+    assertThat(events.stream(UserFinancialDataChangedEvent.class))
+        .extracting(UserFinancialDataChangedEvent::getUserId)
+        .containsExactly(testUser.getId());
+  }
+
+  private DashboardOverviewResponse overview() {
+    entityManager.flush();
+    return dashboardService.getFinancialOverview(testUser);
+  }
+
+  private SubscriptionRequest subscription(String price) {
+    SubscriptionRequest request = new SubscriptionRequest();
+    request.setName("Netflix");
+    request.setPrice(new BigDecimal(price));
+    request.setPeriod(Period.MONTHLY);
+    request.setNextBillingDate(LocalDate.now().plusDays(5));
+    request.setActive(true);
+    return request;
+  }
+
+  private BillRequest bill(String amount, Period period, LocalDate dueDate) {
+    BillRequest request = new BillRequest();
+    request.setName("Rent");
+    request.setAmount(new BigDecimal(amount));
+    request.setPeriod(period);
+    request.setDueDate(dueDate);
+    request.setCategoryId(housing.getId());
+    return request;
+  }
+
+  private IncomeRequest income(String amount, Period period, LocalDate incomeDate) {
+    IncomeRequest request = new IncomeRequest();
+    request.setName("Salary");
+    request.setAmount(new BigDecimal(amount));
+    request.setPeriod(period);
+    request.setIncomeDate(incomeDate);
+    return request;
+  }
+}
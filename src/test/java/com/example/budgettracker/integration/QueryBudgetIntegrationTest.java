@@ -0,0 +1,168 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.TestDataBuilder;
+import com.example.budgettracker.metrics.QueryCounter;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.service.CachingDashboardService;
+import com.example.budgettracker.service.MonthlyRollupService;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Guards against N+1 queries: each endpoint has a fixed statement budget, and the count must not
+ * grow with the number of items the user owns.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class QueryBudgetIntegrationTest {
+
+  private static final String GOOGLE_SUB = "query-budget-google-sub";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private CachingDashboardService cachingDashboardService;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private CategoryRepository categoryRepository;
+
+  @Autowired private SubscriptionRepository subscriptionRepository;
+
+  @Autowired private BillRepository billRepository;
+
+  @Autowired private IncomeRepository incomeRepository;
+
+  @Autowired private MonthlyRollupService monthlyRollupService;
+
+  private AppUser testUser;
+  private final List<Category> categories = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser(GOOGLE_SUB, "Budget User", "budget@example.com", "pic.jpg"));
+    for (int i = 0; i < 3; i++) {
+      categories.add(categoryRepository.save(new Category("Category " + i, testUser)));
+    }
+  }
+
+  @ParameterizedTest(name = "{0} executes at most {1} queries")
+  @CsvSource({
+    "/api/subscriptions, 3",
+    "/api/bills, 3",
+    "/api/income, 3",
+    "/api/categories, 3",
+    "/api/dashboard/overview, 4",
+    "/api/dashboard/time-series?months=12, 4",
+    "/api/dashboard/category-breakdown, 4"
+  })
+  void shouldStayWithinQueryBudget(String path, int budget) throws Exception {
+    // Both sizes exceed one page, so paged endpoints issue their count query each time
+    seedItems(25);
+    int fewItems = countQueries(path);
+    seedItems(25);
+    int manyItems = countQueries(path);
+
+    assertThat(manyItems).as("queries for 50 items vs 25 items").isEqualTo(fewItems);
+    assertThat(manyItems).isLessThanOrEqualTo(budget);
+  }
+
+  // Select user, category, insert item, lock user, update rollup row and insert occurrences. The
+  // budget leaves room for the pooled id fetches of the item and occurrence sequences, which
+  // happen once every 50 ids
+  @ParameterizedTest(name = "POST {0} executes at most {2} queries")
+  @CsvSource(
+      delimiter = '|',
+      value = {
+        "/api/subscriptions | {\"name\":\"Music\",\"price\":9.99,\"period\":\"MONTHLY\","
+            + "\"nextBillingDate\":\"2026-01-15\"} | 9",
+        "/api/bills | {\"name\":\"Rent\",\"amount\":900.00,\"period\":\"MONTHLY\","
+            + "\"dueDate\":\"2026-01-15\"} | 9",
+        "/api/income | {\"name\":\"Salary\",\"amount\":3000.00,\"period\":\"MONTHLY\","
+            + "\"incomeDate\":\"2026-01-15\"} | 9"
+      })
+  void shouldStayWithinWriteBudget(String path, String body, int budget) throws Exception {
+    // The first write creates the default category and the rollup row; measure the next one
+    postItem(path, body);
+    entityManager.flush();
+    entityManager.clear();
+    try (QueryCounter.Scope queries = QueryCounter.open()) {
+      postItem(path, body);
+      entityManager.flush();
+      assertThat(queries.count()).isLessThanOrEqualTo(budget);
+    }
+  }
+
+  private void postItem(String path, String body) throws Exception {
+    mockMvc
+        .perform(
+            post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+        .andExpect(status().is2xxSuccessful());
+  }
+
+  private int countQueries(String path) throws Exception {
+    // Seeded items bypass the services, so bring the dashboard rollup up to date first
+    monthlyRollupService.reconcileUser(testUser.getId());
+    // Start from an empty persistence context so lazy loads hit the database like in production
+    entityManager.flush();
+    entityManager.clear();
+    cachingDashboardService.evictUser(testUser.getId());
+    try (QueryCounter.Scope queries = QueryCounter.open()) {
+      mockMvc
+          .perform(get(path).with(jwt().jwt(jwt -> jwt.subject(GOOGLE_SUB))))
+          .andExpect(status().isOk());
+      return queries.count();
+    }
+  }
+
+  private void seedItems(int count) {
+    AppUser user = appUserRepository.getReferenceById(testUser.getId());
+    for (int i = 0; i < count; i++) {
+      Period period = Period.values()[i % Period.values().length];
+      Category category = categoryRepository.getReferenceById(categories.get(i % 3).getId());
+      BigDecimal amount = new BigDecimal("10.00").add(BigDecimal.valueOf(i));
+      LocalDate date = LocalDate.now().minusDays(i * 7L);
+      subscriptionRepository.save(
+          TestDataBuilder.createTestSubscription(
+              null, "Subscription " + i, amount, period, user, category));
+      billRepository.save(
+          TestDataBuilder.createTestBill(null, "Bill " + i, amount, period, date, user, category));
+      incomeRepository.save(
+          TestDataBuilder.createTestIncome(null, "Income " + i, amount, period, date, user));
+    }
+  }
+}
@@ -0,0 +1,195 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.budgettracker.dto.BillRequest;
+import com.example.budgettracker.dto.SubscriptionRequest;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Bill;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.service.BillService;
+import com.example.budgettracker.service.MonthlyRollupService;
+import com.example.budgettracker.service.RecurrenceAnchorRoller;
+import com.example.budgettracker.service.SubscriptionService;
+import com.example.budgettracker.service.UserFinancialDataChangedEvent;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+// A chunk size of one makes every group below its own chunk
+@SpringBootTest(properties = "app.anchors.roll-chunk-size=1")
+@ActiveProfiles("test")
+@Transactional
+@RecordApplicationEvents
+public class RecurrenceAnchorRollerIntegrationTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2024, 5, 10);
+
+  @Autowired private EntityManager entityManager;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private SubscriptionRepository subscriptionRepository;
+
+  @Autowired private BillRepository billRepository;
+
+  @Autowired private SubscriptionService subscriptionService;
+
+  @Autowired private BillService billService;
+
+  @Autowired private MonthlyRollupService monthlyRollupService;
+
+  @Autowired private RecurrenceAnchorRoller roller;
+
+  @Autowired private ApplicationEvents events;
+
+  private AppUser testUser;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser("roller-google-sub", "Roller User", "roller@example.com", "pic.jpg"));
+  }
+
+  @Test
+  @DisplayName("Should advance past-due anchors on their series and record the previous date")
+  void shouldAdvancePastDueAnchors() {
+    Long monthEnd =
+        subscriptionService
+            .saveSubscriptionForUser(
+                subscription(Period.MONTHLY, LocalDate.of(2024, 1, 31)), testUser)
+            .getId();
+    Long sameAnchor =
+        subscriptionService
+            .saveSubscriptionForUser(
+                subscription(Period.MONTHLY, LocalDate.of(2024, 1, 31)), testUser)
+            .getId();
+    Long future =
+        subscriptionService
+            .saveSubscriptionForUser(subscription(Period.YEARLY, TODAY.plusDays(3)), testUser)
+            .getId();
+    Long weekly =
+        billService
+            .saveBillForUser(bill(Period.WEEKLY, LocalDate.of(2024, 4, 1)), testUser)
+            .getId();
+    Long oneTime =
+        billService
+            .saveBillForUser(bill(Period.ONE_TIME, LocalDate.of(2024, 4, 1)), testUser)
+            .getId();
+
+    assertThat(roll()).isEqualTo(3);
+
+    Subscription rolled = subscriptionRepository.findById(monthEnd).orElseThrow();
+    assertThat(rolled.getNextBillingDate()).isEqualTo(LocalDate.of(2024, 5, 29));
+    assertThat(rolled.getLastBillingDate()).isEqualTo(LocalDate.of(2024, 4, 29));
+    assertThat(rolled.getFirstBillingDate()).isEqualTo(LocalDate.of(2024, 1, 31));
+    assertThat(subscriptionRepository.findById(sameAnchor).orElseThrow().getNextBillingDate())
+        .isEqualTo(LocalDate.of(2024, 5, 29));
+    assertThat(subscriptionRepository.findById(future).orElseThrow().getNextBillingDate())
+        .isEqualTo(TODAY.plusDays(3));
+
+    Bill rolledBill = billRepository.findById(weekly).orElseThrow();
+    assertThat(rolledBill.getDueDate()).isEqualTo(LocalDate.of(2024, 5, 13));
+    assertThat(rolledBill.getLastDueDate()).isEqualTo(LocalDate.of(2024, 5, 6));
+    assertThat(billRepository.findById(oneTime).orElseThrow().getDueDate())
+        .isEqualTo(LocalDate.of(2024, 4, 1));
+
+    // Nothing left to roll, and the rollup still matches the items
+    assertThat(roll()).isZero();
+    assertThat(monthlyRollupService.reconcileUser(testUser.getId())).isZero();
+  }
+
+  @Test
+  @DisplayName("Should leave paused items alone and notify only the owners of rolled items")
+  void shouldRollOnlyActiveItemsAndNotifyOwners() {
+    AppUser otherUser =
+        appUserRepository.save(
+            new AppUser("roller-other-sub", "Other User", "other@example.com", "pic.jpg"));
+    SubscriptionRequest paused = subscription(Period.MONTHLY, LocalDate.of(2024, 1, 31));
+    paused.setActive(false);
+    Long pausedId = subscriptionService.saveSubscriptionForUser(paused, otherUser).getId();
+    BillRequest pausedBill = bill(Period.WEEKLY, LocalDate.of(2024, 4, 1));
+    pausedBill.setActive(false);
+    Long pausedBillId = billService.saveBillForUser(pausedBill, otherUser).getId();
+    subscriptionService.saveSubscriptionForUser(
+        subscription(Period.MONTHLY, LocalDate.of(2024, 1, 31)), testUser);
+    events.clear();
+
+    assertThat(roll()).isEqualTo(1);
+
+    assertThat(subscriptionRepository.findById(pausedId).orElseThrow().getNextBillingDate())
+        .isEqualTo(LocalDate.of(2024, 1, 31));
+    assertThat(billRepository.findById(pausedBillId).orElseThrow().getDueDate())
+        .isEqualTo(LocalDate.of(2024, 4, 1));
+    assertThat(events.stream(UserFinancialDataChangedEvent.class))
+        .extracting(UserFinancialDataChangedEvent::getUserId)
+        .containsExactly(testUser.getId());
+  }
+
+  @Test
+  @DisplayName("Should keep the first date when a rolled item is saved back unchanged")
+  void shouldKeepFirstDateOnUnchangedUpdate() {
+    Long id =
+        subscriptionService
+            .saveSubscriptionForUser(
+                subscription(Period.MONTHLY, LocalDate.of(2024, 1, 15)), testUser)
+            .getId();
+    roll();
+
+    subscriptionService.updateSubscriptionForUser(
+        id, subscription(Period.MONTHLY, LocalDate.of(2024, 5, 15)), testUser);
+    entityManager.flush();
+    Subscription kept = subscriptionRepository.findById(id).orElseThrow();
+    assertThat(kept.getFirstBillingDate()).isEqualTo(LocalDate.of(2024, 1, 15));
+    assertThat(kept.getLastBillingDate()).isEqualTo(LocalDate.of(2024, 4, 15));
+
+    subscriptionService.updateSubscriptionForUser(
+        id, subscription(Period.MONTHLY, LocalDate.of(2024, 6, 1)), testUser);
+    entityManager.flush();
+    Subscription moved = subscriptionRepository.findById(id).orElseThrow();
+    assertThat(moved.getFirstBillingDate()).isEqualTo(LocalDate.of(2024, 6, 1));
+    assertThat(moved.getLastBillingDate()).isNull();
+    assertThat(monthlyRollupService.reconcileUser(testUser.getId())).isZero();
+  }
+
+  // The roll is a bulk update, so managed entities are dropped to read its results
+  private int roll() {
+    entityManager.flush();
+    int rolled = roller.roll(TODAY);
+    entityManager.clear();
+    return rolled;
+  }
+
+  private SubscriptionRequest subscription(Period period, LocalDate nextBillingDate) {
+    SubscriptionRequest request = new SubscriptionRequest();
+    request.setName("Netflix");
+    request.setPrice(new BigDecimal("15.00"));
+    request.setPeriod(period);
+    request.setNextBillingDate(nextBillingDate);
+    request.setActive(true);
+    return request;
+  }
+
+  private BillRequest bill(Period period, LocalDate dueDate) {
+    BillRequest request = new BillRequest();
+    request.setName("Gym");
+    request.setAmount(new BigDecimal("20.00"));
+    request.setPeriod(period);
+    request.setDueDate(dueDate);
+    return request;
+  }
+}
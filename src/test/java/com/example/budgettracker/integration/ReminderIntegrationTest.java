@@ -0,0 +1,200 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Bill;
+import com.example.budgettracker.model.OccurrenceSource;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.Reminder;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.ReminderRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.service.ReminderService;
+import com.example.budgettracker.service.ReminderSink;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+// A tiny batch size so every scan and drain below spans several keyset pages
+@SpringBootTest(properties = "app.reminders.batch-size=2")
+@ActiveProfiles("test")
+@Transactional
+public class ReminderIntegrationTest {
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private SubscriptionRepository subscriptionRepository;
+
+  @Autowired private BillRepository billRepository;
+
+  @Autowired private ReminderRepository reminderRepository;
+
+  @Autowired private ReminderService reminderService;
+
+  @MockitoBean private ReminderSink reminderSink;
+
+  private AppUser testUser;
+  private LocalDate today;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser("reminder-google-sub", "Reminder User", "reminder@example.com", "pic.jpg"));
+    today = LocalDate.now();
+  }
+
+  @Nested
+  @DisplayName("Scanning")
+  class Scanning {
+
+    @Test
+    @DisplayName("Should queue active items due within the lead time exactly once")
+    void shouldQueueDueItemsOnce() {
+      saveSubscription(testUser, "Netflix", today, true);
+      saveSubscription(testUser, "Spotify", today.plusDays(1), true);
+      saveSubscription(testUser, "Paused", today.plusDays(1), false);
+      saveBill(testUser, "Rent", today.plusDays(3));
+      saveBill(testUser, "Water", today.plusDays(2));
+      saveBill(testUser, "Insurance", today.plusDays(10));
+      saveBill(testUser, "Overdue", today.minusDays(1));
+
+      assertThat(reminderService.scan(today, 1, 0)).isEqualTo(4);
+      assertThat(reminderService.scan(today, 1, 0)).isZero();
+
+      assertThat(reminderRepository.findAll())
+          .extracting(Reminder::getName)
+          .containsExactlyInAnyOrder("Netflix", "Spotify", "Rent", "Water");
+    }
+
+    @Test
+    @DisplayName("Should give every user to exactly one shard")
+    void shouldPartitionUsersByShard() {
+      AppUser otherUser =
+          appUserRepository.save(
+              new AppUser("reminder-other-sub", "Other User", "other@example.com", "pic.jpg"));
+      saveSubscription(testUser, "Netflix", today, true);
+      saveBill(testUser, "Rent", today.plusDays(1));
+      saveSubscription(otherUser, "Spotify", today, true);
+
+      int shard = (int) (testUser.getId() % 2);
+      int expected = otherUser.getId() % 2 == shard ? 3 : 2;
+
+      assertThat(reminderService.scan(today, 2, shard)).isEqualTo(expected);
+      assertThat(reminderRepository.findAll())
+          .allSatisfy(r -> assertThat(r.getAppUserId() % 2).isEqualTo((long) shard));
+      assertThat(reminderService.scan(today, 2, 1 - shard)).isEqualTo(3 - expected);
+    }
+  }
+
+  @Nested
+  @DisplayName("Delivery")
+  class Delivery {
+
+    @Test
+    @DisplayName("Should hand pending reminders to the sink and mark them delivered")
+    void shouldDeliverPendingReminders() {
+      saveBill(testUser, "Rent", today);
+      saveBill(testUser, "Water", today.plusDays(1));
+      saveBill(testUser, "Power", today.plusDays(2));
+      reminderService.scan(today, 1, 0);
+
+      assertThat(reminderService.deliverPending(1, 0)).isEqualTo(3);
+      assertThat(reminderService.deliverPending(1, 0)).isZero();
+
+      verify(reminderSink, times(3)).deliver(any());
+      assertThat(reminderRepository.findAll())
+          .allSatisfy(r -> assertThat(r.getDeliveredAt()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("Should record failed attempts and retry them on the next drain")
+    void shouldRetryFailedDeliveries() {
+      saveBill(testUser, "Rent", today);
+      reminderService.scan(today, 1, 0);
+
+      doThrow(new IllegalStateException("mail server down")).when(reminderSink).deliver(any());
+      assertThat(reminderService.deliverPending(1, 0)).isZero();
+
+      Reminder failed = reminderRepository.findAll().get(0);
+      assertThat(failed.getAttempts()).isEqualTo(1);
+      assertThat(failed.getLastError()).isEqualTo("mail server down");
+      assertThat(failed.getSource()).isEqualTo(OccurrenceSource.BILL);
+
+      doNothing().when(reminderSink).deliver(any());
+      assertThat(reminderService.deliverPending(1, 0)).isEqualTo(1);
+      assertThat(reminderRepository.findAll())
+          .singleElement()
+          .satisfies(
+              r -> {
+                assertThat(r.getAttempts()).isEqualTo(2);
+                assertThat(r.getLastError()).isNull();
+              });
+    }
+
+    @Test
+    @DisplayName("Should delete only reminders delivered before the cutoff")
+    void shouldDeleteDeliveredRemindersPastRetention() {
+      saveBill(testUser, "Rent", today);
+      saveBill(testUser, "Water", today.plusDays(1));
+      saveBill(testUser, "Power", today.plusDays(2));
+      saveBill(testUser, "Phone", today.plusDays(3));
+      reminderService.scan(today, 1, 0);
+      List<Reminder> reminders = reminderRepository.findAll(Sort.by("dueDate"));
+      LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+      reminders.get(0).setDeliveredAt(cutoff.minusDays(1));
+      reminders.get(1).setDeliveredAt(cutoff.minusDays(2));
+      reminders.get(2).setDeliveredAt(cutoff.plusDays(1));
+      reminderRepository.flush();
+
+      // Another shard's cleanup leaves the user's reminders alone
+      assertThat(reminderService.deleteDelivered(cutoff, 2, (int) (testUser.getId() + 1) % 2))
+          .isZero();
+      assertThat(reminderService.deleteDelivered(cutoff, 1, 0)).isEqualTo(2);
+
+      assertThat(reminderRepository.findAll())
+          .extracting(Reminder::getName)
+          .containsExactlyInAnyOrder("Power", "Phone");
+    }
+  }
+
+  private void saveSubscription(AppUser user, String name, LocalDate due, boolean active) {
+    Subscription subscription = new Subscription();
+    subscription.setName(name);
+    subscription.setPrice(new BigDecimal("9.99"));
+    subscription.setPeriod(Period.MONTHLY);
+    subscription.setNextBillingDate(due);
+    subscription.setActive(active);
+    subscription.setAppUser(user);
+    subscriptionRepository.save(subscription);
+  }
+
+  private void saveBill(AppUser user, String name, LocalDate due) {
+    Bill bill = new Bill();
+    bill.setName(name);
+    bill.setAmount(new BigDecimal("100.00"));
+    bill.setPeriod(Period.MONTHLY);
+    bill.setDueDate(due);
+    bill.setAppUser(user);
+    billRepository.save(bill);
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.budgettracker.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class UserResolutionIntegrationTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private AppUserRepository appUserRepository;
+
+  @Autowired private JwtService jwtService;
+
+  private AppUser testUser;
+  private String bearerToken;
+
+  @BeforeEach
+  void setUp() {
+    testUser =
+        appUserRepository.save(
+            new AppUser("resolver-google-sub", "Resolver User", "resolver@example.com", "pic.jpg"));
+    bearerToken = "Bearer " + jwtService.generateToken(testUser);
+  }
+
+  @Test
+  void shouldResolveUserFromAccessTokenClaims() throws Exception {
+    mockMvc
+        .perform(get("/api/user/currency").header(HttpHeaders.AUTHORIZATION, bearerToken))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.currency").value("USD"));
+  }
+
+  @Test
+  void shouldRejectAccessTokenOfDeletedUser() throws Exception {
+    appUserRepository.delete(testUser);
+    appUserRepository.flush();
+
+    mockMvc
+        .perform(get("/api/user/currency").header(HttpHeaders.AUTHORIZATION, bearerToken))
+        .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void shouldUpdateUserResolvedFromAccessTokenClaims() throws Exception {
+    mockMvc
+        .perform(
+            put("/api/user/currency")
+                .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"currency\":\"EUR\"}"))
+        .andExpect(status().isOk());
+
+    assertThat(appUserRepository.findById(testUser.getId()))
+        .hasValueSatisfying(user -> assertThat(user.getCurrency()).isEqualTo("EUR"));
+  }
+}
@@ -0,0 +1,467 @@
+package com.example.budgettracker.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.budgettracker.dto.TokenPair;
+import com.example.budgettracker.loadtest.LatencyRecorder.EndpointSummary;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.service.CategoryService;
+import com.example.budgettracker.service.MonthlyRollupService;
+import com.example.budgettracker.service.OccurrenceIndexService;
+import com.example.budgettracker.service.RefreshTokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * HTTP load test against a real server. Seeds synthetic tenants, mints their tokens directly so
+ * Google OAuth is not involved, then drives a weighted mix of dashboard reads, list reads, writes
+ * and token refreshes. Prints p50/p99/p999 latency and throughput per endpoint and writes the same
+ * table to {@code target/loadtest-report.csv}.
+ *
+ * <p>Disabled unless {@code -Dloadtest=true} is set. See the README for the available knobs.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(resolver = LoadTestProfilesResolver.class)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ApiLoadTest {
+
+  private static final Pattern REFRESH_COOKIE = Pattern.compile("refresh_token=([^;]*)");
+  private static final String USER_AGENT = "budget-tracker-loadtest";
+
+  @LocalServerPort private int port;
+
+  @Autowired private AppUserRepository appUserRepository;
+  @Autowired private CategoryRepository categoryRepository;
+  @Autowired private SubscriptionRepository subscriptionRepository;
+  @Autowired private BillRepository billRepository;
+  @Autowired private IncomeRepository incomeRepository;
+  @Autowired private CategoryService categoryService;
+  @Autowired private MonthlyRollupService monthlyRollupService;
+  @Autowired private OccurrenceIndexService occurrenceIndexService;
+  @Autowired private RefreshTokenService refreshTokenService;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Value("${loadtest.users:20}")
+  private int users;
+
+  @Value("${loadtest.subscriptions:50}")
+  private int subscriptionsPerUser;
+
+  @Value("${loadtest.bills:30}")
+  private int billsPerUser;
+
+  @Value("${loadtest.incomes:20}")
+  private int incomesPerUser;
+
+  @Value("${loadtest.threads:8}")
+  private int threads;
+
+  @Value("${loadtest.warmup:10s}")
+  private Duration warmup;
+
+  @Value("${loadtest.duration:60s}")
+  private Duration duration;
+
+  @Value("${loadtest.seed:42}")
+  private long seed;
+
+  @Value("${loadtest.max-error-rate:0.01}")
+  private double maxErrorRate;
+
+  private final HttpClient httpClient =
+      HttpClient.newBuilder()
+          .version(HttpClient.Version.HTTP_1_1)
+          .connectTimeout(Duration.ofSeconds(5))
+          .build();
+
+  @Test
+  void mixedTraffic() throws Exception {
+    long seedStart = System.nanoTime();
+    List<AppUser> tenants =
+        new SyntheticTenantGenerator(
+                appUserRepository,
+                categoryRepository,
+                subscriptionRepository,
+                billRepository,
+                incomeRepository,
+                categoryService,
+                monthlyRollupService,
+                occurrenceIndexService,
+                transactionTemplate)
+            .seed(users, subscriptionsPerUser, billsPerUser, incomesPerUser, seed);
+    List<Session> sessions = new ArrayList<>(tenants.size());
+    for (AppUser tenant : tenants) {
+      // Mints the access token through JwtService and stores a real refresh token
+      TokenPair tokenPair = refreshTokenService.generateTokenPair(tenant, USER_AGENT, "127.0.0.1");
+      sessions.add(new Session(tokenPair.getAccessToken(), tokenPair.getRefreshToken()));
+    }
+    System.out.printf(
+        "Seeded %d users (%d subscriptions, %d bills, %d incomes each) in %d ms%n",
+        users,
+        subscriptionsPerUser,
+        billsPerUser,
+        incomesPerUser,
+        (System.nanoTime() - seedStart) / 1_000_000);
+
+    run(sessions, warmup, new LatencyRecorder());
+    LatencyRecorder recorder = new LatencyRecorder();
+    double elapsedSeconds = run(sessions, duration, recorder);
+
+    List<EndpointSummary> summaries = recorder.summarize(elapsedSeconds);
+    report(summaries);
+
+    int requests = summaries.stream().mapToInt(EndpointSummary::requests).sum();
+    int errors = summaries.stream().mapToInt(EndpointSummary::errors).sum();
+    assertThat(requests).isPositive();
+    assertThat((double) errors / requests).isLessThanOrEqualTo(maxErrorRate);
+  }
+
+  /**
+   * Runs the traffic mix for the given duration. Each worker owns a disjoint slice of the sessions,
+   * so refresh-token rotation never races between threads.
+   */
+  private double run(List<Session> sessions, Duration runFor, LatencyRecorder recorder)
+      throws Exception {
+    if (runFor.isZero() || runFor.isNegative()) {
+      return 0;
+    }
+    int workers = Math.min(threads, sessions.size());
+    long deadline = System.nanoTime() + runFor.toNanos();
+    long start = System.nanoTime();
+    ExecutorService executor = Executors.newFixedThreadPool(workers);
+    try {
+      List<Future<?>> futures = new ArrayList<>(workers);
+      for (int worker = 0; worker < workers; worker++) {
+        List<Session> owned = new ArrayList<>();
+        for (int i = worker; i < sessions.size(); i += workers) {
+          owned.add(sessions.get(i));
+        }
+        Random random = new Random(seed + worker);
+        futures.add(
+            executor.submit(
+                () -> {
+                  while (System.nanoTime() < deadline) {
+                    Session session = owned.get(random.nextInt(owned.size()));
+                    Operation.pick(random).execute(this, session, random, recorder);
+                  }
+                  return null;
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return (System.nanoTime() - start) / 1_000_000_000.0;
+  }
+
+  private void report(List<EndpointSummary> summaries) throws IOException {
+    StringBuilder table = new StringBuilder();
+    table.append(
+        String.format(
+            "%-36s %9s %7s %10s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+    StringBuilder csv =
+        new StringBuilder("endpoint,requests,errors,throughput,p50_ms,p99_ms,p999_ms,max_ms\n");
+    for (EndpointSummary summary : summaries) {
+      table.append(
+          String.format(
+              "%-36s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+              summary.endpoint(),
+              summary.requests(),
+              summary.errors(),
+              summary.throughput(),
+              summary.p50Millis(),
+              summary.p99Millis(),
+              summary.p999Millis(),
+              summary.maxMillis()));
+      csv.append(
+          String.format(
+              Locale.ROOT,
+              "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f%n",
+              summary.endpoint(),
+              summary.requests(),
+              summary.errors(),
+              summary.throughput(),
+              summary.p50Millis(),
+              summary.p99Millis(),
+              summary.p999Millis(),
+              summary.maxMillis()));
+    }
+    System.out.print(table);
+    Path output = Path.of("target", "loadtest-report.csv");
+    Files.createDirectories(output.getParent());
+    Files.writeString(output, csv);
+  }
+
+  private HttpResponse<String> send(
+      String endpoint, HttpRequest.Builder request, LatencyRecorder recorder) {
+    long start = System.nanoTime();
+    try {
+      HttpResponse<String> response =
+          httpClient.send(
+              request.header("User-Agent", USER_AGENT).timeout(Duration.ofSeconds(30)).build(),
+              HttpResponse.BodyHandlers.ofString());
+      recorder.record(endpoint, System.nanoTime() - start, response.statusCode() < 400);
+      return response;
+    } catch (IOException e) {
+      recorder.record(endpoint, System.nanoTime() - start, false);
+      return null;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  private HttpRequest.Builder request(Session session, String path) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+        .header("Authorization", "Bearer " + session.accessToken);
+  }
+
+  private void get(Session session, String endpoint, String path, LatencyRecorder recorder) {
+    send(endpoint, request(session, path).GET(), recorder);
+  }
+
+  /**
+   * Alternates between creating an item and deleting the one created last, so writes are exercised
+   * without growing the data set for the length of the run.
+   */
+  private void write(
+      Session session, Deque<Long> created, String path, String body, LatencyRecorder recorder) {
+    Long id = created.poll();
+    if (id != null) {
+      send("DELETE " + path + "/{id}", request(session, path + "/" + id).DELETE(), recorder);
+      return;
+    }
+    HttpResponse<String> response =
+        send(
+            "POST " + path,
+            request(session, path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)),
+            recorder);
+    if (response != null && response.statusCode() == 201) {
+      try {
+        created.push(objectMapper.readTree(response.body()).get("id").asLong());
+      } catch (IOException e) {
+        throw new IllegalStateException("Unexpected create response: " + response.body(), e);
+      }
+    }
+  }
+
+  private void refresh(Session session, LatencyRecorder recorder) {
+    HttpResponse<String> response =
+        send(
+            "POST /api/auth/refresh",
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/refresh"))
+                .header("Cookie", "refresh_token=" + session.refreshToken)
+                .POST(HttpRequest.BodyPublishers.noBody()),
+            recorder);
+    if (response == null || response.statusCode() != 200) {
+      return;
+    }
+    try {
+      session.accessToken = objectMapper.readTree(response.body()).get("accessToken").asText();
+    } catch (IOException e) {
+      throw new IllegalStateException("Unexpected refresh response: " + response.body(), e);
+    }
+    response
+        .headers()
+        .allValues("Set-Cookie")
+        .forEach(
+            cookie -> {
+              Matcher matcher = REFRESH_COOKIE.matcher(cookie);
+              if (matcher.find() && !matcher.group(1).isEmpty()) {
+                session.refreshToken = matcher.group(1);
+              }
+            });
+  }
+
+  private static String itemJson(
+      String nameField, String amountField, String dateField, Random random) {
+    return String.format(
+        Locale.ROOT,
+        "{\"%s\":\"Load %d\",\"%s\":%d.%02d,\"period\":\"%s\",\"%s\":\"%s\"}",
+        nameField,
+        random.nextInt(1_000_000),
+        amountField,
+        1 + random.nextInt(500),
+        random.nextInt(100),
+        Period.values()[random.nextInt(Period.values().length)],
+        dateField,
+        LocalDate.now().plusDays(random.nextInt(60)));
+  }
+
+  /** Mutable per-tenant client state; only ever touched by the worker that owns it. */
+  private static final class Session {
+    private String accessToken;
+    private String refreshToken;
+    private final Deque<Long> subscriptions = new ArrayDeque<>();
+    private final Deque<Long> bills = new ArrayDeque<>();
+    private final Deque<Long> incomes = new ArrayDeque<>();
+
+    Session(String accessToken, String refreshToken) {
+      this.accessToken = accessToken;
+      this.refreshToken = refreshToken;
+    }
+  }
+
+  /** The traffic mix. Weights are relative and roughly follow a dashboard-heavy user session. */
+  private enum Operation {
+    OVERVIEW(20) {
+      @Override
+      void execute(ApiLoadTest test, Session session, Random random, LatencyRecorder recorder) {
+        test.get(session, "GET /api/dashboard/overview", "/api/dashboard/overview", recorder);
+      }
+    },
+    TIME_SERIES(10) {
+      @Override
+      void execute(ApiLoadTest test, Session session, Random random, LatencyRecorder recorder) {
+        test.get(
+            session,
+            "GET /api/dashboard/time-series",
+            "/api/dashboard/time-series?months=12",
+            recorder);
+      }
+    },
+    CATEGORY_BREAKDOWN(10) {
+      @Override
+      void execute(ApiLoadTest test, Session session, Random random, LatencyRecorder recorder) {
+        test.get(
+            session,
+            "GET /api/dashboard/category-breakdown",
+            "/api/dashboard/category-breakdown",
+            recorder);
+      }
+    },
+    CALENDAR(6) {
+      @Override
+      void execute(ApiLoadTest test, Session session, Random random, LatencyRecorder recorder) {
+        test.get(session, "GET /api/calendar", "/api/calendar?days=30", recorder);
+      }
+    },
+    LIST_SUBSCRIPTIONS(12) {
+      @Override
+      void execute(ApiLoadTest test, Session session, Random random, LatencyRecorder recorder) {
+        test.get(session, "GET /api/subscriptions", "/api/subscriptions", recorder);
+      }
+    },
+    LIST_BILLS(8) {
+      @Override
+      void execute(ApiLoadTest test, Session session, Random random, LatencyRecorder recorder) {
+        test.get(session, "GET /api/bills", "/api/bills", recorder);
+      }
+    },
+    LIST_INCOME(8) {
+      @Override
+      void execute(ApiLoadTest test, Session session, Random random, LatencyRecorder recorder) {
+        test.get(session, "GET /api/income", "/api/income", recorder);
+      }
+    },
+    WRITE_SUBSCRIPTION(6) {
+      @Override
+      void execute(ApiLoadTest test, Session session, Random random, LatencyRecorder recorder) {
+        test.write(
+            session,
+            session.subscriptions,
+            "/api/subscriptions",
+            itemJson("name", "price", "nextBillingDate", random),
+            recorder);
+      }
+    },
+    WRITE_BILL(5) {
+      @Override
+      void execute(ApiLoadTest test, Session session, Random random, LatencyRecorder recorder) {
+        test.write(
+            session,
+            session.bills,
+            "/api/bills",
+            itemJson("name", "amount", "dueDate", random),
+            recorder);
+      }
+    },
+    WRITE_INCOME(5) {
+      @Override
+      void execute(ApiLoadTest test, Session session, Random random, LatencyRecorder recorder) {
+        test.write(
+            session,
+            session.incomes,
+            "/api/income",
+            itemJson("name", "amount", "incomeDate", random),
+            recorder);
+      }
+    },
+    REFRESH(2) {
+      @Override
+      void execute(ApiLoadTest test, Session session, Random random, LatencyRecorder recorder) {
+        test.refresh(session, recorder);
+      }
+    };
+
+    private static final Operation[] VALUES = values();
+    private static final int TOTAL_WEIGHT;
+
+    static {
+      int total = 0;
+      for (Operation operation : VALUES) {
+        total += operation.weight;
+      }
+      TOTAL_WEIGHT = total;
+    }
+
+    private final int weight;
+
+    Operation(int weight) {
+      this.weight = weight;
+    }
+
+    abstract void execute(
+        ApiLoadTest test, Session session, Random random, LatencyRecorder recorder);
+
+    static Operation pick(Random random) {
+      int roll = random.nextInt(TOTAL_WEIGHT);
+      for (Operation operation : VALUES) {
+        roll -= operation.weight;
+        if (roll < 0) {
+          return operation;
+        }
+      }
+      return VALUES[VALUES.length - 1];
+    }
+  }
+}
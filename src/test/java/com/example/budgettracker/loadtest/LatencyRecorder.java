@@ -0,0 +1,80 @@
+package com.example.budgettracker.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects raw per-endpoint latencies so percentiles are exact rather than approximated. Memory
+ * grows with the number of requests, which is fine for local runs of a few minutes.
+ */
+class LatencyRecorder {
+
+  private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+  void record(String endpoint, long nanos, boolean success) {
+    samples.computeIfAbsent(endpoint, key -> new Samples()).add(nanos, success);
+  }
+
+  /** Per-endpoint summaries, sorted by endpoint name. */
+  List<EndpointSummary> summarize(double elapsedSeconds) {
+    List<EndpointSummary> summaries = new ArrayList<>();
+    new TreeMap<>(samples)
+        .forEach(
+            (endpoint, endpointSamples) ->
+                summaries.add(endpointSamples.summarize(endpoint, elapsedSeconds)));
+    return summaries;
+  }
+
+  record EndpointSummary(
+      String endpoint,
+      int requests,
+      int errors,
+      double throughput,
+      double p50Millis,
+      double p99Millis,
+      double p999Millis,
+      double maxMillis) {}
+
+  private static final class Samples {
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void add(long nanos, boolean success) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = nanos;
+      if (!success) {
+        errors++;
+      }
+    }
+
+    synchronized EndpointSummary summarize(String endpoint, double elapsedSeconds) {
+      long[] sorted = Arrays.copyOf(latencies, count);
+      Arrays.sort(sorted);
+      return new EndpointSummary(
+          endpoint,
+          count,
+          errors,
+          count / elapsedSeconds,
+          percentile(sorted, 0.50),
+          percentile(sorted, 0.99),
+          percentile(sorted, 0.999),
+          count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+    }
+
+    // Nearest-rank percentile
+    private static double percentile(long[] sorted, double quantile) {
+      if (sorted.length == 0) {
+        return 0;
+      }
+      int rank = (int) Math.ceil(quantile * sorted.length);
+      return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+  }
+}
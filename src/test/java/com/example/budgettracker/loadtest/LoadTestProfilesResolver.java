@@ -0,0 +1,24 @@
+package com.example.budgettracker.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.test.context.ActiveProfilesResolver;
+
+/**
+ * Activates the profiles named in {@code -Dloadtest.profiles} (default {@code dev}) followed by
+ * {@code loadtest}, so the load-test overrides always win over the target environment's settings.
+ */
+public class LoadTestProfilesResolver implements ActiveProfilesResolver {
+
+  @Override
+  public String[] resolve(Class<?> testClass) {
+    List<String> profiles = new ArrayList<>();
+    Arrays.stream(System.getProperty("loadtest.profiles", "dev").split(","))
+        .map(String::trim)
+        .filter(profile -> !profile.isEmpty())
+        .forEach(profiles::add);
+    profiles.add("loadtest");
+    return profiles.toArray(new String[0]);
+  }
+}
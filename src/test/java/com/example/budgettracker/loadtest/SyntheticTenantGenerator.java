@@ -0,0 +1,134 @@
+package com.example.budgettracker.loadtest;
+
+import com.example.budgettracker.TestDataBuilder;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Bill;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.CategoryType;
+import com.example.budgettracker.model.Income;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.Subscription;
+import com.example.budgettracker.repository.AppUserRepository;
+import com.example.budgettracker.repository.BillRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.SubscriptionRepository;
+import com.example.budgettracker.service.CategoryService;
+import com.example.budgettracker.service.MonthlyRollupService;
+import com.example.budgettracker.service.OccurrenceIndexService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Seeds synthetic users for load testing. Each user gets the default categories plus the requested
+ * number of subscriptions, bills and incomes, cycling through every {@link Period} and spreading
+ * dates over the last few years. Items are saved in bulk through the repositories, so the dashboard
+ * rollup and the calendar's occurrence index are then built for each user the way the nightly jobs
+ * rebuild them. The same seed always produces the same data set.
+ */
+@RequiredArgsConstructor
+class SyntheticTenantGenerator {
+
+  private static final Period[] PERIODS = Period.values();
+  private static final int MAX_AGE_DAYS = 3 * 365;
+
+  private final AppUserRepository appUserRepository;
+  private final CategoryRepository categoryRepository;
+  private final SubscriptionRepository subscriptionRepository;
+  private final BillRepository billRepository;
+  private final IncomeRepository incomeRepository;
+  private final CategoryService categoryService;
+  private final MonthlyRollupService monthlyRollupService;
+  private final OccurrenceIndexService occurrenceIndexService;
+  private final TransactionTemplate transactionTemplate;
+
+  List<AppUser> seed(int users, int subscriptions, int bills, int incomes, long seed) {
+    Random random = new Random(seed);
+    String runId = Long.toString(System.currentTimeMillis(), 36);
+    List<AppUser> seeded = new ArrayList<>(users);
+    for (int i = 0; i < users; i++) {
+      String subject = "loadtest-" + runId + "-" + i;
+      String email = subject + "@example.com";
+      // One transaction per tenant keeps batches small enough for large runs
+      seeded.add(
+          transactionTemplate.execute(
+              status -> seedTenant(subject, email, subscriptions, bills, incomes, random)));
+    }
+    return seeded;
+  }
+
+  private AppUser seedTenant(
+      String subject, String email, int subscriptions, int bills, int incomes, Random random) {
+    AppUser user =
+        appUserRepository.save(TestDataBuilder.createTestUser(null, subject, "Load Test", email));
+    categoryService.ensureDefaultCategoriesExist(user);
+    List<Category> subscriptionCategories =
+        categoryRepository.findByAppUserAndCategoryTypeOrderByNameAsc(
+            user, CategoryType.SUBSCRIPTION);
+    List<Category> billCategories =
+        categoryRepository.findByAppUserAndCategoryTypeOrderByNameAsc(user, CategoryType.BILL);
+
+    List<Subscription> subscriptionBatch = new ArrayList<>(subscriptions);
+    for (int i = 0; i < subscriptions; i++) {
+      Subscription subscription =
+          TestDataBuilder.createTestSubscription(
+              null,
+              "Subscription " + i,
+              amount(random),
+              PERIODS[i % PERIODS.length],
+              user,
+              pick(subscriptionCategories, random));
+      subscription.setNextBillingDate(date(random));
+      subscriptionBatch.add(subscription);
+    }
+    subscriptionRepository.saveAll(subscriptionBatch);
+
+    List<Bill> billBatch = new ArrayList<>(bills);
+    for (int i = 0; i < bills; i++) {
+      billBatch.add(
+          TestDataBuilder.createTestBill(
+              null,
+              "Bill " + i,
+              amount(random),
+              PERIODS[i % PERIODS.length],
+              date(random),
+              user,
+              pick(billCategories, random)));
+    }
+    billRepository.saveAll(billBatch);
+
+    List<Income> incomeBatch = new ArrayList<>(incomes);
+    for (int i = 0; i < incomes; i++) {
+      incomeBatch.add(
+          TestDataBuilder.createTestIncome(
+              null,
+              "Income " + i,
+              amount(random),
+              PERIODS[i % PERIODS.length],
+              date(random),
+              user));
+    }
+    incomeRepository.saveAll(incomeBatch);
+
+    monthlyRollupService.reconcileUser(user.getId());
+    occurrenceIndexService.rebuildUser(user.getId());
+    return user;
+  }
+
+  private static BigDecimal amount(Random random) {
+    return BigDecimal.valueOf(100 + random.nextInt(500_000), 2);
+  }
+
+  private static LocalDate date(Random random) {
+    return LocalDate.now().minusDays(random.nextInt(MAX_AGE_DAYS));
+  }
+
+  private static Category pick(List<Category> categories, Random random) {
+    return categories.isEmpty() ? null : categories.get(random.nextInt(categories.size()));
+  }
+}
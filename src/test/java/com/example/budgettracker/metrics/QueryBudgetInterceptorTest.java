@@ -0,0 +1,96 @@
+package com.example.budgettracker.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+@ExtendWith(OutputCaptureExtension.class)
+@DisplayName("QueryBudgetInterceptor Tests")
+class QueryBudgetInterceptorTest {
+
+  private SimpleMeterRegistry registry;
+  private HandlerMethod handler;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  @BeforeEach
+  void setUp() throws NoSuchMethodException {
+    registry = new SimpleMeterRegistry();
+    handler = new HandlerMethod(new SampleController(), SampleController.class.getMethod("list"));
+    request = new MockHttpServletRequest("GET", "/api/sample");
+    response = new MockHttpServletResponse();
+  }
+
+  @Test
+  @DisplayName("Should log the handler when a request exceeds the query budget")
+  void shouldLogRequestsOverBudget(CapturedOutput output) {
+    QueryBudgetInterceptor interceptor = new QueryBudgetInterceptor(registry, 2, 1.0);
+
+    handle(interceptor, 3);
+
+    assertThat(output).contains("SampleController#list executed 3 queries, over the budget of 2");
+    assertThat(
+            registry
+                .get(QueryBudgetInterceptor.METRIC_NAME)
+                .tag("handler", "SampleController#list")
+                .summary()
+                .totalAmount())
+        .isEqualTo(3.0);
+  }
+
+  @Test
+  @DisplayName("Should stay quiet for requests within the budget")
+  void shouldNotLogRequestsWithinBudget(CapturedOutput output) {
+    QueryBudgetInterceptor interceptor = new QueryBudgetInterceptor(registry, 2, 1.0);
+
+    handle(interceptor, 2);
+
+    assertThat(output).doesNotContain("over the budget");
+  }
+
+  @Test
+  @DisplayName("Should not count requests that aren't sampled")
+  void shouldSkipUnsampledRequests() {
+    QueryBudgetInterceptor interceptor = new QueryBudgetInterceptor(registry, 2, 0.0);
+
+    handle(interceptor, 5);
+
+    assertThat(registry.find(QueryBudgetInterceptor.METRIC_NAME).summary()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should count statements towards nested scopes")
+  void shouldCountTowardsNestedScopes() {
+    QueryBudgetInterceptor interceptor = new QueryBudgetInterceptor(registry, 10, 1.0);
+
+    try (QueryCounter.Scope outer = QueryCounter.open()) {
+      QueryCounter.increment();
+      handle(interceptor, 4);
+      QueryCounter.increment();
+
+      assertThat(outer.count()).isEqualTo(6);
+    }
+    QueryCounter.increment();
+  }
+
+  private void handle(QueryBudgetInterceptor interceptor, int statements) {
+    interceptor.preHandle(request, response, handler);
+    for (int i = 0; i < statements; i++) {
+      QueryCounter.increment();
+    }
+    interceptor.afterCompletion(request, response, handler, null);
+  }
+
+  static class SampleController {
+    public void list() {}
+  }
+}
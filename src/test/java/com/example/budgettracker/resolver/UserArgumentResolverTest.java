@@ -0,0 +1,99 @@
+package com.example.budgettracker.resolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.budgettracker.TestDataBuilder;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.security.KnownUserCache;
+import com.example.budgettracker.service.AppUserService;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ResponseStatusException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserArgumentResolver Tests")
+class UserArgumentResolverTest {
+
+  @Mock private AppUserService appUserService;
+
+  @Mock private KnownUserCache knownUserCache;
+
+  @InjectMocks private UserArgumentResolver resolver;
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @DisplayName("Should resolve user from userId claim without looking up by sub")
+  void shouldResolveFromUserIdClaim() throws Exception {
+    AppUser reference = TestDataBuilder.createTestUser();
+    authenticate(Jwt.withTokenValue("token").header("alg", "RS256").claim("userId", 1L));
+    when(knownUserCache.exists(eq(1L), any())).thenReturn(true);
+    when(appUserService.getReferenceById(1L)).thenReturn(reference);
+
+    Object resolved = resolver.resolveArgument(null, null, null, null);
+
+    assertThat(resolved).isSameAs(reference);
+    verify(appUserService, never()).findByGoogleSub(anyString());
+  }
+
+  @Test
+  @DisplayName("Should reject a userId claim of a user that no longer exists")
+  void shouldRejectDeletedUser() {
+    authenticate(Jwt.withTokenValue("token").header("alg", "RS256").claim("userId", 1L));
+    when(knownUserCache.exists(eq(1L), any())).thenReturn(false);
+
+    assertThatThrownBy(() -> resolver.resolveArgument(null, null, null, null))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("User not found");
+    verify(appUserService, never()).getReferenceById(1L);
+  }
+
+  @Test
+  @DisplayName("Should fall back to sub lookup when the token has no userId claim")
+  void shouldFallBackToSubLookup() throws Exception {
+    AppUser user = TestDataBuilder.createTestUser();
+    authenticate(Jwt.withTokenValue("token").header("alg", "RS256"));
+    when(appUserService.findByGoogleSub("test-sub")).thenReturn(Optional.of(user));
+
+    Object resolved = resolver.resolveArgument(null, null, null, null);
+
+    assertThat(resolved).isSameAs(user);
+  }
+
+  @Test
+  @DisplayName("Should reject unauthenticated requests")
+  void shouldRejectUnauthenticatedRequests() {
+    assertThatThrownBy(() -> resolver.resolveArgument(null, null, null, null))
+        .isInstanceOf(ResponseStatusException.class);
+  }
+
+  private void authenticate(Jwt.Builder builder) {
+    Jwt jwt = builder.subject("test-sub").issuedAt(Instant.now()).build();
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new JwtAuthenticationToken(
+                jwt, List.of(new SimpleGrantedAuthority("ROLE_USER")), "test-sub"));
+  }
+}
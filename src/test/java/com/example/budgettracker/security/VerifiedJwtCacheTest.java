@@ -0,0 +1,101 @@
+package com.example.budgettracker.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+@DisplayName("VerifiedJwtCache Tests")
+class VerifiedJwtCacheTest {
+
+  private VerifiedJwtCache verifiedJwtCache;
+  private AtomicInteger verifications;
+
+  @BeforeEach
+  void setUp() {
+    verifiedJwtCache = new VerifiedJwtCache(100);
+    verifications = new AtomicInteger();
+  }
+
+  @Test
+  @DisplayName("Should verify a token once and serve repeats from the cache")
+  void shouldVerifyTokenOnce() {
+    Function<String, Jwt> verifier = verifierExpiringAt(Instant.now().plusSeconds(600));
+
+    Jwt first = verifiedJwtCache.get("token-a", verifier);
+    Jwt second = verifiedJwtCache.get("token-a", verifier);
+    verifiedJwtCache.get("token-b", verifier);
+
+    assertThat(second).isSameAs(first);
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Should not cache tokens that fail verification")
+  void shouldNotCacheFailedVerification() {
+    Function<String, Jwt> failing =
+        token -> {
+          verifications.incrementAndGet();
+          throw new JwtException("bad signature");
+        };
+
+    assertThatThrownBy(() -> verifiedJwtCache.get("token", failing))
+        .isInstanceOf(JwtException.class);
+    assertThatThrownBy(() -> verifiedJwtCache.get("token", failing))
+        .isInstanceOf(JwtException.class);
+
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Should not serve tokens past their expiry")
+  void shouldNotServeExpiredTokens() {
+    Function<String, Jwt> verifier = verifierExpiringAt(Instant.now().minusSeconds(1));
+
+    verifiedJwtCache.get("token", verifier);
+    verifiedJwtCache.get("token", verifier);
+
+    assertThat(verifications).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Should expose hits and misses as cache metrics")
+  void shouldExposeCacheMetrics() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    verifiedJwtCache.bindTo(registry);
+    Function<String, Jwt> verifier = verifierExpiringAt(Instant.now().plusSeconds(600));
+
+    verifiedJwtCache.get("token", verifier);
+    verifiedJwtCache.get("token", verifier);
+    verifiedJwtCache.get("token", verifier);
+
+    assertThat(
+            registry
+                .get("cache.gets")
+                .tag("cache", VerifiedJwtCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(2.0);
+  }
+
+  private Function<String, Jwt> verifierExpiringAt(Instant expiresAt) {
+    return token -> {
+      verifications.incrementAndGet();
+      return Jwt.withTokenValue(token)
+          .header("alg", "RS256")
+          .subject("sub")
+          .issuedAt(expiresAt.minusSeconds(1800))
+          .expiresAt(expiresAt)
+          .build();
+    };
+  }
+}
@@ -0,0 +1,184 @@
+package com.example.budgettracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.budgettracker.TestDataBuilder;
+import com.example.budgettracker.dto.DashboardOverviewResponse;
+import com.example.budgettracker.dto.FinancialTimeSeriesResponse;
+import com.example.budgettracker.model.AppUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingDashboardService Tests")
+class CachingDashboardServiceTest {
+
+  private static final ZoneId ZONE = ZoneOffset.UTC;
+
+  @Mock private DashboardService delegate;
+
+  private MutableClock clock;
+  private UserDataVersions userDataVersions;
+  private CachingDashboardService cachingService;
+  private AppUser user;
+  private AppUser otherUser;
+  private DashboardOverviewResponse overview;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.parse("2025-01-31T23:59:00Z"));
+    userDataVersions = new UserDataVersions();
+    cachingService =
+        new CachingDashboardService(
+            delegate, userDataVersions, 100, Duration.ofMinutes(10), 60, clock);
+    user = TestDataBuilder.createTestUser(1L, "sub-1", "User One", "one@example.com");
+    otherUser = TestDataBuilder.createTestUser(2L, "sub-2", "User Two", "two@example.com");
+    overview = new DashboardOverviewResponse(100, 40, 60, 60, 10, 30, 1, 1);
+  }
+
+  @Test
+  @DisplayName("Should compute each view once and serve repeats from the cache")
+  void shouldServeRepeatedRequestsFromCache() {
+    when(delegate.getFinancialOverview(user)).thenReturn(overview);
+
+    assertThat(cachingService.getFinancialOverview(user)).isSameAs(overview);
+    assertThat(cachingService.getFinancialOverview(user)).isSameAs(overview);
+
+    verify(delegate, times(1)).getFinancialOverview(user);
+  }
+
+  @Test
+  @DisplayName("Should cache time series per requested window")
+  void shouldCacheTimeSeriesPerWindow() {
+    when(delegate.getFinancialTimeSeries(user, 6))
+        .thenReturn(new FinancialTimeSeriesResponse(List.of()));
+    when(delegate.getFinancialTimeSeries(user, 12))
+        .thenReturn(new FinancialTimeSeriesResponse(List.of()));
+
+    cachingService.getFinancialTimeSeries(user, 6);
+    cachingService.getFinancialTimeSeries(user, 12);
+    cachingService.getFinancialTimeSeries(user, 6);
+
+    verify(delegate, times(1)).getFinancialTimeSeries(user, 6);
+    verify(delegate, times(1)).getFinancialTimeSeries(user, 12);
+  }
+
+  @Test
+  @DisplayName("Should share one entry for windows beyond the month limit")
+  void shouldCacheClampedTimeSeriesWindow() {
+    when(delegate.getFinancialTimeSeries(user, 60))
+        .thenReturn(new FinancialTimeSeriesResponse(List.of()));
+
+    cachingService.getFinancialTimeSeries(user, 60);
+    cachingService.getFinancialTimeSeries(user, 61);
+    cachingService.getFinancialTimeSeries(user, 1000);
+
+    verify(delegate, times(1)).getFinancialTimeSeries(user, 60);
+  }
+
+  @Test
+  @DisplayName("Should evict only the changed user's entries")
+  void shouldEvictOnlyChangedUser() {
+    when(delegate.getFinancialOverview(user)).thenReturn(overview);
+    when(delegate.getFinancialOverview(otherUser)).thenReturn(overview);
+    cachingService.getFinancialOverview(user);
+    cachingService.getFinancialOverview(otherUser);
+
+    userDataVersions.onUserFinancialDataChanged(new UserFinancialDataChangedEvent(user.getId()));
+    cachingService.getFinancialOverview(user);
+    cachingService.getFinancialOverview(otherUser);
+
+    verify(delegate, times(2)).getFinancialOverview(user);
+    verify(delegate, times(1)).getFinancialOverview(otherUser);
+  }
+
+  @Test
+  @DisplayName("Should not serve a view loaded before a concurrent write committed")
+  void shouldDropViewLoadedBeforeWrite() {
+    DashboardOverviewResponse fresh = new DashboardOverviewResponse(200, 40, 160, 80, 10, 30, 1, 1);
+    when(delegate.getFinancialOverview(user))
+        .thenAnswer(
+            invocation -> {
+              // The write commits while this load is still reading the old data
+              userDataVersions.onUserFinancialDataChanged(
+                  new UserFinancialDataChangedEvent(user.getId()));
+              return overview;
+            })
+        .thenReturn(fresh);
+
+    assertThat(cachingService.getFinancialOverview(user)).isSameAs(overview);
+    assertThat(cachingService.getFinancialOverview(user)).isSameAs(fresh);
+    assertThat(cachingService.getFinancialOverview(user)).isSameAs(fresh);
+
+    verify(delegate, times(2)).getFinancialOverview(user);
+  }
+
+  @Test
+  @DisplayName("Should recompute when the calendar month changes")
+  void shouldRecomputeOnNewMonth() {
+    when(delegate.getFinancialOverview(user)).thenReturn(overview);
+    cachingService.getFinancialOverview(user);
+
+    clock.advance(Duration.ofMinutes(2));
+    cachingService.getFinancialOverview(user);
+
+    verify(delegate, times(2)).getFinancialOverview(user);
+  }
+
+  @Test
+  @DisplayName("Should expose hit and miss counts as cache metrics")
+  void shouldExposeCacheMetrics() {
+    when(delegate.getFinancialOverview(user)).thenReturn(overview);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cachingService.bindTo(registry);
+
+    cachingService.getFinancialOverview(user);
+    cachingService.getFinancialOverview(user);
+
+    assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1.0);
+    assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count())
+        .isEqualTo(1.0);
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant instant;
+
+    MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZONE;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
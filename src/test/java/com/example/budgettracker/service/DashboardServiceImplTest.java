@@ -0,0 +1,251 @@
+package com.example.budgettracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.budgettracker.TestDataBuilder;
+import com.example.budgettracker.dto.CategoryBreakdownResponse;
+import com.example.budgettracker.dto.DashboardOverviewResponse;
+import com.example.budgettracker.dto.FinancialTimeSeriesResponse;
+import com.example.budgettracker.dto.MonthlyRollupRow;
+import com.example.budgettracker.model.AppUser;
+import com.example.budgettracker.model.Bill;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Income;
+import com.example.budgettracker.model.MonthlyRollup;
+import com.example.budgettracker.model.Period;
+import com.example.budgettracker.model.Subscription;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DashboardService Tests")
+class DashboardServiceImplTest {
+
+  @Mock private MonthlyRollupService monthlyRollupService;
+
+  @InjectMocks private DashboardServiceImpl dashboardService;
+
+  private AppUser user;
+  private Category streaming;
+  private Category housing;
+  private List<Subscription> subscriptions;
+  private List<Bill> bills;
+  private List<Income> incomes;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(dashboardService, "maxTimeSeriesMonths", 24);
+    user = TestDataBuilder.createTestUser();
+    streaming = TestDataBuilder.createTestCategory(1L, "Streaming", user);
+    housing = TestDataBuilder.createTestCategory(2L, "Housing", user);
+
+    Subscription netflix =
+        TestDataBuilder.createTestSubscription(
+            1L, "Netflix", new BigDecimal("15.00"), Period.MONTHLY, user, streaming);
+    Subscription annual =
+        TestDataBuilder.createTestSubscription(
+            2L, "Annual", new BigDecimal("120.00"), Period.YEARLY, user, streaming);
+
+    Bill rent = bill(1L, "Rent", "1000.00", Period.MONTHLY, LocalDate.now().minusMonths(6));
+    Bill repair = bill(2L, "Repair", "200.00", Period.ONE_TIME, LocalDate.now());
+
+    Income salary = income(1L, "3000.00", Period.MONTHLY, LocalDate.now().minusYears(1));
+    Income bonus = income(2L, "500.00", Period.ONE_TIME, LocalDate.now());
+
+    subscriptions = List.of(netflix, annual);
+    bills = List.of(rent, repair);
+    incomes = List.of(salary, bonus);
+  }
+
+  private void stubRollup() {
+    stubRollup(subscriptions, bills, incomes);
+  }
+
+  // Rows as the write path would have left them after saving exactly these items
+  private void stubRollup(
+      List<Subscription> subscriptions, List<Bill> bills, List<Income> incomes) {
+    RollupDelta delta = new RollupDelta(user.getId());
+    subscriptions.forEach(delta::add);
+    bills.forEach(delta::add);
+    incomes.forEach(delta::add);
+    Map<Long, String> names = Map.of(streaming.getId(), "Streaming", housing.getId(), "Housing");
+    List<MonthlyRollupRow> rows = new ArrayList<>();
+    delta
+        .changes()
+        .forEach(
+            (key, change) ->
+                rows.add(
+                    new MonthlyRollupRow(
+                        key.getMonth(),
+                        key.getKind(),
+                        key.getCategoryId() == MonthlyRollup.UNCATEGORIZED
+                            ? null
+                            : names.get(key.getCategoryId()),
+                        change.getAmount(),
+                        change.getItemCount())));
+    when(monthlyRollupService.getRowsForUser(user)).thenReturn(rows);
+  }
+
+  @Test
+  @DisplayName("Should build overview from the monthly rollup")
+  void shouldBuildOverviewFromRollup() {
+    Subscription paused =
+        TestDataBuilder.createTestSubscription(
+            3L, "Paused", new BigDecimal("99.00"), Period.MONTHLY, user, streaming);
+    paused.setActive(false);
+    Bill pastRepair =
+        bill(3L, "Past repair", "500.00", Period.ONE_TIME, LocalDate.now().minusMonths(2));
+    Income pastBonus = income(3L, "400.00", Period.ONE_TIME, LocalDate.now().minusMonths(2));
+    stubRollup(
+        List.of(subscriptions.get(0), subscriptions.get(1), paused),
+        List.of(bills.get(0), bills.get(1), pastRepair),
+        List.of(incomes.get(0), incomes.get(1), pastBonus));
+
+    DashboardOverviewResponse overview = dashboardService.getFinancialOverview(user);
+
+    assertThat(overview.getTotalIncome()).isCloseTo(3500.0, within(0.001));
+    assertThat(overview.getSubscriptionExpenses()).isCloseTo(25.0, within(0.001));
+    assertThat(overview.getBillExpenses()).isCloseTo(1200.0, within(0.001));
+    assertThat(overview.getTotalExpenses()).isCloseTo(1225.0, within(0.001));
+    assertThat(overview.getActiveSubscriptions()).isEqualTo(2);
+    assertThat(overview.getActiveBills()).isEqualTo(3);
+
+    verify(monthlyRollupService, times(1)).getRowsForUser(user);
+  }
+
+  @Test
+  @DisplayName("Should build time series with one-time items only in their month")
+  void shouldBuildTimeSeries() {
+    stubRollup();
+
+    FinancialTimeSeriesResponse series = dashboardService.getFinancialTimeSeries(user, 3);
+
+    assertThat(series.getDataPoints()).hasSize(3);
+    FinancialTimeSeriesResponse.DataPoint previous = series.getDataPoints().get(1);
+    FinancialTimeSeriesResponse.DataPoint current = series.getDataPoints().get(2);
+
+    assertThat(previous.getIncome()).isCloseTo(3000.0, within(0.001));
+    assertThat(current.getIncome()).isCloseTo(3500.0, within(0.001));
+    assertThat(current.getExpenses()).isCloseTo(1225.0, within(0.001));
+    assertThat(current.getNet()).isCloseTo(2275.0, within(0.001));
+  }
+
+  @Test
+  @DisplayName("Should start recurring items in the month they first apply")
+  void shouldStartRecurringItemsWhenTheyApply() {
+    LocalDate threeMonthsAhead = YearMonth.now().plusMonths(3).atDay(1);
+    Subscription future =
+        TestDataBuilder.createTestSubscription(
+            3L, "Future", new BigDecimal("30.00"), Period.MONTHLY, user, streaming);
+    future.setNextBillingDate(threeMonthsAhead);
+    Income raise = income(3L, "200.00", Period.MONTHLY, LocalDate.now().minusMonths(1));
+    stubRollup(List.of(future), List.of(), List.of(raise));
+
+    FinancialTimeSeriesResponse series = dashboardService.getFinancialTimeSeries(user, 3);
+
+    // A subscription dated on the 1st already counts in the previous month, not before
+    assertThat(series.getDataPoints())
+        .extracting(FinancialTimeSeriesResponse.DataPoint::getExpenses)
+        .containsExactly(0.0, 0.0, 0.0);
+    assertThat(series.getDataPoints())
+        .extracting(FinancialTimeSeriesResponse.DataPoint::getIncome)
+        .containsExactly(0.0, 200.0, 200.0);
+    assertThat(series.getDataPoints().get(0).getDate())
+        .isEqualTo(YearMonth.now().minusMonths(2).atDay(1));
+  }
+
+  @Test
+  @DisplayName("Should keep undated recurring expenses in the overview but out of the time series")
+  void shouldLeaveUndatedExpensesOutOfTimeSeries() {
+    Subscription undated =
+        TestDataBuilder.createTestSubscription(
+            3L, "Undated", new BigDecimal("40.00"), Period.MONTHLY, user, streaming);
+    undated.setNextBillingDate(null);
+    undated.setFirstBillingDate(null);
+    Bill undatedBill = bill(3L, "Undated bill", "60.00", Period.MONTHLY, null);
+    stubRollup(List.of(undated), List.of(undatedBill), List.of());
+
+    FinancialTimeSeriesResponse series = dashboardService.getFinancialTimeSeries(user, 3);
+    DashboardOverviewResponse overview = dashboardService.getFinancialOverview(user);
+
+    assertThat(series.getDataPoints())
+        .extracting(FinancialTimeSeriesResponse.DataPoint::getExpenses)
+        .containsExactly(0.0, 0.0, 0.0);
+    assertThat(overview.getTotalExpenses()).isCloseTo(100.0, within(0.001));
+  }
+
+  @Test
+  @DisplayName("Should clamp time series to the configured maximum window")
+  void shouldClampTimeSeriesWindow() {
+    stubRollup();
+
+    FinancialTimeSeriesResponse series = dashboardService.getFinancialTimeSeries(user, 600);
+
+    assertThat(series.getDataPoints()).hasSize(24);
+    assertThat(series.getDataPoints().get(23).getDate()).isEqualTo(YearMonth.now().atDay(1));
+  }
+
+  @Test
+  @DisplayName("Should return an empty time series without querying for non-positive months")
+  void shouldReturnEmptySeriesForNonPositiveMonths() {
+    assertThat(dashboardService.getFinancialTimeSeries(user, 0).getDataPoints()).isEmpty();
+    verifyNoMoreInteractions(monthlyRollupService);
+  }
+
+  @Test
+  @DisplayName("Should group recurring expenses by category")
+  void shouldBuildCategoryBreakdown() {
+    stubRollup();
+
+    CategoryBreakdownResponse breakdown = dashboardService.getCategoryBreakdown(user);
+
+    assertThat(breakdown.getTotalExpenses()).isCloseTo(1025.0, within(0.001));
+    assertThat(breakdown.getExpenses()).hasSize(2);
+    assertThat(breakdown.getExpenses().get(0).getCategoryName()).isEqualTo("Housing");
+    assertThat(breakdown.getExpenses().get(1).getCategoryName()).isEqualTo("Streaming");
+    assertThat(breakdown.getExpenses().get(1).getItemCount()).isEqualTo(2);
+
+    verify(monthlyRollupService, times(1)).getRowsForUser(user);
+    verifyNoMoreInteractions(monthlyRollupService);
+  }
+
+  private Bill bill(Long id, String name, String amount, Period period, LocalDate dueDate) {
+    Bill bill = new Bill();
+    bill.setId(id);
+    bill.setName(name);
+    bill.setAmount(new BigDecimal(amount));
+    bill.setPeriod(period);
+    bill.setDueDate(dueDate);
+    bill.setAppUser(user);
+    bill.setCategory(housing);
+    return bill;
+  }
+
+  private Income income(Long id, String amount, Period period, LocalDate incomeDate) {
+    Income income = new Income();
+    income.setId(id);
+    income.setName("Income " + id);
+    income.setAmount(new BigDecimal(amount));
+    income.setPeriod(period);
+    income.setIncomeDate(incomeDate);
+    income.setAppUser(user);
+    return income;
+  }
+}
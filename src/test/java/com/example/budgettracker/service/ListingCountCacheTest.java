@@ -0,0 +1,54 @@
+package com.example.budgettracker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ListingCountCache Tests")
+class ListingCountCacheTest {
+
+  private UserDataVersions userDataVersions;
+  private ListingCountCache countCache;
+  private AtomicLong loads;
+
+  @BeforeEach
+  void setUp() {
+    userDataVersions = new UserDataVersions();
+    countCache = new ListingCountCache(userDataVersions, 100, Duration.ofMinutes(10));
+    loads = new AtomicLong();
+  }
+
+  @Test
+  @DisplayName("Should count once per user and listing until the user's data changes")
+  void shouldRecountOnlyChangedUser() {
+    countCache.count(1L, "bills", loads::incrementAndGet);
+    countCache.count(1L, "bills", loads::incrementAndGet);
+    countCache.count(2L, "bills", loads::incrementAndGet);
+
+    userDataVersions.onUserFinancialDataChanged(new UserFinancialDataChangedEvent(1L));
+    countCache.count(1L, "bills", loads::incrementAndGet);
+    countCache.count(2L, "bills", loads::incrementAndGet);
+
+    assertThat(loads).hasValue(3);
+  }
+
+  @Test
+  @DisplayName("Should not serve a count loaded before a concurrent write committed")
+  void shouldDropCountLoadedBeforeWrite() {
+    long stale =
+        countCache.count(
+            1L,
+            "bills",
+            () -> {
+              userDataVersions.onUserFinancialDataChanged(new UserFinancialDataChangedEvent(1L));
+              return 5;
+            });
+
+    assertThat(stale).isEqualTo(5);
+    assertThat(countCache.count(1L, "bills", () -> 6)).isEqualTo(6);
+  }
+}
@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.example.budgettracker.model.Period;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -311,4 +314,211 @@ class PeriodCalculationServiceTest {
       assertThat(result).isEmpty();
     }
   }
+
+  @Nested
+  @DisplayName("Closed-Form Next Occurrence Tests")
+  class ClosedFormNextOccurrenceTests {
+
+    @Test
+    @DisplayName("Should keep month-end clamping when jumping ahead")
+    void shouldKeepMonthEndClamping() {
+      LocalDate today = LocalDate.of(2024, 5, 10);
+
+      assertThat(
+              periodCalculationService.getNextOccurrence(
+                  LocalDate.of(2024, 1, 31), Period.MONTHLY, today))
+          .isEqualTo(LocalDate.of(2024, 5, 29));
+      assertThat(
+              periodCalculationService.getNextOccurrence(
+                  LocalDate.of(2022, 12, 31), Period.QUARTERLY, today))
+          .isEqualTo(LocalDate.of(2024, 6, 28));
+      assertThat(
+              periodCalculationService.getNextOccurrence(
+                  LocalDate.of(2020, 2, 29), Period.YEARLY, today))
+          .isEqualTo(LocalDate.of(2025, 2, 28));
+    }
+
+    @Test
+    @DisplayName("Should match the iterative walk for random dates and periods")
+    void shouldMatchIterativeWalk() {
+      Random random = new Random(20240229L);
+      Period[] periods = {
+        Period.DAILY, Period.WEEKLY, Period.MONTHLY, Period.QUARTERLY, Period.YEARLY
+      };
+      LocalDate base = LocalDate.of(1896, 1, 1);
+
+      for (int i = 0; i < 20_000; i++) {
+        LocalDate original = base.plusDays(random.nextInt(365 * 220));
+        if (random.nextInt(4) == 0) {
+          // Bias towards month ends, where clamping happens
+          original = original.withDayOfMonth(original.lengthOfMonth());
+        }
+        LocalDate today = original.plusDays(random.nextInt(365 * 12) - 365);
+        Period period = periods[random.nextInt(periods.length)];
+
+        assertThat(periodCalculationService.getNextOccurrence(original, period, today))
+            .as("%s %s relative to %s", original, period, today)
+            .isEqualTo(iterativeNextOccurrence(original, period, today));
+      }
+    }
+
+    // Reference implementation: advance one period at a time until after today
+    private LocalDate iterativeNextOccurrence(LocalDate original, Period period, LocalDate today) {
+      LocalDate next = original;
+      while (!next.isAfter(today)) {
+        next =
+            switch (period) {
+              case DAILY -> next.plusDays(1);
+              case WEEKLY -> next.plusWeeks(1);
+              case MONTHLY -> next.plusMonths(1);
+              case QUARTERLY -> next.plusMonths(2).plusMonths(1);
+              case YEARLY -> next.plusYears(1);
+              case ONE_TIME -> throw new IllegalArgumentException();
+            };
+      }
+      return next;
+    }
+  }
+
+  @Nested
+  @DisplayName("Epoch Day Enumeration Tests")
+  class EpochDayEnumerationTests {
+
+    @Test
+    @DisplayName("Should write occurrences into the buffer and report the full count")
+    void shouldWriteOccurrencesIntoBuffer() {
+      int[] buffer = new int[2];
+
+      int count =
+          periodCalculationService.getOccurrencesInRange(
+              LocalDate.of(2024, 1, 31),
+              Period.MONTHLY,
+              LocalDate.of(2024, 2, 1),
+              LocalDate.of(2024, 4, 30),
+              buffer);
+
+      assertThat(count).isEqualTo(3);
+      assertThat(LocalDate.ofEpochDay(buffer[0])).isEqualTo(LocalDate.of(2024, 2, 29));
+      assertThat(LocalDate.ofEpochDay(buffer[1])).isEqualTo(LocalDate.of(2024, 3, 29));
+    }
+
+    @Test
+    @DisplayName("Should match the iterative walk for random ranges")
+    void shouldMatchIterativeWalkForRanges() {
+      Random random = new Random(19700101L);
+      Period[] periods = Period.values();
+      LocalDate base = LocalDate.of(1896, 1, 1);
+
+      for (int i = 0; i < 5_000; i++) {
+        LocalDate original = base.plusDays(random.nextInt(365 * 220));
+        if (random.nextInt(4) == 0) {
+          original = original.withDayOfMonth(original.lengthOfMonth());
+        }
+        LocalDate start = original.plusDays(random.nextInt(365 * 12) - 365);
+        LocalDate end = start.plusDays(random.nextInt(400));
+        Period period = periods[random.nextInt(periods.length)];
+
+        List<LocalDate> visited = new ArrayList<>();
+        periodCalculationService.forEachOccurrence(
+            original, period, start, end, day -> visited.add(LocalDate.ofEpochDay(day)));
+
+        assertThat(visited)
+            .as("%s %s in [%s, %s]", original, period, start, end)
+            .isEqualTo(iterativeOccurrences(original, period, start, end));
+      }
+    }
+
+    // Reference implementation: walk from the original date one period at a time
+    private List<LocalDate> iterativeOccurrences(
+        LocalDate original, Period period, LocalDate start, LocalDate end) {
+      List<LocalDate> occurrences = new ArrayList<>();
+      if (period == Period.ONE_TIME) {
+        if (!original.isBefore(start) && !original.isAfter(end)) {
+          occurrences.add(original);
+        }
+        return occurrences;
+      }
+      LocalDate current = original;
+      while (!current.isAfter(end)) {
+        if (!current.isBefore(start)) {
+          occurrences.add(current);
+        }
+        current =
+            switch (period) {
+              case DAILY -> current.plusDays(1);
+              case WEEKLY -> current.plusWeeks(1);
+              case MONTHLY -> current.plusMonths(1);
+              case QUARTERLY -> current.plusMonths(2).plusMonths(1);
+              default -> current.plusYears(1);
+            };
+      }
+      return occurrences;
+    }
+  }
+
+  @Nested
+  @DisplayName("Previous Occurrence Tests")
+  class PreviousOccurrenceTests {
+
+    @Test
+    @DisplayName("Should step back one period with month-end clamping")
+    void shouldStepBackWithClamping() {
+      LocalDate date = LocalDate.of(2024, 5, 10);
+
+      assertThat(
+              periodCalculationService.getPreviousOccurrence(
+                  LocalDate.of(2024, 1, 31), Period.MONTHLY, date))
+          .isEqualTo(LocalDate.of(2024, 4, 29));
+      assertThat(
+              periodCalculationService.getPreviousOccurrence(
+                  LocalDate.of(2024, 5, 3), Period.WEEKLY, date))
+          .isEqualTo(LocalDate.of(2024, 5, 3));
+      assertThat(
+              periodCalculationService.getPreviousOccurrence(
+                  LocalDate.of(2024, 5, 10), Period.MONTHLY, date))
+          .isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep the series when re-anchored on a later occurrence")
+    void shouldMatchIterativeWalkAndKeepSeries() {
+      Random random = new Random(20261017L);
+      Period[] periods = {
+        Period.DAILY, Period.WEEKLY, Period.MONTHLY, Period.QUARTERLY, Period.YEARLY
+      };
+      LocalDate base = LocalDate.of(1896, 1, 1);
+
+      for (int i = 0; i < 5_000; i++) {
+        LocalDate original = base.plusDays(random.nextInt(365 * 220));
+        if (random.nextInt(4) == 0) {
+          original = original.withDayOfMonth(original.lengthOfMonth());
+        }
+        LocalDate date = original.plusDays(random.nextInt(365 * 12) + 1);
+        Period period = periods[random.nextInt(periods.length)];
+
+        LocalDate previous = original;
+        LocalDate next = original;
+        while (next.isBefore(date)) {
+          previous = next;
+          next =
+              switch (period) {
+                case DAILY -> next.plusDays(1);
+                case WEEKLY -> next.plusWeeks(1);
+                case MONTHLY -> next.plusMonths(1);
+                case QUARTERLY -> next.plusMonths(2).plusMonths(1);
+                default -> next.plusYears(1);
+              };
+        }
+
+        assertThat(periodCalculationService.getPreviousOccurrence(original, period, date))
+            .as("%s %s before %s", original, period, date)
+            .isEqualTo(previous);
+        // Moving the anchor to the next occurrence must not change any later occurrence
+        LocalDate later = date.plusDays(random.nextInt(800));
+        assertThat(periodCalculationService.getNextOccurrence(next, period, later))
+            .as("%s %s re-anchored on %s, after %s", original, period, next, later)
+            .isEqualTo(periodCalculationService.getNextOccurrence(original, period, later));
+      }
+    }
+  }
 }
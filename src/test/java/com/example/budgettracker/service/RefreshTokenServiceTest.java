@@ -2,9 +2,13 @@ package com.example.budgettracker.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,13 +18,13 @@ import com.example.budgettracker.model.AppUser;
 import com.example.budgettracker.model.RefreshToken;
 import com.example.budgettracker.repository.RefreshTokenRepository;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -62,6 +66,7 @@ class RefreshTokenServiceTest {
     // Set up service properties
     ReflectionTestUtils.setField(refreshTokenService, "refreshTokenExpirationDays", 30);
     ReflectionTestUtils.setField(refreshTokenService, "maxTokensPerUser", 5);
+    ReflectionTestUtils.setField(refreshTokenService, "cleanupBatchSize", 100);
   }
 
   @Nested
@@ -71,7 +76,6 @@ class RefreshTokenServiceTest {
     @Test
     @DisplayName("Should generate token pair successfully")
     void shouldGenerateTokenPairSuccessfully() {
-      when(refreshTokenRepository.countByAppUser(testUser)).thenReturn(0L);
       when(jwtService.generateToken(testUser)).thenReturn(testAccessToken);
       when(jwtService.getAccessTokenExpirationMinutes()).thenReturn(15);
       when(refreshTokenRepository.save(any(RefreshToken.class)))
@@ -90,12 +94,8 @@ class RefreshTokenServiceTest {
     }
 
     @Test
-    @DisplayName("Should cleanup old tokens when user has too many")
-    void shouldCleanupOldTokensWhenUserHasTooMany() {
-      when(refreshTokenRepository.countByAppUser(testUser)).thenReturn(5L);
-      when(refreshTokenRepository.findByAppUserAndExpiresAtAfter(
-              eq(testUser), any(LocalDateTime.class)))
-          .thenReturn(List.of(testRefreshToken));
+    @DisplayName("Should prune to the newest tokens in one statement before issuing")
+    void shouldPruneToNewestTokensBeforeIssuing() {
       when(jwtService.generateToken(testUser)).thenReturn(testAccessToken);
       when(jwtService.getAccessTokenExpirationMinutes()).thenReturn(15);
       when(refreshTokenRepository.save(any(RefreshToken.class)))
@@ -105,8 +105,10 @@ class RefreshTokenServiceTest {
           refreshTokenService.generateTokenPair(testUser, testUserAgent, testIpAddress);
 
       assertThat(result).isNotNull();
-      verify(refreshTokenRepository).delete(testRefreshToken);
-      verify(refreshTokenRepository).save(any(RefreshToken.class));
+      // Max 5 per user: keep the 4 newest, then save the new one
+      InOrder inOrder = inOrder(refreshTokenRepository);
+      inOrder.verify(refreshTokenRepository).deleteAllButNewest(testUser.getId(), 4);
+      inOrder.verify(refreshTokenRepository).save(any(RefreshToken.class));
     }
   }
 
@@ -117,9 +119,9 @@ class RefreshTokenServiceTest {
     @Test
     @DisplayName("Should refresh access token successfully")
     void shouldRefreshAccessTokenSuccessfully() {
-      when(refreshTokenRepository.findByTokenHash(anyString()))
+      when(refreshTokenRepository.findByTokenHashWithUser(anyString()))
           .thenReturn(Optional.of(testRefreshToken));
-      when(refreshTokenRepository.countByAppUser(testUser)).thenReturn(1L);
+      when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(1);
       when(jwtService.generateToken(testUser)).thenReturn(testAccessToken);
       when(jwtService.getAccessTokenExpirationMinutes()).thenReturn(15);
       when(refreshTokenRepository.save(any(RefreshToken.class)))
@@ -132,22 +134,51 @@ class RefreshTokenServiceTest {
       assertThat(result).isPresent();
       assertThat(result.get().getAccessToken()).isEqualTo(testAccessToken);
       assertThat(result.get().getRefreshToken()).isNotBlank();
+      assertThat(result.get().getUser()).isSameAs(testUser);
 
-      verify(refreshTokenRepository).delete(testRefreshToken);
+      verify(refreshTokenRepository).deleteByTokenHash(anyString());
       verify(refreshTokenRepository).save(any(RefreshToken.class));
+      // Rotation keeps the token count; only a login prunes
+      verify(refreshTokenRepository, never()).deleteAllButNewest(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should refresh only once when the same token is replayed concurrently")
+    void shouldRejectConcurrentReplay() {
+      // Both requests find the row before either deletes it; only the first delete removes it
+      when(refreshTokenRepository.findByTokenHashWithUser(anyString()))
+          .thenReturn(Optional.of(testRefreshToken));
+      when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(1, 0);
+      when(jwtService.generateToken(testUser)).thenReturn(testAccessToken);
+      when(jwtService.getAccessTokenExpirationMinutes()).thenReturn(15);
+      when(refreshTokenRepository.save(any(RefreshToken.class)))
+          .thenAnswer(invocation -> invocation.getArgument(0));
+
+      Optional<TokenPair> first =
+          refreshTokenService.refreshAccessToken(
+              testRefreshTokenValue, testUserAgent, testIpAddress);
+      Optional<TokenPair> replay =
+          refreshTokenService.refreshAccessToken(
+              testRefreshTokenValue, testUserAgent, testIpAddress);
+
+      assertThat(first).isPresent();
+      assertThat(replay).isEmpty();
+      verify(refreshTokenRepository, times(1)).save(any(RefreshToken.class));
+      verify(jwtService, times(1)).generateToken(testUser);
     }
 
     @Test
     @DisplayName("Should return empty when refresh token not found")
     void shouldReturnEmptyWhenRefreshTokenNotFound() {
-      when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+      when(refreshTokenRepository.findByTokenHashWithUser(anyString()))
+          .thenReturn(Optional.empty());
 
       Optional<TokenPair> result =
           refreshTokenService.refreshAccessToken(
               testRefreshTokenValue, testUserAgent, testIpAddress);
 
       assertThat(result).isEmpty();
-      verify(refreshTokenRepository, never()).delete(any(RefreshToken.class));
+      verify(refreshTokenRepository, never()).deleteByTokenHash(anyString());
     }
 
     @Test
@@ -161,7 +192,7 @@ class RefreshTokenServiceTest {
               testUserAgent,
               testIpAddress);
 
-      when(refreshTokenRepository.findByTokenHash(anyString()))
+      when(refreshTokenRepository.findByTokenHashWithUser(anyString()))
           .thenReturn(Optional.of(expiredToken));
 
       Optional<TokenPair> result =
@@ -169,7 +200,7 @@ class RefreshTokenServiceTest {
               testRefreshTokenValue, testUserAgent, testIpAddress);
 
       assertThat(result).isEmpty();
-      verify(refreshTokenRepository).delete(expiredToken);
+      verify(refreshTokenRepository).deleteByTokenHash("hashed-token");
     }
 
     @Test
@@ -183,9 +214,9 @@ class RefreshTokenServiceTest {
               "Different Browser",
               "192.168.1.2");
 
-      when(refreshTokenRepository.findByTokenHash(anyString()))
+      when(refreshTokenRepository.findByTokenHashWithUser(anyString()))
           .thenReturn(Optional.of(tokenFromDifferentDevice));
-      when(refreshTokenRepository.countByAppUser(testUser)).thenReturn(1L);
+      when(refreshTokenRepository.deleteByTokenHash(anyString())).thenReturn(1);
       when(jwtService.generateToken(testUser)).thenReturn(testAccessToken);
       when(jwtService.getAccessTokenExpirationMinutes()).thenReturn(15);
       when(refreshTokenRepository.save(any(RefreshToken.class)))
@@ -196,7 +227,7 @@ class RefreshTokenServiceTest {
               testRefreshTokenValue, testUserAgent, testIpAddress);
 
       assertThat(result).isPresent();
-      verify(refreshTokenRepository).delete(tokenFromDifferentDevice);
+      verify(refreshTokenRepository).deleteByTokenHash(anyString());
     }
   }
 
@@ -226,23 +257,26 @@ class RefreshTokenServiceTest {
   class CleanupTests {
 
     @Test
-    @DisplayName("Should cleanup expired tokens")
-    void shouldCleanupExpiredTokens() {
-      when(refreshTokenRepository.deleteExpiredTokens(any(LocalDateTime.class))).thenReturn(3);
+    @DisplayName("Should cleanup expired tokens in chunks until a partial chunk")
+    void shouldCleanupExpiredTokensInChunks() {
+      when(refreshTokenRepository.deleteExpiredTokensBatch(any(LocalDateTime.class), eq(100)))
+          .thenReturn(100, 100, 3);
 
       refreshTokenService.cleanupExpiredTokens();
 
-      verify(refreshTokenRepository).deleteExpiredTokens(any(LocalDateTime.class));
+      verify(refreshTokenRepository, times(3))
+          .deleteExpiredTokensBatch(any(LocalDateTime.class), eq(100));
     }
 
     @Test
-    @DisplayName("Should not log when no expired tokens to cleanup")
+    @DisplayName("Should stop after one query when no expired tokens to cleanup")
     void shouldNotLogWhenNoExpiredTokensToCleanup() {
-      when(refreshTokenRepository.deleteExpiredTokens(any(LocalDateTime.class))).thenReturn(0);
+      when(refreshTokenRepository.deleteExpiredTokensBatch(any(LocalDateTime.class), eq(100)))
+          .thenReturn(0);
 
       refreshTokenService.cleanupExpiredTokens();
 
-      verify(refreshTokenRepository).deleteExpiredTokens(any(LocalDateTime.class));
+      verify(refreshTokenRepository).deleteExpiredTokensBatch(any(LocalDateTime.class), eq(100));
     }
   }
 
@@ -253,7 +287,6 @@ class RefreshTokenServiceTest {
     @Test
     @DisplayName("Should generate unique refresh tokens")
     void shouldGenerateUniqueRefreshTokens() {
-      when(refreshTokenRepository.countByAppUser(testUser)).thenReturn(0L);
       when(jwtService.generateToken(testUser)).thenReturn(testAccessToken);
       when(jwtService.getAccessTokenExpirationMinutes()).thenReturn(15);
       when(refreshTokenRepository.save(any(RefreshToken.class)))
@@ -272,7 +305,6 @@ class RefreshTokenServiceTest {
     void shouldHandleTokenHashingErrorsGracefully() {
       // This test ensures that if somehow the hashing fails, it throws a RuntimeException
       // The actual hashing is done internally and is hard to mock, but we can verify the behavior
-      when(refreshTokenRepository.countByAppUser(testUser)).thenReturn(0L);
       when(jwtService.generateToken(testUser)).thenReturn(testAccessToken);
       when(jwtService.getAccessTokenExpirationMinutes()).thenReturn(15);
       when(refreshTokenRepository.save(any(RefreshToken.class)))
@@ -27,6 +27,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -39,6 +40,9 @@ class SubscriptionServiceTest {
   @Mock private SubscriptionRepository subscriptionRepository;
   @Mock private CategoryService categoryService;
   @Mock private SecurityUtils securityUtils;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private MonthlyRollupService monthlyRollupService;
+  @Mock private OccurrenceIndexService occurrenceIndexService;
 
   @InjectMocks private SubscriptionServiceImpl subscriptionService;
 
@@ -184,6 +188,7 @@ class SubscriptionServiceTest {
           .validateResourceOwnership(
               testSubscription.getAppUser(), testUser, "subscription", subscriptionId);
       verify(subscriptionRepository).delete(testSubscription);
+      verify(eventPublisher).publishEvent(any(UserFinancialDataChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,40 @@
+package com.example.budgettracker.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+  @Test
+  void readRecord_QuotedFields_KeepsDelimitersQuotesAndLineBreaks() throws IOException {
+    CsvReader reader =
+        new CsvReader(new StringReader("a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\r\n"));
+
+    assertThat(reader.readRecord()).containsExactly("a", "b", "c");
+    assertThat(reader.readRecord()).containsExactly("x, y", "say \"hi\"", "two\nlines");
+    assertThat(reader.readRecord()).isNull();
+    assertThat(reader.getRecordCount()).isEqualTo(2);
+  }
+
+  @Test
+  void readRecord_SemicolonFileWithBom_DetectsDelimiterAndSkipsBlankLines() throws IOException {
+    CsvReader reader = new CsvReader(new StringReader("\uFEFFDate;Amount\n\n2024-01-15;12,50\n"));
+
+    assertThat(reader.getDelimiter()).isEqualTo(';');
+    assertThat(reader.readRecord()).containsExactly("Date", "Amount");
+    assertThat(reader.readRecord()).isEqualTo(List.of("2024-01-15", "12,50"));
+    assertThat(reader.readRecord()).isNull();
+  }
+
+  @Test
+  void readRecord_UnterminatedQuote_ThrowsIOException() throws IOException {
+    CsvReader reader = new CsvReader(new StringReader("a,\"open\n"));
+
+    assertThatThrownBy(reader::readRecord).isInstanceOf(IOException.class);
+  }
+}
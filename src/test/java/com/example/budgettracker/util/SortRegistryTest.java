@@ -0,0 +1,99 @@
+package com.example.budgettracker.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class SortRegistryTest {
+
+  private final SortRegistry<String> registry =
+      SortRegistry.<String>of(Sort.Order.desc("incomeDate"), "incomeDate", "name", "amount")
+          .withKeyset("name", value -> value, name -> name);
+
+  @Test
+  void resolve_AllowedKey_AddsIdTieBreakerInSameDirection() {
+    Sort sort = registry.resolve("name", Sort.Direction.DESC);
+
+    assertThat(sort.toList()).containsExactly(Sort.Order.desc("name"), Sort.Order.desc("id"));
+  }
+
+  @Test
+  void resolve_UnknownKey_ThrowsBadRequest() {
+    assertThatThrownBy(() -> registry.resolve("description", Sort.Direction.ASC))
+        .isInstanceOf(ResponseStatusException.class)
+        .satisfies(
+            e ->
+                assertThat(((ResponseStatusException) e).getStatusCode())
+                    .isEqualTo(HttpStatus.BAD_REQUEST));
+  }
+
+  @Test
+  void resolvePageable_Unsorted_UsesDefaultOrder() {
+    Pageable pageable = registry.resolve(PageRequest.of(2, 10));
+
+    assertThat(pageable.getPageNumber()).isEqualTo(2);
+    assertThat(pageable.getPageSize()).isEqualTo(10);
+    assertThat(pageable.getSort().toList())
+        .containsExactly(Sort.Order.desc("incomeDate"), Sort.Order.desc("id"));
+  }
+
+  @Test
+  void resolvePageable_SeveralOrders_ThrowsBadRequest() {
+    Pageable pageable = PageRequest.of(0, 10, Sort.by("name", "amount"));
+
+    assertThatThrownBy(() -> registry.resolve(pageable))
+        .isInstanceOf(ResponseStatusException.class);
+  }
+
+  @Test
+  void keysetKey_DeclaredKey_ReadsAndParsesValues() {
+    KeysetCursor.SortKey<String> sortKey = registry.keysetKey("name");
+
+    assertThat(sortKey.extractor().apply("Salary")).isEqualTo("Salary");
+    assertThat(sortKey.parser().apply("Salary")).isEqualTo("Salary");
+  }
+
+  @Test
+  void keysetKey_SortableButNotScrollable_ThrowsBadRequest() {
+    assertThatThrownBy(() -> registry.keysetKey("amount"))
+        .isInstanceOf(ResponseStatusException.class)
+        .satisfies(
+            e ->
+                assertThat(((ResponseStatusException) e).getStatusCode())
+                    .isEqualTo(HttpStatus.BAD_REQUEST));
+  }
+
+  @Test
+  void withKeyset_UndeclaredKey_Throws() {
+    assertThatThrownBy(() -> registry.withKeyset("description", value -> value, name -> name))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void direction_IgnoresCase() {
+    assertThat(SortRegistry.direction("DESC")).isEqualTo(Sort.Direction.DESC);
+    assertThat(SortRegistry.direction("asc")).isEqualTo(Sort.Direction.ASC);
+  }
+
+  @Test
+  void direction_Unknown_ThrowsBadRequest() {
+    assertThatThrownBy(() -> SortRegistry.direction("sideways"))
+        .isInstanceOf(ResponseStatusException.class)
+        .satisfies(
+            e ->
+                assertThat(((ResponseStatusException) e).getStatusCode())
+                    .isEqualTo(HttpStatus.BAD_REQUEST));
+  }
+
+  @Test
+  void of_DefaultOutsideKeys_Throws() {
+    assertThatThrownBy(() -> SortRegistry.of(Sort.Order.asc("description"), "name"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}